@@ -0,0 +1,92 @@
+package io.github.dash.benchmarks;
+
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.maps.tiled.TiledMap;
+import io.github.dash.engine.tiled.TmxDataReader;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Cartes utilisees par les benchmarks: celles livrees dans assets/maps,
+ * et des cartes synthetiques tres longues generees a la volee.
+ */
+final class BenchmarkLevels {
+    /** Prefixe des cartes synthetiques, suivi du nombre de colonnes: "synthetic-10000". */
+    static final String SYNTHETIC = "synthetic-";
+
+    private static final int MAP_HEIGHT = 20;
+    private static final int TILE_SIZE = 256;
+
+    private BenchmarkLevels() {}
+
+    /** Fichier TMX d'une carte livree, ou genere pour une carte synthetique. */
+    static File mapFile(String name, boolean obstacles) throws IOException {
+        if (name.startsWith(SYNTHETIC)) {
+            return writeSynthetic(Integer.parseInt(name.substring(SYNTHETIC.length())), obstacles);
+        }
+        return new File(new File(System.getProperty("dash.assets", "assets"), "maps"), name);
+    }
+
+    static TiledMap readMap(File file) {
+        return new TmxDataReader().read(new FileHandle(file));
+    }
+
+    /**
+     * Carte au format des cartes livrees (couches Ground, Obstacles, EndFlag en csv):
+     * sol sur deux rangees, marches et trous reguliers, un spike toutes les 12 colonnes.
+     */
+    private static File writeSynthetic(int columns, boolean obstacles) throws IOException {
+        int[][] layers = new int[3][columns * MAP_HEIGHT];
+        for (int x = 0; x < columns; x++) {
+            boolean gap = obstacles && x > 8 && x % 40 == 0;
+            if (!gap) {
+                layers[0][index(x, 0, columns)] = 1;
+                layers[0][index(x, 1, columns)] = 1;
+            }
+            if (obstacles && x > 8 && x % 25 == 0) layers[0][index(x, 2, columns)] = 1;
+            if (obstacles && x > 8 && x % 12 == 6) layers[1][index(x, 2, columns)] = 2;
+        }
+        layers[2][index(columns - 1, 2, columns)] = 3;
+
+        File file = File.createTempFile("dash-" + SYNTHETIC + columns, ".tmx");
+        file.deleteOnExit();
+        try (Writer out = new OutputStreamWriter(new FileOutputStream(file), StandardCharsets.UTF_8)) {
+            out.write("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n");
+            out.write("<map version=\"1.10\" orientation=\"orthogonal\" renderorder=\"right-down\" width=\"" + columns
+                + "\" height=\"" + MAP_HEIGHT + "\" tilewidth=\"" + TILE_SIZE + "\" tileheight=\"" + TILE_SIZE + "\">\n");
+            writeLayer(out, 1, "Ground", "ground", layers[0], columns);
+            writeLayer(out, 2, "Obstacles", "kill", layers[1], columns);
+            writeLayer(out, 3, "EndFlag", null, layers[2], columns);
+            out.write("</map>\n");
+        }
+        return file;
+    }
+
+    /** Indice dans l'ordre du fichier TMX: premiere ligne en haut. */
+    private static int index(int x, int y, int columns) {
+        return (MAP_HEIGHT - 1 - y) * columns + x;
+    }
+
+    private static void writeLayer(Writer out, int id, String name, String flag, int[] gids, int columns) throws IOException {
+        out.write(" <layer id=\"" + id + "\" name=\"" + name + "\" width=\"" + columns + "\" height=\"" + MAP_HEIGHT + "\">\n");
+        if (flag != null) {
+            out.write("  <properties><property name=\"" + flag + "\" type=\"bool\" value=\"true\"/></properties>\n");
+        }
+        out.write("  <data encoding=\"csv\">\n");
+        StringBuilder row = new StringBuilder();
+        for (int i = 0; i < gids.length; i++) {
+            row.append(gids[i]);
+            if (i < gids.length - 1) row.append(',');
+            if ((i + 1) % columns == 0) {
+                out.write(row.append('\n').toString());
+                row.setLength(0);
+            }
+        }
+        out.write("  </data>\n </layer>\n");
+    }
+}
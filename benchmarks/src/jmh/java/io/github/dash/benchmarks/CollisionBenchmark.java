@@ -0,0 +1,73 @@
+package io.github.dash.benchmarks;
+
+import io.github.dash.engine.model.GameWorld;
+import io.github.dash.engine.model.Player;
+import io.github.dash.engine.model.StaticGeometry;
+import io.github.dash.engine.model.TileGrid;
+import io.github.dash.engine.model.WorldState;
+import io.github.dash.engine.tiled.EntityFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Un tick de collisions (GameWorld.update) selon le nombre d'elements statiques du niveau
+ * et la structure interrogee: grille de tuiles, index de balayage, ou liste d'entites.
+ * Le joueur est pose au milieu du sol et l'etat est restaure avant chaque appel.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class CollisionBenchmark {
+    private static final float DELTA = 1f / 120f;
+    private static final float TILE = 256f;
+
+    @Param({"100", "1000", "10000"})
+    public int entities;
+
+    @Param({"GRID", "SWEEP", "LIST"})
+    public String structure;
+
+    private GameWorld world;
+    private Player player;
+    private final WorldState start = new WorldState();
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        io.github.dash.engine.model.Level level = new io.github.dash.engine.model.Level();
+        level.setGravity(-3500f);
+        level.setScrollSpeed(350f);
+
+        if ("GRID".equals(structure)) {
+            TileGrid grid = new TileGrid(entities, 4, (int) TILE, (int) TILE);
+            for (int x = 0; x < entities; x++) grid.mark(x, 0, TileGrid.SOLID);
+            level.setTileGrid(grid);
+        } else {
+            for (int x = 0; x < entities; x++) level.addEntity(EntityFactory.createSolid(x * TILE, 0, TILE, TILE));
+        }
+
+        player = EntityFactory.createPlayer(entities / 2 * TILE + 40, TILE, 180, 180);
+        level.addEntity(player);
+        if (!"LIST".equals(structure)) {
+            level.setStaticGeometry(StaticGeometry.fromEntities(level.getEntities()));
+        }
+
+        world = new GameWorld(level);
+        world.saveState(start);
+    }
+
+    @Benchmark
+    public boolean update() {
+        world.restoreState(start);
+        world.update(DELTA);
+        return player.isOnGround();
+    }
+}
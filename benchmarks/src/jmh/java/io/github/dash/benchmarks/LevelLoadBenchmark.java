@@ -0,0 +1,80 @@
+package io.github.dash.benchmarks;
+
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.maps.tiled.TiledMap;
+import io.github.dash.engine.tiled.BinaryLevelFormat;
+import io.github.dash.engine.tiled.BinaryLevelReader;
+import io.github.dash.engine.tiled.BinaryLevelWriter;
+import io.github.dash.engine.tiled.TiledLevelLoader;
+import io.github.dash.headless.ConsoleGameLogger;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Chargement des niveaux: lecture du TMX, construction du niveau, et les deux a la suite.
+ * TiledLevelLoader.load passe par (Atlas)TmxMapLoader qui charge les textures et demande un contexte GL;
+ * on mesure donc le meme chemin que la simulation sans fenetre (TmxDataReader puis buildLevel).
+ * loadBinary lit le meme niveau depuis son cache binaire precompile.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class LevelLoadBenchmark {
+
+    @Param({"mapMel.tmx", "mapRoy.tmx", "mapraf.tmx", "synthetic-10000"})
+    public String map;
+
+    @Param({"TILE_GRID", "ENTITIES"})
+    public TiledLevelLoader.CollisionMode mode;
+
+    private File file;
+    private TiledMap parsed;
+    private TiledLevelLoader loader;
+    private File binaryFile;
+    private long sourceHash;
+    private BinaryLevelReader binaryReader;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        file = BenchmarkLevels.mapFile(map, true);
+        parsed = BenchmarkLevels.readMap(file);
+        loader = new TiledLevelLoader(mode, new ConsoleGameLogger(false));
+
+        binaryFile = File.createTempFile("dash-bench", BinaryLevelFormat.EXTENSION);
+        binaryFile.deleteOnExit();
+        new BinaryLevelWriter(loader).compile(file, binaryFile);
+        sourceHash = BinaryLevelFormat.hash(new FileHandle(file));
+        binaryReader = new BinaryLevelReader(mode);
+    }
+
+    @Benchmark
+    public TiledMap readTmx() {
+        return BenchmarkLevels.readMap(file);
+    }
+
+    @Benchmark
+    public io.github.dash.engine.model.Level buildLevel() {
+        return loader.buildLevel(parsed);
+    }
+
+    @Benchmark
+    public io.github.dash.engine.model.Level load() {
+        return loader.buildLevel(BenchmarkLevels.readMap(file));
+    }
+
+    @Benchmark
+    public io.github.dash.engine.model.Level loadBinary() throws IOException {
+        return binaryReader.read(binaryFile, sourceHash).level;
+    }
+}
@@ -0,0 +1,64 @@
+package io.github.dash.benchmarks;
+
+import io.github.dash.engine.controller.InputSource;
+import io.github.dash.engine.model.GameWorld;
+import io.github.dash.engine.model.Player;
+import io.github.dash.engine.model.WorldState;
+import io.github.dash.engine.tiled.TiledLevelLoader;
+import io.github.dash.headless.ConsoleGameLogger;
+import io.github.dash.headless.ScriptedInput;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Longue simulation (GameWorld.tick) sur une carte synthetique plate de 10 000 colonnes,
+ * avec un saut par seconde: mesure le cout stable d'un tick sur des centaines de milliers de ticks.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class LongRunBenchmark {
+    private static final float TICK_RATE = 120f;
+
+    @Param({"10000", "100000"})
+    public int ticks;
+
+    @Param({"TILE_GRID", "ENTITIES"})
+    public TiledLevelLoader.CollisionMode mode;
+
+    private GameWorld world;
+    private Player player;
+    private final InputSource input = ScriptedInput.every((int) TICK_RATE);
+    private final WorldState start = new WorldState();
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        ConsoleGameLogger logger = new ConsoleGameLogger(false);
+        io.github.dash.engine.model.Level level = new TiledLevelLoader(mode, logger)
+            .buildLevel(BenchmarkLevels.readMap(BenchmarkLevels.mapFile(BenchmarkLevels.SYNTHETIC + 10000, false)));
+        world = new GameWorld(level);
+        player = level.getPlayer();
+        world.saveState(start);
+    }
+
+    @Benchmark
+    public float run() {
+        world.restoreState(start);
+        float delta = 1f / TICK_RATE;
+        for (long tick = 0; tick < ticks; tick++) {
+            input.applyInputs(player, tick);
+            world.tick(delta);
+        }
+        return player.getX();
+    }
+}
@@ -0,0 +1,38 @@
+package io.github.dash.benchmarks;
+
+import io.github.dash.engine.model.Player;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Integration de la physique du joueur seule (gravite asymetrique, vitesse de chute bornee).
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class PlayerPhysicsBenchmark {
+    private static final float DELTA = 1f / 120f;
+    private static final float GRAVITY = -3500f;
+
+    private Player player;
+
+    @Setup(Level.Iteration)
+    public void setUp() {
+        player = new Player(256, 600, 180, 180);
+        player.setVelocity(1750f, Player.JUMP_FORCE);
+    }
+
+    @Benchmark
+    public float updatePhysics() {
+        player.updatePhysics(DELTA, GRAVITY);
+        return player.getY();
+    }
+}
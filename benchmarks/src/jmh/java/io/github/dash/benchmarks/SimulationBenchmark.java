@@ -0,0 +1,87 @@
+package io.github.dash.benchmarks;
+
+import io.github.dash.engine.model.GameWorld;
+import io.github.dash.engine.model.Player;
+import io.github.dash.engine.model.WorldState;
+import io.github.dash.engine.tiled.TiledLevelLoader;
+import io.github.dash.headless.ConsoleGameLogger;
+import io.github.dash.headless.LevelSolver;
+import io.github.dash.headless.ScriptedInput;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.io.IOException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Partie complete sur une carte livree: la sequence gagnante est calculee une fois par le solveur,
+ * puis chaque appel rejoue le niveau du debut jusqu'au drapeau (environ 1700 ticks a 120 Hz).
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class SimulationBenchmark {
+    private static final float TICK_RATE = 120f;
+
+    @Param({"mapMel.tmx", "mapRoy.tmx", "mapraf.tmx"})
+    public String map;
+
+    @Param({"TILE_GRID", "ENTITIES"})
+    public TiledLevelLoader.CollisionMode mode;
+
+    private GameWorld world;
+    private Player player;
+    private ScriptedInput input;
+    private final WorldState start = new WorldState();
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        ConsoleGameLogger logger = new ConsoleGameLogger(false);
+        io.github.dash.engine.model.Level level = new TiledLevelLoader(mode, logger)
+            .buildLevel(BenchmarkLevels.readMap(BenchmarkLevels.mapFile(map, true)));
+
+        ForkJoinPool pool = new ForkJoinPool(1);
+        LevelSolver.Result result;
+        try {
+            result = new LevelSolver(level, TICK_RATE, 200_000, 1f, logger, pool).solve();
+        } finally {
+            pool.shutdown();
+        }
+        if (!result.solved) throw new IllegalStateException("Carte sans solution: " + map);
+
+        input = new ScriptedInput(result.jumpTicks);
+        world = new GameWorld(level);
+        player = level.getPlayer();
+        world.saveState(start);
+    }
+
+    @Benchmark
+    public long completeRun() {
+        world.restoreState(start);
+        input.rewind();
+        float delta = 1f / TICK_RATE;
+        long tick = 0;
+        while (!world.isLevelCompleted() && !world.isPlayerDead()) {
+            input.applyInputs(player, tick);
+            world.tick(delta);
+            tick++;
+        }
+        return tick;
+    }
+
+    /** Cout d'un respawn en place (GameWorld.reset), a comparer au budget d'une frame. */
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public float respawn() {
+        world.reset();
+        return player.getX();
+    }
+}
@@ -0,0 +1,19 @@
+package io.github.dash.engine.controller;
+
+import io.github.dash.engine.model.WorldState;
+
+/**
+ * Point de reprise du mode entrainement: etat du monde, camera et tick courant.
+ * Prealloue et reutilise, voir {@link CheckpointRing}.
+ */
+public final class Checkpoint {
+    final WorldState world = new WorldState();
+    // Dans le repere de l'origine enregistree avec le monde
+    float cameraX, cameraY;
+    long tick;
+
+    public WorldState getWorld() { return world; }
+    public float getCameraX() { return cameraX; }
+    public float getCameraY() { return cameraY; }
+    public long getTick() { return tick; }
+}
@@ -0,0 +1,86 @@
+package io.github.dash.engine.controller;
+
+import io.github.dash.engine.event.GameEvent;
+import io.github.dash.engine.event.GameEventBus;
+import io.github.dash.engine.model.Player;
+
+/**
+ * Pile circulaire de checkpoints pour le mode entrainement. Tous les emplacements sont
+ * alloues a la construction; une fois plein, le plus ancien est ecrase.
+ * Un checkpoint peut aussi etre pose automatiquement apres un certain temps de progression.
+ */
+public class CheckpointRing {
+    private final Checkpoint[] slots;
+    private final long autoIntervalTicks;
+    private int head;
+    private int count;
+
+    /**
+     * @param autoIntervalSeconds temps de jeu entre deux checkpoints automatiques, 0 pour les desactiver
+     * @param tickDuration duree d'un tick du controleur
+     */
+    public CheckpointRing(int capacity, float autoIntervalSeconds, float tickDuration) {
+        this.slots = new Checkpoint[capacity];
+        for (int i = 0; i < capacity; i++) {
+            slots[i] = new Checkpoint();
+        }
+        this.autoIntervalTicks = autoIntervalSeconds > 0 ? Math.max(1, Math.round(autoIntervalSeconds / tickDuration)) : 0;
+    }
+
+    /** Enregistre l'etat courant du controleur comme dernier checkpoint. */
+    public void place(GameController controller) {
+        int index = (head + count) % slots.length;
+        if (count == slots.length) {
+            head = (head + 1) % slots.length;
+        } else {
+            count++;
+        }
+        controller.saveCheckpoint(slots[index]);
+
+        // Distribue avec le lot du tick suivant
+        GameEventBus events = controller.getGameWorld().getEventBus();
+        Player player = controller.getGameWorld().getCurrentLevel().getPlayer();
+        if (events != null && player != null) {
+            events.post(GameEvent.Type.CHECKPOINT, player.getX(), player.getY());
+        }
+    }
+
+    /**
+     * A appeler apres chaque mise a jour du controleur. Pose un checkpoint des que le joueur,
+     * vivant et au sol, a progresse de l'intervalle depuis le dernier (ou depuis le depart).
+     */
+    public void update(GameController controller) {
+        if (autoIntervalTicks == 0 || controller.getGameWorld().isPlayerDead()) return;
+        Player player = controller.getGameWorld().getCurrentLevel().getPlayer();
+        if (player == null || !player.isOnGround()) return;
+
+        long lastTick = count > 0 ? getLast().tick : 0;
+        if (controller.getTickCount() - lastTick >= autoIntervalTicks) {
+            place(controller);
+        }
+    }
+
+    /** Reprend au dernier checkpoint; retourne false s'il n'y en a aucun. */
+    public boolean restoreLast(GameController controller) {
+        if (count == 0) return false;
+        controller.restoreCheckpoint(getLast());
+        return true;
+    }
+
+    public void removeLast() {
+        if (count > 0) count--;
+    }
+
+    public void clear() {
+        head = 0;
+        count = 0;
+    }
+
+    /** Dernier checkpoint pose, ou null. */
+    public Checkpoint getLast() {
+        return count > 0 ? slots[(head + count - 1) % slots.length] : null;
+    }
+
+    public int size() { return count; }
+    public int capacity() { return slots.length; }
+}
@@ -0,0 +1,141 @@
+package io.github.dash.engine.controller;
+
+import com.badlogic.gdx.utils.async.AsyncExecutor;
+import io.github.dash.engine.model.ChunkSource;
+import io.github.dash.engine.model.StreamingTileGrid;
+import io.github.dash.engine.platform.GameLogger;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * Maintient charges les chunks d'une {@link StreamingTileGrid} autour de la camera.
+ *
+ * Chaque emplacement de la fenetre a son tampon: le chunk y est lu sur le thread de chargement,
+ * puis copie dans la grille sur le thread de jeu entre deux ticks. Une fois les tampons alloues,
+ * le chargement ne produit plus de dechets cote grille. Apres un saut de position (respawn, checkpoint),
+ * {@link #preload} recharge la nouvelle fenetre. Si le joueur atteint malgre tout un chunk pas encore
+ * pret, celui-ci est lu immediatement: c'est un filet de securite, pas le cas normal.
+ */
+public class ChunkStreamer {
+    // Chunks gardes derriere le bord gauche de la fenetre demandee
+    private static final int CHUNKS_BEHIND = 1;
+
+    private final StreamingTileGrid grid;
+    private final ChunkSource source;
+    private final AsyncExecutor executor;
+    private final GameLogger logger;
+    private final int windowChunks;
+
+    private final byte[][] buffers;
+    private final int[] pending;
+    // Chunk pret dans le tampon de l'emplacement, publie par le thread de chargement
+    private final AtomicIntegerArray ready;
+    private final byte[] syncBuffer;
+
+    private int firstChunk = -1;
+    private int blockingLoads;
+
+    /** @param executor thread de chargement, ou null pour tout lire sur le thread appelant */
+    public ChunkStreamer(StreamingTileGrid grid, AsyncExecutor executor, GameLogger logger) {
+        this.grid = grid;
+        this.source = grid.getSource();
+        this.executor = executor;
+        this.logger = logger;
+        this.windowChunks = grid.getWindowChunks();
+        this.buffers = new byte[windowChunks][grid.getChunkSize()];
+        this.pending = new int[windowChunks];
+        this.ready = new AtomicIntegerArray(windowChunks);
+        this.syncBuffer = new byte[grid.getChunkSize()];
+        Arrays.fill(pending, -1);
+        for (int i = 0; i < windowChunks; i++) ready.set(i, -1);
+    }
+
+    /**
+     * A appeler une fois par frame avec le bord gauche de ce qui doit rester charge (camera ou joueur,
+     * le plus a gauche des deux). La fenetre s'etend de la sur windowChunks chunks.
+     * Installe les chunks termines et demande ceux qui manquent.
+     */
+    public void update(float minX) {
+        int first = Math.max(0, chunkAtX(minX) - CHUNKS_BEHIND);
+        int last = Math.min(grid.getChunkCount() - 1, first + windowChunks - 1);
+        firstChunk = first;
+
+        installReady();
+        for (int chunk = first; chunk <= last; chunk++) {
+            request(chunk);
+        }
+    }
+
+    /** Garantit que les chunks couvrant [minX, maxX] sont charges avant un tick. */
+    public void ensureLoaded(float minX, float maxX) {
+        load(minX, maxX, true);
+    }
+
+    /**
+     * Charge tout de suite les chunks couvrant [minX, maxX] et y recentre la fenetre, a l'ouverture du
+     * niveau ou apres un saut de position: les lectures encore en cours pour l'ancienne fenetre sont ignorees.
+     */
+    public void preload(float minX, float maxX) {
+        firstChunk = Math.max(0, chunkAtX(minX) - CHUNKS_BEHIND);
+        load(minX, maxX, false);
+    }
+
+    private void load(float minX, float maxX, boolean unexpected) {
+        int first = Math.max(0, chunkAtX(minX));
+        int last = Math.min(grid.getChunkCount() - 1, chunkAtX(maxX));
+        for (int chunk = first; chunk <= last; chunk++) {
+            if (grid.isLoaded(chunk)) continue;
+            installReady();
+            if (grid.isLoaded(chunk)) continue;
+
+            source.readChunk(chunk, syncBuffer);
+            grid.install(chunk, syncBuffer);
+            if (unexpected) {
+                blockingLoads++;
+                logger.error("ChunkStreamer", "Chunk " + chunk + " lu sur le thread de jeu");
+            }
+        }
+    }
+
+    private void installReady() {
+        for (int slot = 0; slot < windowChunks; slot++) {
+            int chunk = pending[slot];
+            if (chunk < 0 || ready.get(slot) != chunk) continue;
+            pending[slot] = -1;
+            // Un chunk sorti de la fenetre pendant sa lecture n'ecrase pas l'emplacement
+            if (chunk >= firstChunk && chunk < firstChunk + windowChunks && !grid.isLoaded(chunk)) {
+                grid.install(chunk, buffers[slot]);
+            }
+        }
+    }
+
+    private void request(int chunk) {
+        if (grid.isLoaded(chunk)) return;
+        int slot = chunk % windowChunks;
+        if (pending[slot] >= 0) return;
+
+        pending[slot] = chunk;
+        if (executor == null) {
+            source.readChunk(chunk, buffers[slot]);
+            ready.set(slot, chunk);
+            installReady();
+            return;
+        }
+        byte[] buffer = buffers[slot];
+        executor.submit(() -> {
+            source.readChunk(chunk, buffer);
+            ready.set(slot, chunk);
+            return null;
+        });
+    }
+
+    private int chunkAtX(float worldX) {
+        return grid.chunkAtColumn(grid.columnAt(worldX));
+    }
+
+    /** Nombre de chunks qu'il a fallu lire sur le thread de jeu. */
+    public int getBlockingLoads() { return blockingLoads; }
+
+    public StreamingTileGrid getGrid() { return grid; }
+}
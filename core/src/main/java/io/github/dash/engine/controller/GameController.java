@@ -1,27 +1,88 @@
 package io.github.dash.engine.controller;
 
-import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.graphics.OrthographicCamera;
+import io.github.dash.engine.event.GameEventBus;
 import io.github.dash.engine.model.GameWorld;
 import io.github.dash.engine.model.Player;
+import io.github.dash.engine.model.StreamingTileGrid;
 
 /**
- * Controleur principal: auto-scroll et camera.
+ * Controleur principal: simulation a pas fixe, auto-scroll et camera.
  */
 public class GameController {
     private final GameWorld gameWorld;
-    private final InputController inputController;
+    private InputSource inputSource;
+    private TickListener tickListener;
+    private ChunkStreamer chunkStreamer;
     private final OrthographicCamera camera;
+    public static final float DEFAULT_TICK_RATE = 120f;
+    public static final int DEFAULT_MAX_CATCH_UP_TICKS = 8;
 
-    private static final float SPEED_MULTIPLIER = 5.0f;
+    // Pas fixe: le delta variable de la frame est accumule puis consomme par ticks constants
+    private final float tickDuration;
+    private int maxCatchUpTicks = DEFAULT_MAX_CATCH_UP_TICKS;
+    private float accumulator;
+    private float alpha;
+    private long tickCount;
 
-    public GameController(GameWorld gameWorld, OrthographicCamera camera) {
+    public GameController(GameWorld gameWorld, OrthographicCamera camera, InputSource inputSource) {
+        this(gameWorld, camera, inputSource, DEFAULT_TICK_RATE);
+    }
+
+    public GameController(GameWorld gameWorld, OrthographicCamera camera, InputSource inputSource, float tickRate) {
         this.gameWorld = gameWorld;
         this.camera = camera;
+        this.inputSource = inputSource;
+        this.tickDuration = 1f / tickRate;
+
+        snapCamera();
+    }
+
+    /** Recommence au tick 0 apres un {@link GameWorld#reset()}: accumulateur vide, camera sur le joueur. */
+    public void reset() {
+        accumulator = 0;
+        alpha = 0;
+        tickCount = 0;
+        snapCamera();
+        preloadChunks();
+    }
+
+    /** Enregistre le monde, la camera et le tick courant dans out, sans allocation. */
+    public void saveCheckpoint(Checkpoint out) {
+        gameWorld.saveState(out.world);
+        out.cameraX = camera.position.x;
+        out.cameraY = camera.position.y;
+        out.tick = tickCount;
+    }
 
+    /** Reprend a un checkpoint: l'accumulateur repart de zero comme apres {@link #reset()}. */
+    public void restoreCheckpoint(Checkpoint checkpoint) {
+        gameWorld.restoreState(checkpoint.world);
+        camera.position.x = checkpoint.cameraX;
+        camera.position.y = checkpoint.cameraY;
+        camera.update();
+        tickCount = checkpoint.tick;
+        accumulator = 0;
+        alpha = 0;
+        preloadChunks();
+    }
+
+    /** Niveau en chunks: charge la fenetre autour de la camera et du joueur replaces, avant le premier tick. */
+    private void preloadChunks() {
+        if (chunkStreamer == null) return;
+        Player player = gameWorld.getCurrentLevel().getPlayer();
+        float viewLeft = camera.position.x - camera.viewportWidth / 2;
+        float viewRight = camera.position.x + camera.viewportWidth / 2;
+        if (player != null) {
+            float margin = chunkStreamer.getGrid().getTileWidth();
+            viewLeft = Math.min(viewLeft, player.getX() - margin);
+            viewRight = Math.max(viewRight, player.getX() + player.getWidth() + margin);
+        }
+        chunkStreamer.preload(viewLeft, viewRight);
+    }
+
+    private void snapCamera() {
         Player player = gameWorld.getCurrentLevel().getPlayer();
-        this.inputController = new InputController(player);
-        Gdx.input.setInputProcessor(inputController);
 
         if (player != null) {
             camera.position.x = player.getX() + camera.viewportWidth / 3;
@@ -31,18 +92,34 @@ public class GameController {
     }
 
     public void update(float delta) {
+        long now = System.nanoTime();
         Player player = gameWorld.getCurrentLevel().getPlayer();
 
-        if (player != null && player.isAlive()) {
-            float scrollSpeed = gameWorld.getCurrentLevel().getScrollSpeed() * SPEED_MULTIPLIER;
-            player.setVelocity(scrollSpeed, player.getVy());
+        if (chunkStreamer != null) {
+            float viewLeft = camera.position.x - camera.viewportWidth / 2;
+            chunkStreamer.update(player != null ? Math.min(viewLeft, player.getX()) : viewLeft);
         }
 
-        gameWorld.update(delta);
+        accumulator += delta;
+        // Le temps simule a du retard de l'accumulateur sur l'horloge: fin du premier tick de la frame
+        long tickNanos = (long) (tickDuration * 1_000_000_000L);
+        long tickEnd = now - (long) (accumulator * 1_000_000_000L) + tickNanos;
+        int ticks = 0;
+        while (accumulator >= tickDuration && ticks < maxCatchUpTicks) {
+            tick(player, tickEnd);
+            accumulator -= tickDuration;
+            tickEnd += tickNanos;
+            ticks++;
+        }
+        // Apres une longue frame (GC, fenetre deplacee), le retard restant est abandonne
+        if (accumulator >= tickDuration) {
+            accumulator %= tickDuration;
+        }
+        alpha = accumulator / tickDuration;
 
         if (player != null) {
-            float targetX = player.getX() + camera.viewportWidth / 3;
-            float targetY = Math.max(camera.viewportHeight / 2, player.getY() + camera.viewportHeight / 4);
+            float targetX = player.getInterpolatedX(alpha) + camera.viewportWidth / 3;
+            float targetY = Math.max(camera.viewportHeight / 2, player.getInterpolatedY(alpha) + camera.viewportHeight / 4);
 
             float lerpFactor = 5.0f * delta;
             camera.position.x += (targetX - camera.position.x) * lerpFactor;
@@ -51,9 +128,44 @@ public class GameController {
         }
     }
 
-    public GameWorld getGameWorld() { return gameWorld; }
-
-    public void dispose() {
-        if (inputController != null) inputController.dispose();
+    private void tick(Player player, long tickEndNanos) {
+        if (player != null) {
+            if (chunkStreamer != null) {
+                StreamingTileGrid grid = chunkStreamer.getGrid();
+                chunkStreamer.ensureLoaded(player.getX() - grid.getTileWidth(),
+                    player.getX() + player.getWidth() + grid.getTileWidth());
+            }
+            inputSource.applyInputs(player, tickCount, tickEndNanos);
+        }
+        gameWorld.tick(tickDuration);
+        // Monde recale par chunks entiers: la camera recule d'autant, sans saut a l'ecran
+        camera.position.x -= gameWorld.getLastOriginShift();
+        GameEventBus events = gameWorld.getEventBus();
+        if (events != null) {
+            events.dispatch(tickCount);
+        }
+        if (tickListener != null) {
+            tickListener.onTick(tickCount, gameWorld);
+        }
+        tickCount++;
     }
+
+    /** Fraction du tick courant deja ecoulee, pour interpoler le rendu. */
+    public float getAlpha() { return alpha; }
+
+    public float getTickDuration() { return tickDuration; }
+    public long getTickCount() { return tickCount; }
+
+    public void setMaxCatchUpTicks(int maxCatchUpTicks) { this.maxCatchUpTicks = maxCatchUpTicks; }
+
+    /** Change la source des entrees, par exemple pour rejouer un replay. */
+    public void setInputSource(InputSource inputSource) { this.inputSource = inputSource; }
+    public InputSource getInputSource() { return inputSource; }
+
+    public void setTickListener(TickListener tickListener) { this.tickListener = tickListener; }
+
+    /** Niveau en chunks: la fenetre chargee suit la camera, le chunk du joueur est garanti a chaque tick. */
+    public void setChunkStreamer(ChunkStreamer chunkStreamer) { this.chunkStreamer = chunkStreamer; }
+
+    public GameWorld getGameWorld() { return gameWorld; }
 }
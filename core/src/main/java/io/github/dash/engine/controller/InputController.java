@@ -1,44 +1,156 @@
 package io.github.dash.engine.controller;
 
-import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.Input;
 import com.badlogic.gdx.InputAdapter;
-import com.badlogic.gdx.audio.Sound;
 import io.github.dash.engine.model.Player;
+import io.github.dash.engine.replay.ReplayRecorder;
+
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
- * Gestion des entrees utilisateur.
+ * Gestion des entrees utilisateur. Chaque appui et relachement est horodate (System.nanoTime) et publie
+ * dans un anneau sans verrou; le controleur l'applique au tick simule dont l'intervalle de temps le contient,
+ * quel que soit le decoupage des frames. Un appui en l'air reste en attente pendant la fenetre du tampon
+ * de saut; en mode maintien, le joueur resaute tant que le bouton reste enfonce.
  */
-public class InputController extends InputAdapter {
-    private final Player player;
-    private final float jumpForce = 2500f;
-    private Sound jumpSound;
+public class InputController extends InputAdapter implements InputSource {
+    public static final long DEFAULT_JUMP_BUFFER_NANOS = 100_000_000L;
+    private static final int QUEUE_CAPACITY = 64;
+    private static final int LATENCY_SAMPLES = 64;
+
+    // Anneau mono-producteur (thread des evenements) mono-consommateur (thread de simulation)
+    private final long[] eventTimes = new long[QUEUE_CAPACITY];
+    private final boolean[] eventPresses = new boolean[QUEUE_CAPACITY];
+    private long writeIndex;
+    private final AtomicLong published = new AtomicLong();
+    private final AtomicLong consumed = new AtomicLong();
+    private volatile long dropped;
+
+    private long jumpBufferNanos = DEFAULT_JUMP_BUFFER_NANOS;
+    private boolean holdToJump;
+    private boolean held;
+    // Instant de l'appui en attente d'un saut, -1 sans appui
+    private long bufferedPress = -1;
+    private ReplayRecorder recorder;
 
-    public InputController(Player player) {
-        this.player = player;
-        loadJumpSound();
-        player.setOnJumpCallback(this::playJumpSound);
+    // Delai entre l'appui et l'execution du tick qui l'applique
+    private final long[] latencies = new long[LATENCY_SAMPLES];
+    private int latencyHead;
+    private int latencyCount;
+
+    @Override
+    public void applyInputs(Player player, long tick) {
+        applyInputs(player, tick, System.nanoTime());
     }
 
-    private void loadJumpSound() {
-        try {
-            jumpSound = Gdx.audio.newSound(Gdx.files.internal("sounds/jump.wav"));
-        } catch (Exception e) {
-            Gdx.app.log("InputController", "Son de saut non charge: " + e.getMessage());
-            jumpSound = null;
+    @Override
+    public void applyInputs(Player player, long tick, long tickEndNanos) {
+        long now = System.nanoTime();
+        long end = published.get();
+        long index = consumed.get();
+        boolean pressed = false;
+        for (; index < end; index++) {
+            int slot = (int) (index % QUEUE_CAPACITY);
+            long time = eventTimes[slot];
+            // Arrive pendant un tick posterieur: il attend son tick
+            if (time - tickEndNanos > 0) break;
+            if (eventPresses[slot]) {
+                held = true;
+                pressed = true;
+                bufferedPress = time;
+                addLatency(now - time);
+            } else {
+                held = false;
+                if (recorder != null) recorder.release(tick);
+            }
+        }
+        consumed.lazySet(index);
+
+        // Un appui est toujours tente a son propre tick, puis tant que la fenetre du tampon n'est pas ecoulee
+        if (bufferedPress >= 0 && !pressed && tickEndNanos - bufferedPress > jumpBufferNanos) {
+            bufferedPress = -1;
+        }
+        if ((bufferedPress >= 0 || (holdToJump && held)) && player.jump(Player.JUMP_FORCE)) {
+            // Seuls les sauts effectifs sont enregistres: le replay les reproduit au meme tick
+            if (recorder != null) recorder.press(tick);
+            bufferedPress = -1;
         }
     }
 
-    private void playJumpSound() {
-        if (jumpSound != null) {
-            jumpSound.play(0.5f);
+    private void addLatency(long nanos) {
+        latencies[latencyHead] = nanos;
+        latencyHead = (latencyHead + 1) % LATENCY_SAMPLES;
+        if (latencyCount < LATENCY_SAMPLES) latencyCount++;
+    }
+
+    private void publish(boolean press) {
+        long index = writeIndex;
+        if (index - consumed.get() >= QUEUE_CAPACITY) {
+            dropped++;
+            return;
         }
+        int slot = (int) (index % QUEUE_CAPACITY);
+        eventTimes[slot] = System.nanoTime();
+        eventPresses[slot] = press;
+        writeIndex = index + 1;
+        published.lazySet(index + 1);
+    }
+
+    /** Oublie les entrees en attente (par exemple pendant l'ecran de mort). A appeler sur le thread de simulation. */
+    public void clear() {
+        consumed.lazySet(published.get());
+        held = false;
+        bufferedPress = -1;
+    }
+
+    /** Enregistre les sauts et relachements au tick ou ils sont appliques. */
+    public void setRecorder(ReplayRecorder recorder) {
+        this.recorder = recorder;
+    }
+
+    /** Duree pendant laquelle un appui en l'air est garde pour sauter a l'atterrissage; 0 pour aucune. */
+    public void setJumpBufferNanos(long jumpBufferNanos) { this.jumpBufferNanos = jumpBufferNanos; }
+    public long getJumpBufferNanos() { return jumpBufferNanos; }
+
+    /** Mode maintien: le joueur resaute a chaque atterrissage tant que le bouton est enfonce. */
+    public void setHoldToJump(boolean holdToJump) { this.holdToJump = holdToJump; }
+    public boolean isHoldToJump() { return holdToJump; }
+
+    /** Dernier delai entre un appui et l'execution du tick qui l'a applique, en nanosecondes. */
+    public long getLastLatencyNanos() {
+        return latencyCount > 0 ? latencies[(latencyHead - 1 + LATENCY_SAMPLES) % LATENCY_SAMPLES] : 0;
+    }
+
+    /** Delai moyen sur les derniers appuis. */
+    public long getAverageLatencyNanos() {
+        if (latencyCount == 0) return 0;
+        long total = 0;
+        for (int i = 0; i < latencyCount; i++) total += latencies[i];
+        return total / latencyCount;
+    }
+
+    public long getMaxLatencyNanos() {
+        long max = 0;
+        for (int i = 0; i < latencyCount; i++) max = Math.max(max, latencies[i]);
+        return max;
     }
 
+    /** Evenements perdus, file pleine. */
+    public long getDropped() { return dropped; }
+
     @Override
     public boolean keyDown(int keycode) {
         if (keycode == Input.Keys.SPACE) {
-            player.jump(jumpForce);
+            publish(true);
+            return true;
+        }
+        return false;
+    }
+
+    @Override
+    public boolean keyUp(int keycode) {
+        if (keycode == Input.Keys.SPACE) {
+            publish(false);
             return true;
         }
         return false;
@@ -47,13 +159,18 @@ public class InputController extends InputAdapter {
     @Override
     public boolean touchDown(int screenX, int screenY, int pointer, int button) {
         if (button == Input.Buttons.LEFT) {
-            player.jump(jumpForce);
+            publish(true);
             return true;
         }
         return false;
     }
 
-    public void dispose() {
-        if (jumpSound != null) jumpSound.dispose();
+    @Override
+    public boolean touchUp(int screenX, int screenY, int pointer, int button) {
+        if (button == Input.Buttons.LEFT) {
+            publish(false);
+            return true;
+        }
+        return false;
     }
 }
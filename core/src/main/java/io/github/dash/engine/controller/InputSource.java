@@ -0,0 +1,18 @@
+package io.github.dash.engine.controller;
+
+import io.github.dash.engine.model.Player;
+
+/**
+ * Source d'entrees appliquee au joueur au debut de chaque tick de simulation.
+ */
+public interface InputSource {
+    void applyInputs(Player player, long tick);
+
+    /**
+     * Variante horodatee, appelee par {@link GameController}.
+     * @param tickEndNanos instant (System.nanoTime) auquel se termine, en temps reel, le tick simule
+     */
+    default void applyInputs(Player player, long tick, long tickEndNanos) {
+        applyInputs(player, tick);
+    }
+}
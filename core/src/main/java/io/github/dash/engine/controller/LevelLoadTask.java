@@ -0,0 +1,98 @@
+package io.github.dash.engine.controller;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.assets.AssetManager;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.g2d.TextureAtlas;
+import com.badlogic.gdx.maps.tiled.TiledMap;
+import com.badlogic.gdx.utils.async.AsyncExecutor;
+import com.badlogic.gdx.utils.async.AsyncResult;
+import io.github.dash.engine.tiled.TiledLevelLoader;
+
+/**
+ * Chargement asynchrone d'un niveau en deux phases.
+ * Sur un thread de travail: {@link LevelManager#prepareLevel} (lecture, entites, grille, index).
+ * Sur le thread GL: textures chargees par l'AssetManager par tranches de temps a chaque frame,
+ * puis creation de la carte de rendu depuis le niveau binaire. Le TMX n'est lu qu'une fois, sur le
+ * thread de travail, et seulement si le niveau binaire manque.
+ * Les textures chargees sont listees dans {@link TiledLevelLoader.LoadedLevel#assetPaths}: a decharger
+ * de l'AssetManager quand la carte ne sert plus.
+ */
+public class LevelLoadTask {
+    // Part de la progression attribuee a la phase hors GL
+    private static final float PREPARE_WEIGHT = 0.4f;
+
+    private final AssetManager assets;
+    private final String path;
+    private final AsyncResult<LevelManager.PreparedLevel> preparing;
+    private volatile float prepareProgress;
+
+    private LevelManager.PreparedLevel prepared;
+    private String[] texturePaths;
+    private String atlasPath;
+    private TiledLevelLoader.LoadedLevel result;
+
+    public LevelLoadTask(LevelManager levelManager, AsyncExecutor executor, AssetManager assets, String path) {
+        this.assets = assets;
+        this.path = path;
+        this.preparing = executor.submit(() -> levelManager.prepareLevel(path, progress -> prepareProgress = progress));
+    }
+
+    /**
+     * A appeler a chaque frame sur le thread GL. Consacre au plus budgetMillis au chargement
+     * des textures et retourne vrai une fois le niveau pret. Relance les erreurs du thread de travail.
+     */
+    public boolean update(int budgetMillis) {
+        if (result != null) return true;
+
+        if (prepared == null) {
+            if (!preparing.isDone()) return false;
+            prepared = preparing.get();
+            queueAssets();
+        }
+
+        if (!assets.update(budgetMillis)) return false;
+        TiledMap map = createMap();
+        String[] assetPaths = atlasPath != null ? new String[] {atlasPath}
+            : texturePaths != null ? texturePaths : new String[0];
+        result = new TiledLevelLoader.LoadedLevel(prepared.level, map, assetPaths);
+        return true;
+    }
+
+    private void queueAssets() {
+        if (!prepared.hasMap) return;
+        int slash = path.lastIndexOf('/');
+        String mapDirectory = slash >= 0 ? path.substring(0, slash) : "";
+        // Atlas de packTextures: une seule texture pour tous les jeux de tuiles, partagee entre les cartes
+        atlasPath = prepared.binary.getAtlasPath(mapDirectory);
+        if (atlasPath != null && Gdx.files.internal(atlasPath).exists()) {
+            assets.load(atlasPath, TextureAtlas.class);
+            return;
+        }
+        atlasPath = null;
+        texturePaths = prepared.binary.getImagePaths(mapDirectory);
+        for (String texture : texturePaths) {
+            assets.load(texture, Texture.class);
+        }
+    }
+
+    private TiledMap createMap() {
+        if (!prepared.hasMap) return null;
+        if (atlasPath != null) return prepared.binary.createMap(assets.get(atlasPath, TextureAtlas.class));
+
+        Texture[] textures = new Texture[texturePaths.length];
+        for (int i = 0; i < textures.length; i++) {
+            textures[i] = assets.get(texturePaths[i], Texture.class);
+        }
+        return prepared.binary.createMap(textures);
+    }
+
+    /** Progression reelle: etapes du thread de travail, puis avancement de l'AssetManager. */
+    public float getProgress() {
+        if (result != null) return 1f;
+        if (prepared == null) return prepareProgress * PREPARE_WEIGHT;
+        return PREPARE_WEIGHT + (1f - PREPARE_WEIGHT) * assets.getProgress();
+    }
+
+    public TiledLevelLoader.LoadedLevel getResult() { return result; }
+}
@@ -1,18 +1,203 @@
 package io.github.dash.engine.controller;
 
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.maps.tiled.TiledMap;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+import com.badlogic.gdx.utils.XmlReader;
+import com.badlogic.gdx.utils.XmlReader.Element;
+import io.github.dash.engine.model.Level;
+import io.github.dash.engine.platform.GameLogger;
+import io.github.dash.engine.platform.GdxGameLogger;
+import io.github.dash.engine.tiled.BinaryLevelFormat;
+import io.github.dash.engine.tiled.BinaryLevelReader;
+import io.github.dash.engine.tiled.BinaryLevelWriter;
 import io.github.dash.engine.tiled.TiledLevelLoader;
+import io.github.dash.engine.tiled.TmxDataReader;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
 
 /**
  * Gestionnaire de chargement des niveaux.
+ * Prefere le niveau binaire precompile: a cote du TMX, ou dans le dossier local du jeu quand le TMX est
+ * une ressource d'archive. Au premier lancement, ce cache est copie depuis les niveaux compiles a la
+ * construction (headless:compileLevels). S'il manque ou ne correspond plus au TMX, le niveau est charge
+ * depuis le TMX et le cache est regenere.
  */
 public class LevelManager {
+    // Au-dela de cette largeur, la grille du niveau binaire est lue par chunks autour de la camera
+    public static final int STREAMING_MIN_COLUMNS = 4096;
+    public static final int CHUNK_COLUMNS = 32;
+    // Camera de jeu (9000 unites) plus une marge de prechargement
+    public static final float STREAMING_WINDOW_WIDTH = 16384f;
+    // Mode des caches, aussi celui de la compilation a la construction
+    public static final TiledLevelLoader.CollisionMode COLLISION_MODE = TiledLevelLoader.CollisionMode.TILE_GRID;
+    // Caches des niveaux dont le TMX n'est pas un fichier modifiable, dans Gdx.files.local
+    public static final String CACHE_DIRECTORY = "levels";
+
+    /** Avancement de {@link #prepareLevel}, entre 0 et 1. */
+    public interface ProgressListener {
+        void onProgress(float progress);
+    }
+
+    /**
+     * Niveau construit hors du thread GL. La carte de rendu reste a creer depuis le niveau binaire,
+     * une fois ses textures chargees: le TMX n'est jamais relu sur le thread GL.
+     */
+    public static class PreparedLevel {
+        public final String path;
+        public final Level level;
+        /** Niveau binaire de la carte, ou null pour le niveau de secours. */
+        public final BinaryLevelReader.BinaryLevel binary;
+        /** Faux pour le niveau de secours: il n'y a pas de carte a afficher. */
+        public final boolean hasMap;
+
+        PreparedLevel(String path, Level level, BinaryLevelReader.BinaryLevel binary, boolean hasMap) {
+            this.path = path;
+            this.level = level;
+            this.binary = binary;
+            this.hasMap = hasMap;
+        }
+    }
+
     private final TiledLevelLoader loader;
+    private final BinaryLevelReader binaryReader;
+    private final BinaryLevelWriter binaryWriter;
+    private final GameLogger logger;
 
     public LevelManager() {
-        this.loader = new TiledLevelLoader();
+        this(new GdxGameLogger());
     }
 
+    public LevelManager(GameLogger logger) {
+        this.logger = logger;
+        this.loader = new TiledLevelLoader(COLLISION_MODE, logger);
+        this.binaryReader = new BinaryLevelReader(loader.getCollisionMode(), STREAMING_MIN_COLUMNS,
+            CHUNK_COLUMNS, STREAMING_WINDOW_WIDTH);
+        this.binaryWriter = new BinaryLevelWriter(loader);
+    }
+
+    /** Chargement complet et synchrone, sur le thread GL. */
     public TiledLevelLoader.LoadedLevel loadLevel(String path) {
-        return loader.load(path);
+        FileHandle tmx = Gdx.files.internal(path);
+        if (!tmx.exists()) {
+            return loader.load(path);
+        }
+
+        PreparedLevel prepared = prepareLevel(path, progress -> { });
+        return new TiledLevelLoader.LoadedLevel(prepared.level, prepared.binary.createMap(tmx.parent()));
+    }
+
+    /**
+     * Partie du chargement sans GL, a executer sur un thread de travail: lecture du cache ou
+     * du TMX, construction des entites, de la grille et de l'index, ecriture du cache.
+     * Le niveau vient toujours du niveau binaire, lu par chunks s'il est assez long.
+     */
+    public PreparedLevel prepareLevel(String path, ProgressListener progress) {
+        FileHandle tmx = Gdx.files.internal(path);
+        if (!tmx.exists()) {
+            return new PreparedLevel(path, loader.load(path).level, null, false);
+        }
+
+        File cacheFile = cacheFile(path, tmx);
+        long hash = BinaryLevelFormat.hash(tmx);
+        BinaryLevelReader.BinaryLevel cached = readCache(cacheFile, hash);
+        if (cached == null && installCompiled(path, cacheFile)) {
+            cached = readCache(cacheFile, hash);
+        }
+        if (cached != null) {
+            progress.onProgress(1f);
+            return new PreparedLevel(path, cached.level, cached, true);
+        }
+        progress.onProgress(0.1f);
+
+        // XML lu une seule fois: la racine sert a la carte de donnees puis au niveau binaire
+        Element root = new XmlReader().parse(tmx);
+        TiledMap map = new TmxDataReader().read(root);
+        progress.onProgress(0.5f);
+        Level level = loader.buildLevel(map);
+        progress.onProgress(0.8f);
+
+        byte[] compiled;
+        try {
+            compiled = binaryWriter.encode(tmx, root, map, level);
+        } catch (IOException e) {
+            throw new GdxRuntimeException("Compilation du niveau impossible: " + path, e);
+        }
+        boolean written = writeCache(compiled, cacheFile);
+
+        // On repart du niveau binaire, comme pour un cache: il porte la carte de rendu et, pour un niveau
+        // tres long, ne garde en memoire que la fenetre de chunks. Projete depuis le cache ou, faute
+        // d'avoir pu l'ecrire, lu dans le tampon compile
+        BinaryLevelReader.BinaryLevel binary = written ? readCache(cacheFile, hash) : null;
+        if (binary == null) binary = binaryReader.read(ByteBuffer.wrap(compiled), hash);
+        progress.onProgress(1f);
+        return new PreparedLevel(path, binary.level, binary, true);
+    }
+
+    /** Cache a cote du TMX s'il est un fichier d'un dossier modifiable, sinon dans le dossier local du jeu. */
+    private File cacheFile(String path, FileHandle tmx) {
+        File tmxFile = tmx.file();
+        if (tmxFile != null && tmxFile.isFile() && tmxFile.getAbsoluteFile().getParentFile().canWrite()) {
+            return BinaryLevelFormat.cacheFile(tmxFile);
+        }
+        return Gdx.files.local(CACHE_DIRECTORY + "/" + BinaryLevelFormat.cachePath(path)).file();
+    }
+
+    /**
+     * Copie le niveau compile a la construction, livre a cote du TMX, a l'emplacement du cache:
+     * une ressource d'archive ne peut pas etre projetee en memoire. Retourne vrai si la copie a eu lieu.
+     */
+    private boolean installCompiled(String path, File cacheFile) {
+        FileHandle compiled = Gdx.files.internal(BinaryLevelFormat.cachePath(path));
+        if (!compiled.exists()) return false;
+        File compiledFile = compiled.file();
+        // Cache deja lu (et perime) a cote du TMX
+        if (compiledFile != null && compiledFile.getAbsoluteFile().equals(cacheFile.getAbsoluteFile())) return false;
+
+        File directory = cacheFile.getAbsoluteFile().getParentFile();
+        File temp = new File(cacheFile.getPath() + ".tmp");
+        try (InputStream in = compiled.read()) {
+            if (directory != null) directory.mkdirs();
+            Files.copy(in, temp.toPath(), StandardCopyOption.REPLACE_EXISTING);
+            Files.move(temp.toPath(), cacheFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+            logger.log("LevelManager", "Niveau compile installe: " + cacheFile.getPath());
+            return true;
+        } catch (IOException | RuntimeException e) {
+            logger.error("LevelManager", "Installation du niveau compile impossible: " + e.getMessage());
+            return false;
+        }
+    }
+
+    private boolean writeCache(byte[] compiled, File cacheFile) {
+        try {
+            BinaryLevelWriter.writeFile(compiled, cacheFile);
+            logger.log("LevelManager", "Cache ecrit: " + cacheFile.getPath());
+            return true;
+        } catch (IOException | RuntimeException e) {
+            logger.error("LevelManager", "Ecriture du cache impossible: " + e.getMessage());
+            return false;
+        }
+    }
+
+    private BinaryLevelReader.BinaryLevel readCache(File cacheFile, long hash) {
+        if (!cacheFile.isFile()) return null;
+        try {
+            BinaryLevelReader.BinaryLevel cached = binaryReader.read(cacheFile, hash);
+            if (cached != null) {
+                logger.log("LevelManager", "Niveau binaire charge: " + cacheFile.getName());
+            } else {
+                logger.log("LevelManager", "Cache perime: " + cacheFile.getName());
+            }
+            return cached;
+        } catch (Exception e) {
+            logger.error("LevelManager", "Cache illisible: " + e.getMessage());
+            return null;
+        }
     }
 }
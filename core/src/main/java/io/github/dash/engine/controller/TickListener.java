@@ -0,0 +1,11 @@
+package io.github.dash.engine.controller;
+
+import io.github.dash.engine.model.GameWorld;
+
+/**
+ * Notifie apres chaque tick de simulation (enregistrement, verification de replay).
+ */
+public interface TickListener {
+    /** @param tick indice du tick qui vient d'etre simule */
+    void onTick(long tick, GameWorld world);
+}
@@ -0,0 +1,90 @@
+package io.github.dash.engine.endless;
+
+import io.github.dash.engine.model.ChunkSource;
+import io.github.dash.engine.model.TileGrid;
+
+/**
+ * Generateur d'obstacles du mode infini, avec les motifs de generate_level.py:
+ * spike (40%), bloc etroit (30%) ou bloc large de deux colonnes (30%), espaces de 400 a 800 px
+ * a l'echelle du script (tuiles de 32), soit 13 a 25 colonnes.
+ * Les blocs du script font 2 et 3 tuiles de haut pour un joueur d'une tuile; ici le saut
+ * culmine sous deux tuiles de 256, les blocs sont donc ramenes a une seule ligne.
+ *
+ * Chaque chunk ne depend que de la graine et de son indice: il peut etre genere dans n'importe
+ * quel ordre, sur n'importe quel thread, et regenere a l'identique apres avoir ete evince.
+ * Les obstacles restent a distance des bords du chunk pour garder l'espacement d'un chunk a l'autre.
+ */
+public class EndlessChunkSource implements ChunkSource {
+    // Le script commence a x=800 px: 25 colonnes de depart sans obstacle
+    private static final int SAFE_START_COLUMNS = 25;
+    private static final int MIN_SPACING = 13;
+    private static final int MAX_SPACING = 25;
+    // Moitie de l'espacement minimal, laissee libre de chaque cote d'un chunk
+    private static final int EDGE_MARGIN = 7;
+    private static final int WIDEST_OBSTACLE = 2;
+    private static final int BLOCK_HEIGHT = 1;
+
+    private final long seed;
+    private final int chunkColumns;
+    private final int height;
+
+    public EndlessChunkSource(long seed, int chunkColumns, int height) {
+        if (chunkColumns < 2 * EDGE_MARGIN + WIDEST_OBSTACLE) {
+            throw new IllegalArgumentException("Chunk trop etroit: " + chunkColumns);
+        }
+        this.seed = seed;
+        this.chunkColumns = chunkColumns;
+        this.height = height;
+    }
+
+    @Override
+    public int getChunkColumns() { return chunkColumns; }
+
+    @Override
+    public int getHeight() { return height; }
+
+    @Override
+    public void readChunk(int chunk, byte[] cells) {
+        for (int i = 0; i < cells.length; i++) cells[i] = TileGrid.EMPTY;
+        // Sol continu sur la premiere ligne
+        for (int x = 0; x < chunkColumns; x++) cells[x] = TileGrid.SOLID;
+
+        long state = mix(seed ^ (chunk * 0x9E3779B97F4A7C15L));
+        int column = chunk == 0 ? SAFE_START_COLUMNS : EDGE_MARGIN;
+        while (column <= chunkColumns - EDGE_MARGIN - WIDEST_OBSTACLE) {
+            state = mix(state);
+            int roll = (int) ((state >>> 33) % 10);
+            if (roll < 4) {
+                set(cells, column, 1, TileGrid.KILLER);
+            } else if (roll < 7) {
+                fill(cells, column, 1, 1, BLOCK_HEIGHT);
+            } else {
+                fill(cells, column, 1, WIDEST_OBSTACLE, BLOCK_HEIGHT);
+            }
+            state = mix(state);
+            column += MIN_SPACING + (int) ((state >>> 33) % (MAX_SPACING - MIN_SPACING + 1));
+        }
+    }
+
+    private void fill(byte[] cells, int x, int y, int width, int blockHeight) {
+        for (int dx = 0; dx < width; dx++) {
+            for (int dy = 0; dy < blockHeight; dy++) {
+                set(cells, x + dx, y + dy, TileGrid.SOLID);
+            }
+        }
+    }
+
+    private void set(byte[] cells, int x, int y, byte flag) {
+        if (y < height) cells[y * chunkColumns + x] = flag;
+    }
+
+    /** SplitMix64: etat suivant, sans allocation. */
+    private static long mix(long z) {
+        z += 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    public long getSeed() { return seed; }
+}
@@ -0,0 +1,61 @@
+package io.github.dash.engine.endless;
+
+import io.github.dash.engine.model.Level;
+import io.github.dash.engine.model.Player;
+import io.github.dash.engine.model.StaticGeometry;
+import io.github.dash.engine.model.StreamingTileGrid;
+import io.github.dash.engine.tiled.EntityFactory;
+import io.github.dash.engine.tiled.TiledLevelLoader;
+
+/**
+ * Niveau du mode infini, sans TMX: une grille en chunks alimentee par {@link EndlessChunkSource}.
+ * Il est designe par un chemin "endless:graine", pour que replays et ecrans le traitent comme une carte.
+ */
+public final class EndlessLevel {
+    public static final String PATH_PREFIX = "endless:";
+
+    // Memes dimensions que les cartes livrees
+    public static final int TILE_SIZE = 256;
+    public static final int ROWS = 8;
+    public static final int CHUNK_COLUMNS = 32;
+    public static final float WINDOW_WIDTH = 16384f;
+    // Largeur logique, en colonnes absolues: environ cinq ans de jeu a 1750 px/s. Les positions restent
+    // petites grace a l'origine flottante, seul l'indice de colonne grandit
+    private static final int COLUMNS = 1 << 30;
+    private static final float PLAYER_SIZE = 180;
+
+    private EndlessLevel() {
+    }
+
+    public static boolean isEndless(String path) {
+        return path != null && path.startsWith(PATH_PREFIX);
+    }
+
+    public static String path(long seed) {
+        return PATH_PREFIX + seed;
+    }
+
+    public static long seedOf(String path) {
+        return Long.parseLong(path.substring(PATH_PREFIX.length()));
+    }
+
+    public static Level create(long seed) {
+        Level level = new Level();
+        level.setScrollSpeed(350.0f);
+        level.setGravity(-3500.0f);
+        level.setLevelName("Infini #" + seed);
+
+        StreamingTileGrid grid = new StreamingTileGrid(COLUMNS, TILE_SIZE, TILE_SIZE,
+            new EndlessChunkSource(seed, CHUNK_COLUMNS, ROWS),
+            StreamingTileGrid.windowChunksFor(WINDOW_WIDTH, CHUNK_COLUMNS, TILE_SIZE));
+        float spikeSize = TILE_SIZE * TiledLevelLoader.SPIKE_SCALE;
+        grid.setKillerHitbox((TILE_SIZE - spikeSize) / 2, 0, spikeSize, spikeSize);
+        grid.setFloatingOrigin(true);
+        level.setTileGrid(grid);
+
+        Player player = EntityFactory.createPlayer(TILE_SIZE, TILE_SIZE + 10, PLAYER_SIZE, PLAYER_SIZE);
+        level.addEntity(player);
+        level.setStaticGeometry(StaticGeometry.fromEntities(level.getEntities()));
+        return level;
+    }
+}
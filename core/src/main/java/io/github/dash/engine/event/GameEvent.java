@@ -0,0 +1,29 @@
+package io.github.dash.engine.event;
+
+import io.github.dash.engine.model.DeathCause;
+
+/**
+ * Evenement de jeu, pris dans le pool du {@link GameEventBus} et reutilise:
+ * il n'est valide que pendant l'appel de {@link GameEventListener#onEvent}.
+ */
+public final class GameEvent {
+    public enum Type { JUMP, LAND, WALL_HIT, DEATH, CHECKPOINT, LEVEL_COMPLETE }
+
+    public Type type;
+    /** Cause de la mort pour {@link Type#DEATH}, null sinon. */
+    public DeathCause cause;
+    /** Position du joueur au moment de l'evenement. */
+    public float x, y;
+    /** Tick de simulation qui l'a produit, renseigne a la distribution. */
+    public long tick;
+
+    GameEvent() {
+    }
+
+    void set(Type type, DeathCause cause, float x, float y) {
+        this.type = type;
+        this.cause = cause;
+        this.x = x;
+        this.y = y;
+    }
+}
@@ -0,0 +1,72 @@
+package io.github.dash.engine.event;
+
+import io.github.dash.engine.model.DeathCause;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Bus d'evenements de jeu: saut, atterrissage, contact mur, mort, checkpoint, fin de niveau.
+ * Les evenements sont pris dans un pool alloue a la construction, accumules pendant le tick,
+ * puis distribues aux abonnes apres le pas de physique par {@link #dispatch(long)}:
+ * la boucle de collision ne fait qu'ecrire quelques champs.
+ * A utiliser depuis le seul thread de simulation.
+ */
+public class GameEventBus {
+    private final GameEvent[] pool;
+    private int count;
+    private long dropped;
+    private final List<GameEventListener> listeners = new ArrayList<>();
+
+    /** @param capacity evenements au plus par tick, les suivants sont perdus */
+    public GameEventBus(int capacity) {
+        pool = new GameEvent[capacity];
+        for (int i = 0; i < capacity; i++) {
+            pool[i] = new GameEvent();
+        }
+    }
+
+    public void subscribe(GameEventListener listener) {
+        listeners.add(listener);
+    }
+
+    public void unsubscribe(GameEventListener listener) {
+        listeners.remove(listener);
+    }
+
+    /** Ajoute un evenement au lot du tick courant. Retourne false si le pool est epuise. */
+    public boolean post(GameEvent.Type type, DeathCause cause, float x, float y) {
+        if (count == pool.length) {
+            dropped++;
+            return false;
+        }
+        pool[count++].set(type, cause, x, y);
+        return true;
+    }
+
+    public boolean post(GameEvent.Type type, float x, float y) {
+        return post(type, null, x, y);
+    }
+
+    /** Distribue le lot dans l'ordre de publication, a chaque abonne, puis recycle les evenements. */
+    public void dispatch(long tick) {
+        for (int i = 0; i < count; i++) {
+            GameEvent event = pool[i];
+            event.tick = tick;
+            for (int l = 0; l < listeners.size(); l++) {
+                listeners.get(l).onEvent(event);
+            }
+            event.cause = null;
+        }
+        count = 0;
+    }
+
+    /** Oublie le lot en attente sans le distribuer (nouvel essai, retour a un checkpoint). */
+    public void clear() {
+        count = 0;
+    }
+
+    public int pending() { return count; }
+    /** Evenements perdus faute de place dans le pool. */
+    public long getDropped() { return dropped; }
+}
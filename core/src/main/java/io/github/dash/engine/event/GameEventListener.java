@@ -0,0 +1,9 @@
+package io.github.dash.engine.event;
+
+/**
+ * Abonne du {@link GameEventBus}, appele sur le thread de simulation apres chaque tick.
+ */
+public interface GameEventListener {
+    /** L'evenement est recycle au retour: il ne doit pas etre conserve. */
+    void onEvent(GameEvent event);
+}
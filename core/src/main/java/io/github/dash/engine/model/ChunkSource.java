@@ -0,0 +1,19 @@
+package io.github.dash.engine.model;
+
+/**
+ * Fournit les cellules d'une grille par tranches de colonnes (chunks), pour les niveaux
+ * trop longs pour etre gardes en entier en memoire.
+ */
+public interface ChunkSource {
+    /** Largeur d'un chunk, en colonnes. */
+    int getChunkColumns();
+
+    /** Nombre de lignes de la grille. */
+    int getHeight();
+
+    /**
+     * Ecrit les drapeaux du chunk dans cells, ligne par ligne (chunkColumns x height).
+     * Peut etre appele depuis un thread de chargement; les colonnes hors du niveau restent vides.
+     */
+    void readChunk(int chunk, byte[] cells);
+}
@@ -0,0 +1,10 @@
+package io.github.dash.engine.model;
+
+/**
+ * Raison de la mort du joueur.
+ */
+public enum DeathCause {
+    SPIKE,
+    WALL,
+    FALL
+}
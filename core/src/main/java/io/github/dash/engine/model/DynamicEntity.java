@@ -5,11 +5,82 @@ package io.github.dash.engine.model;
  */
 public abstract class DynamicEntity extends Entity {
     protected float vx, vy;
+    // Position au tick precedent, pour interpoler le rendu entre deux ticks
+    protected float previousX, previousY;
+    // Position de depart, retrouvee par reset()
+    protected final float spawnX, spawnY;
 
     public DynamicEntity(float x, float y, float width, float height) {
         super(x, y, width, height);
+        this.previousX = x;
+        this.previousY = y;
+        this.spawnX = x;
+        this.spawnY = y;
     }
 
+    /** Copie l'etat complet de source, point de depart compris. */
+    protected DynamicEntity(DynamicEntity source) {
+        super(source.x, source.y, source.width, source.height);
+        this.vx = source.vx;
+        this.vy = source.vy;
+        this.previousX = source.previousX;
+        this.previousY = source.previousY;
+        this.spawnX = source.spawnX;
+        this.spawnY = source.spawnY;
+    }
+
+    /** Copie independante, pour une simulation sur un autre thread. */
+    public abstract DynamicEntity copy();
+
+    /** Nombre de floats ecrits par {@link #saveState(float[], int)}. */
+    public static final int STATE_SIZE = 6;
+
+    /** Ecrit position, position precedente et vitesse a partir de offset; retourne l'offset suivant. */
+    public int saveState(float[] out, int offset) {
+        out[offset] = x;
+        out[offset + 1] = y;
+        out[offset + 2] = previousX;
+        out[offset + 3] = previousY;
+        out[offset + 4] = vx;
+        out[offset + 5] = vy;
+        return offset + STATE_SIZE;
+    }
+
+    public int restoreState(float[] in, int offset) {
+        x = in[offset];
+        y = in[offset + 1];
+        previousX = in[offset + 2];
+        previousY = in[offset + 3];
+        vx = in[offset + 4];
+        vy = in[offset + 5];
+        return offset + STATE_SIZE;
+    }
+
+    /** Remet l'entite a son point de depart, immobile. */
+    public void reset() {
+        x = spawnX;
+        y = spawnY;
+        previousX = spawnX;
+        previousY = spawnY;
+        vx = 0;
+        vy = 0;
+    }
+
+    /** Decale l'entite en x, position precedente comprise (recalage de l'origine du monde). */
+    public void shiftX(float dx) {
+        x += dx;
+        previousX += dx;
+    }
+
+    /** Memorise la position courante avant un pas de simulation. */
+    public void savePreviousPosition() {
+        previousX = x;
+        previousY = y;
+    }
+
+    public float getInterpolatedX(float alpha) { return previousX + (x - previousX) * alpha; }
+    public float getInterpolatedY(float alpha) { return previousY + (y - previousY) * alpha; }
+
     public void updatePhysics(float delta, float gravity) {
         vy += gravity * delta;
         x += vx * delta;
@@ -21,6 +92,7 @@ public abstract class DynamicEntity extends Entity {
         this.vy = vy;
     }
 
+    public float getVx() { return vx; }
     public float getVy() { return vy; }
     public void setVy(float vy) { this.vy = vy; }
 }
@@ -18,14 +18,36 @@ public abstract class Entity {
 
     public void update(float delta) {}
 
+    /** Alloue un nouveau rectangle: a eviter dans la boucle de jeu. */
     public Rectangle getBounds() {
         return new Rectangle(x, y, width, height);
     }
 
+    /** Ecrit les bornes dans le rectangle fourni, sans allocation. */
+    public Rectangle getBounds(Rectangle out) {
+        return out.set(x, y, width, height);
+    }
+
+    /** Meme test que {@link Rectangle#overlaps(Rectangle)}, sur des valeurs primitives. */
+    public boolean overlaps(float ox, float oy, float ow, float oh) {
+        return x < ox + ow && x + width > ox && y < oy + oh && y + height > oy;
+    }
+
+    public boolean overlaps(Rectangle r) {
+        return overlaps(r.x, r.y, r.width, r.height);
+    }
+
+    /** Vrai si la verticale d'abscisse px traverse l'entite (bord droit exclu). */
+    public boolean containsX(float px) {
+        return px >= x && px < x + width;
+    }
+
     public float getX() { return x; }
     public float getY() { return y; }
     public float getWidth() { return width; }
     public float getHeight() { return height; }
+    public float getRight() { return x + width; }
+    public float getTop() { return y + height; }
     public void setX(float x) { this.x = x; }
     public void setY(float y) { this.y = y; }
 }
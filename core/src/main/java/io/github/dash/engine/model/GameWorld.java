@@ -1,69 +1,581 @@
 package io.github.dash.engine.model;
 
-import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.math.Rectangle;
+import io.github.dash.engine.event.GameEvent;
+import io.github.dash.engine.event.GameEventBus;
+import io.github.dash.engine.perf.FrameProfiler;
+import io.github.dash.engine.perf.PerfEvents;
+
+import java.util.List;
 
 /**
  * Monde du jeu: gere la physique et les collisions.
  */
 public class GameWorld {
+    public static final float SPEED_MULTIPLIER = 5.0f;
+    // Enfoncement tolere sur le coin d'un obstacle avant de compter un choc frontal
+    private static final float LANDING_TOLERANCE = 10f;
+    // Morceaux de trajectoire par tick au plus (sommet, contact, bord d'un appui...)
+    private static final int MAX_SWEEPS = 32;
+    private static final float NO_HIT = Float.POSITIVE_INFINITY;
+    // Sur une grille a origine flottante, le monde est recale quand le joueur depasse cette abscisse:
+    // l'ecart entre deux float y reste sous 1/128 px
+    public static final float ORIGIN_SHIFT_X = 65536f;
+
     private final Level currentLevel;
+    // Evenements de jeu, distribues apres le tick; null pour ne rien publier (solveur, benchmarks)
+    private final GameEventBus events;
     private boolean levelCompleted;
     private boolean playerDead;
+    private DeathCause deathCause;
+    private float lastOriginShift;
     private final float deathYThreshold = -100f;
+    // Rectangles reutilises a chaque tick: la boucle de collision n'alloue rien
+    private final Rectangle playerBounds = new Rectangle();
+    private final Rectangle obstacleBounds = new Rectangle();
+    private FrameProfiler profiler = FrameProfiler.DISABLED;
+    private PerfEvents perfEvents = PerfEvents.NONE;
+
+    // Balayage en cours: boite et trajectoire du joueur, appui sous lui et premier contact trouve
+    private float sweepX, sweepY, sweepWidth, sweepHeight, sweepVx, sweepVy, sweepAy, sweepSpan;
+    private float supportLeft, supportRight;
+    private boolean entryAlongX;
+    private float hitTime, hitX, hitY, hitWidth, hitHeight;
+    private boolean hitAlongX;
+    private float killerTime, flagTime;
 
     public GameWorld(Level level) {
+        this(level, null);
+    }
+
+    /** @param events bus alimente pendant le tick, a distribuer par le controleur, ou null */
+    public GameWorld(Level level, GameEventBus events) {
         this.currentLevel = level;
+        this.events = events;
+        if (level.getPlayer() != null) level.getPlayer().setEventBus(events);
+    }
+
+    /** Un pas de simulation complet: auto-scroll, physique et collisions. */
+    public void tick(float delta) {
+        lastOriginShift = 0;
+        Player player = currentLevel.getPlayer();
+        if (player != null) {
+            player.savePreviousPosition();
+            if (player.isAlive()) {
+                player.setVelocity(currentLevel.getScrollSpeed() * SPEED_MULTIPLIER, player.getVy());
+            }
+        }
+        update(delta);
+        if (player != null && player.getX() >= ORIGIN_SHIFT_X) shiftOrigin(player);
+    }
+
+    /**
+     * Recule le monde d'un nombre entier de chunks en gardant au moins un chunk derriere le joueur.
+     * Avec une largeur de chunk entiere, les soustractions sont exactes: la trajectoire n'est pas touchee.
+     */
+    private void shiftOrigin(Player player) {
+        TileGrid grid = currentLevel.getTileGrid();
+        if (!(grid instanceof StreamingTileGrid) || !((StreamingTileGrid) grid).isFloatingOrigin()) return;
+        StreamingTileGrid streaming = (StreamingTileGrid) grid;
+        float chunkWidth = streaming.getChunkColumns() * streaming.getTileWidth();
+        int chunks = (int) (player.getX() / chunkWidth) - 1;
+        float dx = chunks * chunkWidth;
+
+        streaming.setOriginChunk(streaming.getOriginChunk() + chunks);
+        List<DynamicEntity> dynamicEntities = currentLevel.getDynamicEntities();
+        for (int i = 0; i < dynamicEntities.size(); i++) {
+            dynamicEntities.get(i).shiftX(-dx);
+        }
+        lastOriginShift = dx;
     }
 
     public void update(float delta) {
+        // Evenement JFR: aligne les ticks sur les chronologies GC et JIT d'un enregistrement
+        perfEvents.worldUpdateBegin();
+        step(delta);
+        Player player = currentLevel.getPlayer();
+        perfEvents.worldUpdateEnd(player != null ? player.getX() : 0, player != null ? player.getY() : 0);
+    }
+
+    private void step(float delta) {
         if (playerDead || levelCompleted) return;
 
         Player player = currentLevel.getPlayer();
         if (player == null || !player.isAlive()) return;
 
-        player.updatePhysics(delta, currentLevel.getGravity());
-        handleCollisions(player);
+        move(player, delta);
+        if (!playerDead && !levelCompleted) handleCollisions(player);
 
         if (player.getY() < deathYThreshold) {
-            Gdx.app.log("GameWorld", "Chute mortelle");
-            playerDead = true;
+            die(player, DeathCause.FALL);
         }
     }
 
+    /** Passe discrete: ne corrige plus que les chevauchements presents des le debut du tick. */
     private void handleCollisions(Player player) {
-        Rectangle playerBounds = player.getBounds();
-        boolean foundGround = false;
+        player.getBounds(playerBounds);
+
+        // La grille est adressee directement: tout son cout est du test fin
+        TileGrid grid = currentLevel.getTileGrid();
+        if (grid != null) {
+            profiler.begin(FrameProfiler.Phase.NARROWPHASE);
+            handleGridCollisions(player, grid);
+            profiler.end(FrameProfiler.Phase.NARROWPHASE);
+            if (playerDead || levelCompleted) return;
+        }
+
+        SweepIndex index = currentLevel.getSweepIndex();
+        if (index != null) {
+            StaticGeometry geometry = index.getGeometry();
+            profiler.begin(FrameProfiler.Phase.BROADPHASE);
+            int count = index.query(playerBounds.x, playerBounds.x + playerBounds.width);
+            profiler.end(FrameProfiler.Phase.BROADPHASE);
+            profiler.begin(FrameProfiler.Phase.NARROWPHASE);
+            for (int i = 0; i < count; i++) {
+                collideWithStatic(player, geometry, index.get(i));
+                if (playerDead || levelCompleted) break;
+            }
+            profiler.end(FrameProfiler.Phase.NARROWPHASE);
+        } else {
+            profiler.begin(FrameProfiler.Phase.NARROWPHASE);
+            for (Entity entity : currentLevel.getEntities()) {
+                if (entity == player) continue;
+                collideWith(player, entity);
+                if (playerDead || levelCompleted) break;
+            }
+            profiler.end(FrameProfiler.Phase.NARROWPHASE);
+        }
+    }
+
+    /**
+     * Deplacement continu (swept AABB) sur la vraie trajectoire du tick: droite en x, parabole en y,
+     * coupee au sommet et a la vitesse limite comme dans {@link Player#updatePhysics}. Le joueur avance
+     * jusqu'au premier temps d'impact, qui est resolu avant de poursuivre avec le temps restant.
+     * Pose sur un solide, il ne perd que la composante verticale: il glisse a l'horizontale et ne
+     * retombe qu'a l'instant exact ou il quitte son appui. Les contacts ne dependent pas de la duree du tick.
+     */
+    private void move(Player player, float delta) {
+        float gravity = currentLevel.getGravity();
+        sweepWidth = player.getWidth();
+        sweepHeight = player.getHeight();
+
+        // Zone couverte par tout le tick: chute au plus a la vitesse limite, montee au plus a la vitesse
+        // initiale, elargie de la montee possible sur un coin
+        float startX = player.getX();
+        float endX = startX + player.getVx() * delta;
+        float minX = Math.min(startX, endX);
+        float maxX = Math.max(startX, endX) + sweepWidth;
+        float minY = player.getY() + Player.MAX_FALL_SPEED * delta;
+        float maxY = player.getY() + Math.max(player.getVy(), 0) * delta + sweepHeight + LANDING_TOLERANCE;
+
+        TileGrid grid = currentLevel.getTileGrid();
+        SweepIndex index = currentLevel.getSweepIndex();
+        int count = 0;
+        if (index != null) {
+            profiler.begin(FrameProfiler.Phase.BROADPHASE);
+            count = index.query(minX, maxX);
+            profiler.end(FrameProfiler.Phase.BROADPHASE);
+        }
+
+        profiler.begin(FrameProfiler.Phase.NARROWPHASE);
+        float remaining = delta;
+        for (int pass = 0; pass < MAX_SWEEPS && remaining > 0; pass++) {
+            boolean supported = player.isOnGround() && player.getVy() <= 0;
+            sweepX = player.getX();
+            sweepY = player.getY();
+            sweepVx = player.getVx();
+            if (supported) {
+                sweepVy = 0;
+                sweepAy = 0;
+                sweepSpan = remaining;
+            } else {
+                sweepVy = Math.max(player.getVy(), Player.MAX_FALL_SPEED);
+                sweepAy = player.phaseAcceleration(gravity);
+                sweepSpan = Math.min(remaining, player.phaseDuration(gravity));
+            }
+            supportLeft = sweepX + sweepWidth;
+            supportRight = sweepX;
+            hitTime = NO_HIT;
+            killerTime = NO_HIT;
+            flagTime = NO_HIT;
+
+            if (grid != null) sweepGrid(grid, minX, maxX, minY, maxY);
+            if (index != null) {
+                StaticGeometry geometry = index.getGeometry();
+                for (int k = 0; k < count; k++) sweepStatic(geometry, index.get(k));
+            } else {
+                List<Entity> entities = currentLevel.getEntities();
+                for (int i = 0; i < entities.size(); i++) sweepEntity(entities.get(i));
+            }
+
+            float span = sweepSpan;
+            if (supported) {
+                if (supportRight <= sweepX) {
+                    // Plus rien dessous: la chute commence maintenant
+                    player.setOnGround(false);
+                    continue;
+                }
+                // L'appui se termine quand le joueur a entierement depasse le dernier solide contigu
+                if (sweepVx > 0) span = Math.min(span, (supportRight - sweepX) / sweepVx);
+                else if (sweepVx < 0) span = Math.min(span, (supportLeft - (sweepX + sweepWidth)) / sweepVx);
+                if (hitTime > span) hitTime = NO_HIT;
+                if (killerTime >= span) killerTime = NO_HIT;
+                if (flagTime >= span) flagTime = NO_HIT;
+            }
+
+            // Un spike ou l'arrivee touche avant le solide: le tick s'arrete la
+            float triggerTime = Math.min(killerTime, flagTime);
+            if (triggerTime != NO_HIT && triggerTime <= hitTime) {
+                advance(player, supported, triggerTime, gravity);
+                if (killerTime <= flagTime) {
+                    die(player, DeathCause.SPIKE);
+                } else {
+                    complete(player);
+                }
+                break;
+            }
+            if (hitTime == NO_HIT) {
+                advance(player, supported, span, gravity);
+                remaining -= span;
+                if (supported && span < sweepSpan) player.setOnGround(false);
+                continue;
+            }
+
+            advance(player, supported, hitTime, gravity);
+            remaining -= hitTime;
+
+            if (!hitAlongX) {
+                if (sweepVy < 0 || (sweepVy == 0 && sweepAy < 0)) {
+                    player.setY(hitY + hitHeight);
+                    land(player);
+                } else {
+                    player.setY(hitY - sweepHeight);
+                    player.setVy(0);
+                }
+            } else if (sweepVx > 0) {
+                player.setX(hitX - sweepWidth);
+                if (hitY + hitHeight - player.getY() <= LANDING_TOLERANCE) {
+                    // Coin du haut effleure: le joueur passe par-dessus
+                    player.setY(hitY + hitHeight);
+                    if (player.getVy() <= 0) land(player);
+                } else if (player.getY() + sweepHeight - hitY <= LANDING_TOLERANCE) {
+                    // Coin du bas effleure: le joueur passe dessous
+                    player.setY(hitY - sweepHeight);
+                    if (player.getVy() > 0) player.setVy(0);
+                    if (events != null) events.post(GameEvent.Type.WALL_HIT, player.getX(), player.getY());
+                } else {
+                    die(player, DeathCause.WALL);
+                    break;
+                }
+            } else {
+                player.setX(hitX + hitWidth);
+                player.setVelocity(0, player.getVy());
+            }
+        }
+        profiler.end(FrameProfiler.Phase.NARROWPHASE);
+    }
+
+    /** Avance le joueur de t secondes sur la trajectoire du balayage en cours. */
+    private void advance(Player player, boolean supported, float t, float gravity) {
+        if (supported) {
+            player.setX(sweepX + sweepVx * t);
+        } else {
+            player.advance(t, gravity);
+        }
+    }
+
+    private void sweepGrid(TileGrid grid, float minX, float maxX, float minY, float maxY) {
+        int firstColumn = Math.max(0, grid.columnAt(minX));
+        int lastColumn = Math.min(grid.getWidth() - 1, grid.columnAt(maxX));
+        int firstRow = Math.max(0, grid.rowAt(minY));
+        int lastRow = Math.min(grid.getHeight() - 1, grid.rowAt(maxY));
+        float tileWidth = grid.getTileWidth();
+        float tileHeight = grid.getTileHeight();
+
+        for (int x = firstColumn; x <= lastColumn; x++) {
+            for (int y = firstRow; y <= lastRow; y++) {
+                if (grid.has(x, y, TileGrid.SOLID)) {
+                    sweepSolid(x * tileWidth, y * tileHeight, tileWidth, tileHeight);
+                }
+                if (grid.has(x, y, TileGrid.KILLER)) {
+                    float t = timeOfImpact(x * tileWidth + grid.getKillerOffsetX(), y * tileHeight + grid.getKillerOffsetY(),
+                        grid.getKillerWidth(), grid.getKillerHeight(), true);
+                    if (t < killerTime) killerTime = t;
+                }
+                if (grid.has(x, y, TileGrid.END_FLAG)) {
+                    float t = timeOfImpact(x * tileWidth, y * tileHeight, tileWidth, tileHeight, true);
+                    if (t < flagTime) flagTime = t;
+                }
+            }
+        }
+    }
+
+    private void sweepStatic(StaticGeometry geometry, int i) {
+        float x = geometry.getX(i), y = geometry.getY(i), w = geometry.getWidth(i), h = geometry.getHeight(i);
+        switch (geometry.getType(i)) {
+            case StaticGeometry.KILLER: {
+                float t = timeOfImpact(x, y, w, h, true);
+                if (t < killerTime) killerTime = t;
+                break;
+            }
+            case StaticGeometry.END_FLAG: {
+                float t = timeOfImpact(x, y, w, h, true);
+                if (t < flagTime) flagTime = t;
+                break;
+            }
+            default:
+                if (geometry.isMerged(i)) {
+                    sweepMergedSolid(x, y, w, h, geometry.getCellWidth(i), geometry.getCellHeight(i));
+                } else {
+                    sweepSolid(x, y, w, h);
+                }
+        }
+    }
+
+    private void sweepEntity(Entity entity) {
+        if (entity instanceof Obstacle) {
+            Obstacle obs = (Obstacle) entity;
+            if (obs.getType() == Obstacle.ObstacleType.KILLER) {
+                float t = timeOfImpact(obs.getX(), obs.getY(), obs.getWidth(), obs.getHeight(), true);
+                if (t < killerTime) killerTime = t;
+            } else if (obs.getType() == Obstacle.ObstacleType.SOLID) {
+                if (obs.isMerged()) {
+                    sweepMergedSolid(obs.getX(), obs.getY(), obs.getWidth(), obs.getHeight(),
+                        obs.getCellWidth(), obs.getCellHeight());
+                } else {
+                    sweepSolid(obs.getX(), obs.getY(), obs.getWidth(), obs.getHeight());
+                }
+            }
+        } else if (entity instanceof EndFlag) {
+            float t = timeOfImpact(entity.getX(), entity.getY(), entity.getWidth(), entity.getHeight(), true);
+            if (t < flagTime) flagTime = t;
+        }
+    }
+
+    private void sweepSolid(float x, float y, float w, float h) {
+        trackSupport(x, y, w, h);
+        float t = timeOfImpact(x, y, w, h, false);
+        if (t != NO_HIT) offerHit(t, x, y, w, h);
+    }
+
+    /**
+     * Un solide fusionne se balaie d'un bloc. Sur un choc lateral, la cellule heurtee est retrouvee dans
+     * la colonne d'attaque, de bas en haut comme dans la grille: la tolerance d'atterrissage voit ainsi
+     * les memes faces qu'avec une tuile par solide.
+     */
+    private void sweepMergedSolid(float x, float y, float w, float h, float cellWidth, float cellHeight) {
+        trackSupport(x, y, w, h);
+        float t = timeOfImpact(x, y, w, h, false);
+        if (t == NO_HIT || t > hitTime) return;
+        if (!entryAlongX) {
+            offerHit(t, x, y, w, h);
+            return;
+        }
+        float column = sweepVx > 0 ? x : x + w - cellWidth;
+        int rows = Math.round(h / cellHeight);
+        for (int row = 0; row < rows; row++) {
+            float cellY = y + row * cellHeight;
+            float cellTime = timeOfImpact(column, cellY, cellWidth, cellHeight, false);
+            if (cellTime != NO_HIT) offerHit(cellTime, column, cellY, cellWidth, cellHeight);
+        }
+    }
+
+    /** Appui: solide affleurant sous le joueur, etendu aux solides contigus dans le sens de la course. */
+    private void trackSupport(float x, float y, float w, float h) {
+        if (y + h != sweepY) return;
+        if (x < supportRight + sweepWidth && x + w > supportRight) supportRight = x + w;
+        if (x + w > supportLeft - sweepWidth && x < supportLeft) supportLeft = x;
+    }
+
+    /**
+     * Retient le contact s'il precede le meilleur trouve. A egalite, le contact par le dessus l'emporte
+     * (on se pose plutot que de heurter le bloc voisin), et entre deux chocs lateraux la face la plus basse,
+     * comme dans l'ordre de la grille: le resultat ne depend pas de l'ordre de parcours des solides.
+     */
+    private void offerHit(float t, float x, float y, float w, float h) {
+        if (t < hitTime || (t == hitTime && hitAlongX && (!entryAlongX || y < hitY))) {
+            hitTime = t;
+            hitAlongX = entryAlongX;
+            hitX = x;
+            hitY = y;
+            hitWidth = w;
+            hitHeight = h;
+        }
+    }
+
+    /**
+     * Instant, en secondes dans [0, sweepSpan], ou la boite du joueur entre dans le rectangle, ou NO_HIT.
+     * Un solide deja chevauche au debut est laisse a la passe discrete; un declencheur agit a t = 0.
+     * Renseigne entryAlongX: vrai si le contact se fait par une face verticale.
+     */
+    private float timeOfImpact(float x, float y, float w, float h, boolean trigger) {
+        float entryX, exitX, entryY, exitY;
+        if (sweepVx > 0) {
+            entryX = (x - (sweepX + sweepWidth)) / sweepVx;
+            exitX = (x + w - sweepX) / sweepVx;
+        } else if (sweepVx < 0) {
+            entryX = (x + w - sweepX) / sweepVx;
+            exitX = (x - (sweepX + sweepWidth)) / sweepVx;
+        } else if (sweepX < x + w && sweepX + sweepWidth > x) {
+            entryX = Float.NEGATIVE_INFINITY;
+            exitX = Float.POSITIVE_INFINITY;
+        } else {
+            return NO_HIT;
+        }
+        if (sweepVy > 0 || (sweepVy == 0 && sweepAy > 0)) {
+            entryY = timeToRise(y - (sweepY + sweepHeight));
+            exitY = timeToRise(y + h - sweepY);
+        } else if (sweepVy < 0 || sweepAy < 0) {
+            entryY = timeToRise(y + h - sweepY);
+            exitY = timeToRise(y - (sweepY + sweepHeight));
+        } else if (sweepY < y + h && sweepY + sweepHeight > y) {
+            entryY = Float.NEGATIVE_INFINITY;
+            exitY = Float.POSITIVE_INFINITY;
+        } else {
+            return NO_HIT;
+        }
+
+        float entry = Math.max(entryX, entryY);
+        float exit = Math.min(exitX, exitY);
+        // Un simple contact en fin de course compte pour un sol, pas pour un declencheur
+        if (entry >= exit || exit <= 0 || entry > sweepSpan || (trigger && entry >= sweepSpan)) return NO_HIT;
+        if (entry < 0) {
+            if (!trigger) return NO_HIT;
+            entry = 0;
+        }
+        entryAlongX = entryX > entryY;
+        return entry;
+    }
+
+    /**
+     * Instant ou le joueur s'est eleve de d (negatif pour une descente) sur le morceau de parabole en cours,
+     * monotone: -infini si ce point est deja derriere lui, NO_HIT s'il ne l'atteint jamais.
+     */
+    private float timeToRise(float d) {
+        float direction = sweepVy > 0 || (sweepVy == 0 && sweepAy > 0) ? 1 : -1;
+        if (d == 0) return 0;
+        if (d * direction < 0) return Float.NEGATIVE_INFINITY;
+        // Racine de 0.5 a t^2 + v t - d = 0 sous une forme stable, valable aussi pour a = 0
+        float discriminant = sweepVy * sweepVy + 2 * sweepAy * d;
+        if (discriminant < 0) return NO_HIT;
+        float denominator = sweepVy + direction * (float) Math.sqrt(discriminant);
+        if (denominator == 0) return NO_HIT;
+        return 2 * d / denominator;
+    }
+
+    private void collideWithStatic(Player player, StaticGeometry geometry, int i) {
+        if (!geometry.overlaps(i, playerBounds.x, playerBounds.y, playerBounds.width, playerBounds.height)) return;
+
+        switch (geometry.getType(i)) {
+            case StaticGeometry.KILLER:
+                die(player, DeathCause.SPIKE);
+                break;
+            case StaticGeometry.END_FLAG:
+                complete(player);
+                break;
+            default:
+                if (geometry.isMerged(i)) {
+                    resolveMergedSolid(player, geometry.getX(i), geometry.getY(i), geometry.getWidth(i),
+                        geometry.getHeight(i), geometry.getCellWidth(i), geometry.getCellHeight(i));
+                } else {
+                    obstacleBounds.set(geometry.getX(i), geometry.getY(i), geometry.getWidth(i), geometry.getHeight(i));
+                    resolveSolidCollision(player, obstacleBounds);
+                }
+        }
+    }
+
+    private void collideWith(Player player, Entity entity) {
+        if (!entity.overlaps(playerBounds)) return;
+
+        if (entity instanceof Obstacle) {
+            Obstacle obs = (Obstacle) entity;
+
+            if (obs.getType() == Obstacle.ObstacleType.KILLER) {
+                die(player, DeathCause.SPIKE);
+            } else if (obs.getType() == Obstacle.ObstacleType.SOLID) {
+                if (obs.isMerged()) {
+                    resolveMergedSolid(player, obs.getX(), obs.getY(), obs.getWidth(), obs.getHeight(),
+                        obs.getCellWidth(), obs.getCellHeight());
+                } else {
+                    resolveSolidCollision(player, obs.getBounds(obstacleBounds));
+                }
+            }
+        } else if (entity instanceof EndFlag) {
+            complete(player);
+        }
+    }
 
-        for (Entity entity : currentLevel.getEntities()) {
-            if (entity == player) continue;
+    /**
+     * Collisions contre la grille de tuiles: seules les cellules sous le joueur sont testees,
+     * couche par couche comme dans la liste d'entites (solides, puis spikes, puis fin).
+     */
+    private void handleGridCollisions(Player player, TileGrid grid) {
+        int minX = Math.max(0, grid.columnAt(playerBounds.x));
+        int maxX = Math.min(grid.getWidth() - 1, grid.columnAt(playerBounds.x + playerBounds.width));
+        int minY = Math.max(0, grid.rowAt(playerBounds.y));
+        int maxY = Math.min(grid.getHeight() - 1, grid.rowAt(playerBounds.y + playerBounds.height));
+        if (minX > maxX || minY > maxY) return;
 
-            Rectangle entityBounds = entity.getBounds();
-            if (!playerBounds.overlaps(entityBounds)) continue;
+        float tileWidth = grid.getTileWidth();
+        float tileHeight = grid.getTileHeight();
 
-            if (entity instanceof Obstacle) {
-                Obstacle obs = (Obstacle) entity;
+        for (int x = minX; x <= maxX; x++) {
+            for (int y = minY; y <= maxY; y++) {
+                if (!grid.has(x, y, TileGrid.SOLID)) continue;
+                obstacleBounds.set(x * tileWidth, y * tileHeight, tileWidth, tileHeight);
+                if (!playerBounds.overlaps(obstacleBounds)) continue;
+                resolveSolidCollision(player, obstacleBounds);
+            }
+        }
 
-                if (obs.getType() == Obstacle.ObstacleType.KILLER) {
-                    Gdx.app.log("GameWorld", "Touche un spike");
-                    playerDead = true;
+        for (int x = minX; x <= maxX; x++) {
+            for (int y = minY; y <= maxY; y++) {
+                if (!grid.has(x, y, TileGrid.KILLER)) continue;
+                obstacleBounds.set(x * tileWidth + grid.getKillerOffsetX(), y * tileHeight + grid.getKillerOffsetY(),
+                    grid.getKillerWidth(), grid.getKillerHeight());
+                if (playerBounds.overlaps(obstacleBounds)) {
+                    die(player, DeathCause.SPIKE);
                     return;
-                } else if (obs.getType() == Obstacle.ObstacleType.SOLID) {
-                    foundGround = resolveSolidCollision(player, playerBounds, obs, entityBounds) || foundGround;
                 }
-            } else if (entity instanceof EndFlag) {
-                Gdx.app.log("GameWorld", "Niveau termine!");
-                levelCompleted = true;
-                return;
             }
         }
 
-        if (!foundGround && player.getVy() < 0) {
-            player.setOnGround(false);
+        for (int x = minX; x <= maxX; x++) {
+            for (int y = minY; y <= maxY; y++) {
+                if (!grid.has(x, y, TileGrid.END_FLAG)) continue;
+                obstacleBounds.set(x * tileWidth, y * tileHeight, tileWidth, tileHeight);
+                if (playerBounds.overlaps(obstacleBounds)) {
+                    complete(player);
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     * Un solide fusionne est resolu tuile par tuile sur les cellules qu'il couvre sous le joueur,
+     * pour que la logique mur/sol reste identique a celle d'une entite par tuile.
+     */
+    private void resolveMergedSolid(Player player, float ox, float oy, float ow, float oh,
+                                    float cellWidth, float cellHeight) {
+        int columns = Math.round(ow / cellWidth);
+        int rows = Math.round(oh / cellHeight);
+
+        int minX = Math.max(0, (int) Math.floor((playerBounds.x - ox) / cellWidth));
+        int maxX = Math.min(columns - 1, (int) Math.floor((playerBounds.x + playerBounds.width - ox) / cellWidth));
+        int minY = Math.max(0, (int) Math.floor((playerBounds.y - oy) / cellHeight));
+        int maxY = Math.min(rows - 1, (int) Math.floor((playerBounds.y + playerBounds.height - oy) / cellHeight));
+
+        for (int x = minX; x <= maxX; x++) {
+            for (int y = minY; y <= maxY; y++) {
+                obstacleBounds.set(ox + x * cellWidth, oy + y * cellHeight, cellWidth, cellHeight);
+                if (!playerBounds.overlaps(obstacleBounds)) continue;
+                resolveSolidCollision(player, obstacleBounds);
+            }
         }
     }
 
-    private boolean resolveSolidCollision(Player player, Rectangle playerBounds, Obstacle obs, Rectangle obsBounds) {
+    private void resolveSolidCollision(Player player, Rectangle obsBounds) {
         float overlapLeft = (playerBounds.x + playerBounds.width) - obsBounds.x;
         float overlapRight = (obsBounds.x + obsBounds.width) - playerBounds.x;
         float overlapTop = (playerBounds.y + playerBounds.height) - obsBounds.y;
@@ -71,32 +583,131 @@ public class GameWorld {
 
         float minOverlapX = Math.min(overlapLeft, overlapRight);
         float minOverlapY = Math.min(overlapTop, overlapBottom);
-        float landingTolerance = 10f;
 
         if (minOverlapY < minOverlapX) {
             if (overlapBottom < overlapTop && player.getVy() < 0) {
                 player.setY(obsBounds.y + obsBounds.height);
-                player.setOnGround(true);
-                return true;
+                land(player);
             } else if (overlapTop < overlapBottom && player.getVy() > 0) {
                 player.setY(obsBounds.y - playerBounds.height);
                 player.setVy(0);
             }
         } else {
             if (overlapLeft < overlapRight) {
-                if (minOverlapX > landingTolerance) {
-                    Gdx.app.log("GameWorld", "Collision mur");
-                    playerDead = true;
+                if (minOverlapX > LANDING_TOLERANCE) {
+                    die(player, DeathCause.WALL);
+                } else if (events != null) {
+                    events.post(GameEvent.Type.WALL_HIT, player.getX(), player.getY());
                 }
             } else {
                 player.setX(obsBounds.x + obsBounds.width);
             }
         }
+    }
+
+    private void land(Player player) {
+        if (!player.isOnGround() && events != null) {
+            events.post(GameEvent.Type.LAND, player.getX(), player.getY());
+        }
+        player.setOnGround(true);
+    }
+
+    private void die(Player player, DeathCause cause) {
+        playerDead = true;
+        deathCause = cause;
+        if (events != null) events.post(GameEvent.Type.DEATH, cause, player.getX(), player.getY());
+    }
 
-        return false;
+    private void complete(Player player) {
+        levelCompleted = true;
+        if (events != null) events.post(GameEvent.Type.LEVEL_COMPLETE, player.getX(), player.getY());
+    }
+
+    /** Nouvel essai sur le meme niveau: rien n'est recharge ni alloue. */
+    public void reset() {
+        levelCompleted = false;
+        playerDead = false;
+        deathCause = null;
+        lastOriginShift = 0;
+        if (events != null) events.clear();
+        currentLevel.reset();
+        TileGrid grid = currentLevel.getTileGrid();
+        if (grid instanceof StreamingTileGrid) ((StreamingTileGrid) grid).setOriginChunk(0);
+    }
+
+    /**
+     * Somme de controle de l'etat mutable (positions, vitesses, drapeaux), au bit pres.
+     * Deux simulations deterministes identiques donnent la meme suite de valeurs.
+     */
+    public int stateChecksum() {
+        int hash = (levelCompleted ? 1 : 0) | (playerDead ? 2 : 0);
+        List<DynamicEntity> dynamicEntities = currentLevel.getDynamicEntities();
+        for (int i = 0; i < dynamicEntities.size(); i++) {
+            DynamicEntity entity = dynamicEntities.get(i);
+            hash = 31 * hash + Float.floatToRawIntBits(entity.getX());
+            hash = 31 * hash + Float.floatToRawIntBits(entity.getY());
+            hash = 31 * hash + Float.floatToRawIntBits(entity.vx);
+            hash = 31 * hash + Float.floatToRawIntBits(entity.vy);
+            if (entity instanceof Player) {
+                Player player = (Player) entity;
+                hash = 31 * hash + (player.isOnGround() ? 1 : 0) + (player.isAlive() ? 2 : 0);
+            }
+        }
+        return hash;
+    }
+
+    /** Copie l'etat mutable de la partie dans out, sans allocation. */
+    public void saveState(WorldState out) {
+        Player player = currentLevel.getPlayer();
+        if (player != null) player.saveState(out);
+        out.levelCompleted = levelCompleted;
+        out.playerDead = playerDead;
+        out.deathCause = deathCause;
+        TileGrid grid = currentLevel.getTileGrid();
+        out.originChunk = grid instanceof StreamingTileGrid ? ((StreamingTileGrid) grid).getOriginChunk() : 0;
+
+        List<DynamicEntity> dynamicEntities = currentLevel.getDynamicEntities();
+        int count = player != null ? dynamicEntities.size() - 1 : dynamicEntities.size();
+        out.ensureEntityCapacity(count);
+        int offset = 0;
+        for (int i = 0; i < dynamicEntities.size(); i++) {
+            DynamicEntity entity = dynamicEntities.get(i);
+            if (entity != player) offset = entity.saveState(out.entities, offset);
+        }
+        out.entityCount = count;
+    }
+
+    /**
+     * Revient a un etat sauvegarde. L'index de balayage se recale de lui-meme
+     * a la requete suivante si le joueur repart en arriere.
+     */
+    public void restoreState(WorldState state) {
+        Player player = currentLevel.getPlayer();
+        if (player != null) player.restoreState(state);
+        levelCompleted = state.levelCompleted;
+        playerDead = state.playerDead;
+        deathCause = state.deathCause;
+        TileGrid grid = currentLevel.getTileGrid();
+        if (grid instanceof StreamingTileGrid) ((StreamingTileGrid) grid).setOriginChunk(state.originChunk);
+
+        List<DynamicEntity> dynamicEntities = currentLevel.getDynamicEntities();
+        int offset = 0;
+        for (int i = 0; i < dynamicEntities.size() && offset < state.entityCount * DynamicEntity.STATE_SIZE; i++) {
+            DynamicEntity entity = dynamicEntities.get(i);
+            if (entity != player) offset = entity.restoreState(state.entities, offset);
+        }
     }
 
     public boolean isLevelCompleted() { return levelCompleted; }
     public boolean isPlayerDead() { return playerDead; }
+    /** Cause de la mort, ou null tant que le joueur est en vie. */
+    public DeathCause getDeathCause() { return deathCause; }
     public Level getCurrentLevel() { return currentLevel; }
+    /** Recul en x applique au monde par le dernier tick, 0 sans recalage: la camera doit suivre. */
+    public float getLastOriginShift() { return lastOriginShift; }
+    public GameEventBus getEventBus() { return events; }
+
+    /** Mesure le balayage et les tests fins de collision (overlay de performance). */
+    public void setProfiler(FrameProfiler profiler) { this.profiler = profiler; }
+    public void setPerfEvents(PerfEvents perfEvents) { this.perfEvents = perfEvents; }
 }
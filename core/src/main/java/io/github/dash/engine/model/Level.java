@@ -8,27 +8,91 @@ import java.util.List;
  */
 public class Level {
     private final List<Entity> entities;
+    private final List<DynamicEntity> dynamicEntities;
     private Player player;
+    private TileGrid tileGrid;
+    private StaticGeometry staticGeometry;
+    private SweepIndex sweepIndex;
     private float scrollSpeed;
     private float gravity;
     private String levelName;
 
     public Level() {
         this.entities = new ArrayList<>();
+        this.dynamicEntities = new ArrayList<>();
+    }
+
+    /**
+     * Copie independante pour une simulation en parallele: grille complete et geometrie statique
+     * (immuables) sont partagees, les entites dynamiques et l'index de balayage sont dupliques.
+     * Une grille en streaming est une fenetre modifiee au fil du chargement: la copie recoit sa propre
+     * fenetre, vide, a alimenter par son propre ChunkStreamer.
+     */
+    public Level copy() {
+        Level copy = new Level();
+        copy.scrollSpeed = scrollSpeed;
+        copy.gravity = gravity;
+        copy.levelName = levelName;
+        copy.tileGrid = tileGrid instanceof StreamingTileGrid ? ((StreamingTileGrid) tileGrid).copyWindow() : tileGrid;
+        for (Entity entity : entities) {
+            if (entity instanceof DynamicEntity) {
+                DynamicEntity copied = ((DynamicEntity) entity).copy();
+                copy.entities.add(copied);
+                copy.dynamicEntities.add(copied);
+                if (entity == player) copy.player = (Player) copied;
+            } else {
+                copy.entities.add(entity);
+            }
+        }
+        copy.setStaticGeometry(staticGeometry);
+        return copy;
     }
 
     public void addEntity(Entity entity) {
         entities.add(entity);
+        if (entity instanceof DynamicEntity) {
+            dynamicEntities.add((DynamicEntity) entity);
+        }
         if (entity instanceof Player) {
             this.player = (Player) entity;
+        } else if (!(entity instanceof DynamicEntity)) {
+            setStaticGeometry(null);
+        }
+    }
+
+    /**
+     * Remet le niveau dans son etat initial: entites dynamiques a leur point de depart
+     * et index de balayage au debut. La geometrie statique n'est pas touchee.
+     */
+    public void reset() {
+        for (int i = 0; i < dynamicEntities.size(); i++) {
+            dynamicEntities.get(i).reset();
         }
+        if (sweepIndex != null) sweepIndex.rewind();
+    }
+
+    public StaticGeometry getStaticGeometry() { return staticGeometry; }
+
+    /**
+     * Fige la geometrie statique (tableaux paralleles) et son index trie. Appele par le chargeur
+     * une fois le niveau construit; tout ajout ulterieur d'entite statique les invalide.
+     */
+    public void setStaticGeometry(StaticGeometry staticGeometry) {
+        this.staticGeometry = staticGeometry;
+        this.sweepIndex = staticGeometry != null ? new SweepIndex(staticGeometry) : null;
     }
 
+    public SweepIndex getSweepIndex() { return sweepIndex; }
+
     public List<Entity> getEntities() { return entities; }
+    public List<DynamicEntity> getDynamicEntities() { return dynamicEntities; }
     public Player getPlayer() { return player; }
 
     public void setPlayer(Player player) { this.player = player; }
 
+    public TileGrid getTileGrid() { return tileGrid; }
+    public void setTileGrid(TileGrid tileGrid) { this.tileGrid = tileGrid; }
+
     public float getScrollSpeed() { return scrollSpeed; }
     public void setScrollSpeed(float scrollSpeed) { this.scrollSpeed = scrollSpeed; }
 
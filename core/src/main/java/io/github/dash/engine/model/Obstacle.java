@@ -8,10 +8,23 @@ public class Obstacle extends Entity {
 
     private final ObstacleType type;
 
+    // Pas de la grille d'origine pour un solide issu de tuiles fusionnees (0 sinon)
+    private final float cellWidth, cellHeight;
+
     public Obstacle(float x, float y, float width, float height, ObstacleType type) {
+        this(x, y, width, height, type, 0, 0);
+    }
+
+    public Obstacle(float x, float y, float width, float height, ObstacleType type, float cellWidth, float cellHeight) {
         super(x, y, width, height);
         this.type = type;
+        this.cellWidth = cellWidth;
+        this.cellHeight = cellHeight;
     }
 
     public ObstacleType getType() { return type; }
+
+    public boolean isMerged() { return cellWidth > 0 && cellHeight > 0; }
+    public float getCellWidth() { return cellWidth; }
+    public float getCellHeight() { return cellHeight; }
 }
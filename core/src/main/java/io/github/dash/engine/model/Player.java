@@ -1,5 +1,8 @@
 package io.github.dash.engine.model;
 
+import io.github.dash.engine.event.GameEvent;
+import io.github.dash.engine.event.GameEventBus;
+
 /**
  * Joueur avec physique style Geometry Dash.
  */
@@ -10,45 +13,94 @@ public class Player extends DynamicEntity {
     // Physique du saut
     private static final float RISE_GRAVITY_MULTIPLIER = 2f;
     private static final float FALL_GRAVITY_MULTIPLIER = 2.8f;
-    private static final float MAX_FALL_SPEED = -2800f;
+    public static final float MAX_FALL_SPEED = -2800f;
+    public static final float JUMP_FORCE = 2500f;
 
-    private Runnable onJumpCallback;
+    private GameEventBus events;
 
     public Player(float x, float y, float width, float height) {
         super(x, y, width, height);
     }
 
-    public void setOnJumpCallback(Runnable callback) {
-        this.onJumpCallback = callback;
+    /** Copie sans bus d'evenements: celui-ci appartient au monde de l'original. */
+    private Player(Player source) {
+        super(source);
+        this.alive = source.alive;
+        this.onGround = source.onGround;
+    }
+
+    @Override
+    public Player copy() {
+        return new Player(this);
+    }
+
+    /** Bus qui recoit les sauts, ou null. */
+    public void setEventBus(GameEventBus events) {
+        this.events = events;
     }
 
-    public void jump(float jumpForce) {
-        if (onGround && alive) {
-            vy = jumpForce;
-            onGround = false;
-            if (onJumpCallback != null) {
-                onJumpCallback.run();
-            }
+    /** Saute si le joueur est vivant et au sol; retourne vrai si le saut a eu lieu. */
+    public boolean jump(float jumpForce) {
+        if (!onGround || !alive) return false;
+        vy = jumpForce;
+        onGround = false;
+        if (events != null) {
+            events.post(GameEvent.Type.JUMP, x, y);
         }
+        return true;
     }
 
+    /**
+     * L'acceleration est constante par morceaux (montee, descente, vitesse limite): chaque morceau est
+     * integre exactement et le tick est coupe au sommet ou a la vitesse limite. La trajectoire ne depend
+     * donc pas de la duree du tick.
+     */
     @Override
     public void updatePhysics(float delta, float gravity) {
-        float effectiveGravity = gravity;
-        if (vy > 0) {
-            effectiveGravity *= RISE_GRAVITY_MULTIPLIER;
-        } else if (vy < 0) {
-            effectiveGravity *= FALL_GRAVITY_MULTIPLIER;
+        float remaining = delta;
+        for (int phase = 0; phase < 3 && remaining > 0; phase++) {
+            float span = Math.min(remaining, phaseDuration(gravity));
+            advance(span, gravity);
+            remaining -= span;
         }
+    }
+
+    /** Acceleration verticale du morceau de trajectoire en cours: montee, descente ou vitesse limite. */
+    public float phaseAcceleration(float gravity) {
+        if (vy > 0) return gravity * RISE_GRAVITY_MULTIPLIER;
+        if (vy > MAX_FALL_SPEED) return gravity * FALL_GRAVITY_MULTIPLIER;
+        return 0;
+    }
 
-        vy += effectiveGravity * delta;
+    /** Duree du morceau en cours, jusqu'au sommet ou a la vitesse limite; infinie si la vitesse ne change plus. */
+    public float phaseDuration(float gravity) {
+        float acceleration = phaseAcceleration(gravity);
+        if (acceleration >= 0) return Float.POSITIVE_INFINITY;
+        return vy > 0 ? vy / -acceleration : (vy - MAX_FALL_SPEED) / -acceleration;
+    }
 
-        if (vy < MAX_FALL_SPEED) {
-            vy = MAX_FALL_SPEED;
+    /**
+     * Avance de span secondes dans le morceau en cours, span ne depassant pas {@link #phaseDuration}.
+     * Un morceau mene a son terme laisse la vitesse exactement sur sa limite.
+     */
+    public void advance(float span, float gravity) {
+        if (vy < MAX_FALL_SPEED) vy = MAX_FALL_SPEED;
+        float acceleration = phaseAcceleration(gravity);
+        float duration = phaseDuration(gravity);
+        x += vx * span;
+        y += vy * span + 0.5f * acceleration * span * span;
+        if (span < duration) {
+            vy += acceleration * span;
+        } else if (acceleration < 0) {
+            vy = vy > 0 ? 0 : MAX_FALL_SPEED;
         }
+    }
 
-        x += vx * delta;
-        y += vy * delta;
+    @Override
+    public void reset() {
+        super.reset();
+        alive = true;
+        onGround = false;
     }
 
     public void kill() {
@@ -65,4 +117,26 @@ public class Player extends DynamicEntity {
     }
 
     public boolean isOnGround() { return onGround; }
+
+    public void saveState(WorldState out) {
+        out.x = x;
+        out.y = y;
+        out.vx = vx;
+        out.vy = vy;
+        out.previousX = previousX;
+        out.previousY = previousY;
+        out.alive = alive;
+        out.onGround = onGround;
+    }
+
+    public void restoreState(WorldState state) {
+        x = state.x;
+        y = state.y;
+        vx = state.vx;
+        vy = state.vy;
+        previousX = state.previousX;
+        previousY = state.previousY;
+        alive = state.alive;
+        onGround = state.onGround;
+    }
 }
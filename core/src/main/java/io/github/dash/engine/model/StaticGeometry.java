@@ -0,0 +1,121 @@
+package io.github.dash.engine.model;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Geometrie statique du niveau en tableaux paralleles (structure of arrays).
+ * Immuable et triee par x, elle est parcourue directement par la boucle de collision
+ * sans passer par les objets Obstacle.
+ */
+public final class StaticGeometry {
+    public static final byte SOLID = 0;
+    public static final byte KILLER = 1;
+    public static final byte END_FLAG = 2;
+
+    private final float[] x;
+    private final float[] y;
+    private final float[] width;
+    private final float[] height;
+    private final float[] right;
+    private final float[] top;
+    private final byte[] type;
+    // Pas de la grille d'origine des solides fusionnes (0 sinon)
+    private final float[] cellWidth;
+    private final float[] cellHeight;
+
+    private StaticGeometry(int size) {
+        this.x = new float[size];
+        this.y = new float[size];
+        this.width = new float[size];
+        this.height = new float[size];
+        this.right = new float[size];
+        this.top = new float[size];
+        this.type = new byte[size];
+        this.cellWidth = new float[size];
+        this.cellHeight = new float[size];
+    }
+
+    /** Construit la geometrie a partir des obstacles et drapeaux de la liste, triee par x. */
+    public static StaticGeometry fromEntities(List<Entity> entities) {
+        List<Entity> statics = new ArrayList<>();
+        for (Entity entity : entities) {
+            if (entity instanceof Obstacle || entity instanceof EndFlag) statics.add(entity);
+        }
+        Entity[] sorted = statics.toArray(new Entity[0]);
+        Arrays.sort(sorted, (a, b) -> Float.compare(a.getX(), b.getX()));
+
+        StaticGeometry geometry = new StaticGeometry(sorted.length);
+        for (int i = 0; i < sorted.length; i++) {
+            Entity entity = sorted[i];
+            geometry.x[i] = entity.getX();
+            geometry.y[i] = entity.getY();
+            geometry.width[i] = entity.getWidth();
+            geometry.height[i] = entity.getHeight();
+            geometry.right[i] = entity.getRight();
+            geometry.top[i] = entity.getTop();
+
+            if (entity instanceof Obstacle) {
+                Obstacle obs = (Obstacle) entity;
+                geometry.type[i] = obs.getType() == Obstacle.ObstacleType.KILLER ? KILLER : SOLID;
+                geometry.cellWidth[i] = obs.getCellWidth();
+                geometry.cellHeight[i] = obs.getCellHeight();
+            } else {
+                geometry.type[i] = END_FLAG;
+            }
+        }
+        return geometry;
+    }
+
+    /**
+     * Construit la geometrie a partir de tableaux deja tries par x (cache binaire de niveau).
+     * Les tableaux sont conserves tels quels, sans copie.
+     */
+    public static StaticGeometry of(float[] x, float[] y, float[] width, float[] height, byte[] type,
+                                    float[] cellWidth, float[] cellHeight) {
+        return new StaticGeometry(x, y, width, height, type, cellWidth, cellHeight);
+    }
+
+    private StaticGeometry(float[] x, float[] y, float[] width, float[] height, byte[] type,
+                           float[] cellWidth, float[] cellHeight) {
+        this.x = x;
+        this.y = y;
+        this.width = width;
+        this.height = height;
+        this.type = type;
+        this.cellWidth = cellWidth;
+        this.cellHeight = cellHeight;
+        this.right = new float[x.length];
+        this.top = new float[x.length];
+        for (int i = 0; i < x.length; i++) {
+            right[i] = x[i] + width[i];
+            top[i] = y[i] + height[i];
+        }
+    }
+
+    /** Abscisse du premier element du type donne, ou -1. */
+    public float findFirstX(byte elementType) {
+        for (int i = 0; i < type.length; i++) {
+            if (type[i] == elementType) return x[i];
+        }
+        return -1;
+    }
+
+    public boolean overlaps(int i, float ox, float oy, float ow, float oh) {
+        return y[i] < oy + oh && top[i] > oy && x[i] < ox + ow && right[i] > ox;
+    }
+
+    public boolean isMerged(int i) { return cellWidth[i] > 0 && cellHeight[i] > 0; }
+
+    public int size() { return x.length; }
+    public float getX(int i) { return x[i]; }
+    public float getY(int i) { return y[i]; }
+    public float getWidth(int i) { return width[i]; }
+    public float getHeight(int i) { return height[i]; }
+    public float getRight(int i) { return right[i]; }
+    public float getTop(int i) { return top[i]; }
+    public byte getType(int i) { return type[i]; }
+    public float getCellWidth(int i) { return cellWidth[i]; }
+    public float getCellHeight(int i) { return cellHeight[i]; }
+}
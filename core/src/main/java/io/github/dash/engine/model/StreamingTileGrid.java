@@ -0,0 +1,131 @@
+package io.github.dash.engine.model;
+
+import java.util.Arrays;
+
+/**
+ * Grille d'un niveau tres long dont seule une fenetre de chunks est en memoire.
+ * Chaque chunk occupe l'emplacement chunk % windowChunks: charger un chunk devant
+ * le joueur remplace celui qui est sorti de la fenetre derriere lui.
+ * Une cellule d'un chunk non charge se lit comme vide.
+ *
+ * Avec une origine flottante, les colonnes du monde commencent originChunk chunks apres la premiere
+ * colonne du niveau: le monde est recale par chunks entiers pour que les positions restent petites.
+ * Les indices de chunk (source, emplacements, chargement) restent absolus.
+ */
+public class StreamingTileGrid extends TileGrid {
+
+    /** Prevenu sur le thread qui installe le chunk (rendu de la carte). */
+    public interface Listener {
+        void onChunkInstalled(int chunk, int slot);
+    }
+
+    private final ChunkSource source;
+    private final int chunkColumns;
+    private final int windowChunks;
+    private final int chunkSize;
+    private final int[] slotChunks;
+    private Listener listener;
+
+    private boolean floatingOrigin;
+    private int originChunk;
+    private int originColumn;
+
+    public StreamingTileGrid(int width, float tileWidth, float tileHeight, ChunkSource source, int windowChunks) {
+        super(width, source.getHeight(), tileWidth, tileHeight,
+            windowChunks * source.getChunkColumns() * source.getHeight());
+        this.source = source;
+        this.chunkColumns = source.getChunkColumns();
+        this.windowChunks = windowChunks;
+        this.chunkSize = chunkColumns * source.getHeight();
+        this.slotChunks = new int[windowChunks];
+        Arrays.fill(slotChunks, -1);
+    }
+
+    /**
+     * Nouvelle fenetre, vide, sur la meme source: pour une simulation sur un autre thread, qui l'alimente
+     * avec son propre {@link io.github.dash.engine.controller.ChunkStreamer}.
+     */
+    public StreamingTileGrid copyWindow() {
+        StreamingTileGrid copy = new StreamingTileGrid(getWidth(), getTileWidth(), getTileHeight(), source, windowChunks);
+        copy.setKillerHitbox(getKillerOffsetX(), getKillerOffsetY(), getKillerWidth(), getKillerHeight());
+        copy.floatingOrigin = floatingOrigin;
+        copy.setOriginChunk(originChunk);
+        return copy;
+    }
+
+    /** Emplacements necessaires pour couvrir windowWidth unites du monde, plus une marge d'un chunk de chaque cote. */
+    public static int windowChunksFor(float windowWidth, int chunkColumns, float tileWidth) {
+        return (int) Math.ceil(windowWidth / (chunkColumns * tileWidth)) + 2;
+    }
+
+    @Override
+    public byte get(int x, int y) {
+        x += originColumn;
+        if (x < 0 || y < 0 || x >= getWidth() || y >= getHeight()) return EMPTY;
+        int chunk = x / chunkColumns;
+        int slot = chunk % windowChunks;
+        if (slotChunks[slot] != chunk) return EMPTY;
+        return cells[slot * chunkSize + y * chunkColumns + (x - chunk * chunkColumns)];
+    }
+
+    @Override
+    public void mark(int x, int y, byte flag) {
+        x += originColumn;
+        if (x < 0 || y < 0 || x >= getWidth() || y >= getHeight()) return;
+        int chunk = x / chunkColumns;
+        int slot = chunk % windowChunks;
+        if (slotChunks[slot] != chunk) return;
+        cells[slot * chunkSize + y * chunkColumns + (x - chunk * chunkColumns)] |= flag;
+    }
+
+    /** Copie les cellules lues par {@link ChunkSource#readChunk} a la place du chunk qui occupait l'emplacement. */
+    public void install(int chunk, byte[] chunkCells) {
+        int slot = chunk % windowChunks;
+        System.arraycopy(chunkCells, 0, cells, slot * chunkSize, chunkSize);
+        slotChunks[slot] = chunk;
+        if (listener != null) listener.onChunkInstalled(chunk, slot);
+    }
+
+    public boolean isLoaded(int chunk) {
+        return chunk >= 0 && slotChunks[chunk % windowChunks] == chunk;
+    }
+
+    /** Chunk installe dans l'emplacement, ou -1. */
+    public int getSlotChunk(int slot) {
+        return slotChunks[slot];
+    }
+
+    /** Chunk absolu sous une colonne du monde. */
+    public int chunkAtColumn(int column) {
+        return Math.floorDiv(column + originColumn, chunkColumns);
+    }
+
+    /** Nombre de chunks du niveau. */
+    public int getChunkCount() {
+        return getWidth() / chunkColumns + (getWidth() % chunkColumns != 0 ? 1 : 0);
+    }
+
+    /**
+     * Autorise {@link GameWorld} a recaler le monde: seulement pour un niveau dont tout le decor est dans
+     * la grille (ni geometrie statique, ni carte Tiled, dont les positions resteraient absolues).
+     */
+    public void setFloatingOrigin(boolean floatingOrigin) { this.floatingOrigin = floatingOrigin; }
+    public boolean isFloatingOrigin() { return floatingOrigin; }
+
+    /** Premier chunk du niveau a la colonne 0 du monde. */
+    public void setOriginChunk(int originChunk) {
+        this.originChunk = originChunk;
+        this.originColumn = originChunk * chunkColumns;
+    }
+
+    public int getOriginChunk() { return originChunk; }
+    /** Colonne du niveau a la colonne 0 du monde. */
+    public int getOriginColumn() { return originColumn; }
+
+    public ChunkSource getSource() { return source; }
+    public int getChunkColumns() { return chunkColumns; }
+    public int getChunkSize() { return chunkSize; }
+    public int getWindowChunks() { return windowChunks; }
+
+    public void setListener(Listener listener) { this.listener = listener; }
+}
@@ -0,0 +1,62 @@
+package io.github.dash.engine.model;
+
+/**
+ * Index de la geometrie statique triee par x (sweep and prune).
+ * Le joueur avance toujours vers la droite: un curseur fait entrer les elements
+ * dans une liste active et ceux depasses en sortent, pour un cout amorti O(1).
+ */
+public class SweepIndex {
+    private final StaticGeometry geometry;
+
+    private final int[] active;
+    private int activeCount;
+    private int cursor;
+    private float lastQueryMinX = Float.NEGATIVE_INFINITY;
+
+    public SweepIndex(StaticGeometry geometry) {
+        this.geometry = geometry;
+        this.active = new int[geometry.size()];
+    }
+
+    /**
+     * Selectionne les elements dont l'intervalle x chevauche [queryMinX, queryMaxX].
+     * Retourne leur nombre; leurs indices dans la geometrie sont lus avec {@link #get(int)}.
+     */
+    public int query(float queryMinX, float queryMaxX) {
+        if (queryMinX < lastQueryMinX) rewind();
+        lastQueryMinX = queryMinX;
+
+        // Retire les elements entierement a gauche de la fenetre
+        int kept = 0;
+        for (int i = 0; i < activeCount; i++) {
+            if (geometry.getRight(active[i]) >= queryMinX) {
+                active[kept++] = active[i];
+            }
+        }
+        activeCount = kept;
+
+        // Fait entrer ceux qui commencent avant le bord droit
+        int size = geometry.size();
+        while (cursor < size && geometry.getX(cursor) <= queryMaxX) {
+            if (geometry.getRight(cursor) >= queryMinX) {
+                active[activeCount++] = cursor;
+            }
+            cursor++;
+        }
+
+        return activeCount;
+    }
+
+    public int get(int index) {
+        return active[index];
+    }
+
+    /** Remet le curseur au debut du niveau (redemarrage). */
+    public void rewind() {
+        activeCount = 0;
+        cursor = 0;
+        lastQueryMinX = Float.NEGATIVE_INFINITY;
+    }
+
+    public StaticGeometry getGeometry() { return geometry; }
+}
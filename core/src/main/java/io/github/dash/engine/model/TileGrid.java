@@ -0,0 +1,123 @@
+package io.github.dash.engine.model;
+
+/**
+ * Grille d'occupation compacte des couches de tuiles.
+ * Chaque cellule est un octet de drapeaux (un bit par type de couche),
+ * ce qui permet de ne tester que les cellules sous le joueur.
+ */
+public class TileGrid {
+    public static final byte EMPTY = 0;
+    public static final byte SOLID = 1;
+    public static final byte KILLER = 1 << 1;
+    public static final byte END_FLAG = 1 << 2;
+
+    private final int width;
+    private final int height;
+    private final float tileWidth;
+    private final float tileHeight;
+    protected final byte[] cells;
+
+    // Hitbox d'un spike relative au coin bas-gauche de sa cellule
+    private float killerOffsetX, killerOffsetY;
+    private float killerWidth, killerHeight;
+
+    public TileGrid(int width, int height, float tileWidth, float tileHeight) {
+        this.width = width;
+        this.height = height;
+        this.tileWidth = tileWidth;
+        this.tileHeight = tileHeight;
+        this.cells = new byte[width * height];
+        this.killerWidth = tileWidth;
+        this.killerHeight = tileHeight;
+    }
+
+    /** Grille reprenant des cellules deja calculees (cache binaire de niveau), sans copie. */
+    public TileGrid(int width, int height, float tileWidth, float tileHeight, byte[] cells) {
+        if (cells.length != width * height) throw new IllegalArgumentException("Taille de grille invalide");
+        this.width = width;
+        this.height = height;
+        this.tileWidth = tileWidth;
+        this.tileHeight = tileHeight;
+        this.cells = cells;
+        this.killerWidth = tileWidth;
+        this.killerHeight = tileHeight;
+    }
+
+    /** Pour les grilles qui ne gardent qu'une partie des cellules (voir {@link StreamingTileGrid}). */
+    protected TileGrid(int width, int height, float tileWidth, float tileHeight, int storageSize) {
+        this.width = width;
+        this.height = height;
+        this.tileWidth = tileWidth;
+        this.tileHeight = tileHeight;
+        this.cells = new byte[storageSize];
+        this.killerWidth = tileWidth;
+        this.killerHeight = tileHeight;
+    }
+
+    public void mark(int x, int y, byte flag) {
+        if (x < 0 || y < 0 || x >= width || y >= height) return;
+        cells[y * width + x] |= flag;
+    }
+
+    public byte get(int x, int y) {
+        if (x < 0 || y < 0 || x >= width || y >= height) return EMPTY;
+        return cells[y * width + x];
+    }
+
+    public boolean has(int x, int y, byte flag) {
+        return (get(x, y) & flag) != 0;
+    }
+
+    public void setKillerHitbox(float offsetX, float offsetY, float w, float h) {
+        this.killerOffsetX = offsetX;
+        this.killerOffsetY = offsetY;
+        this.killerWidth = w;
+        this.killerHeight = h;
+    }
+
+    /** Colonne contenant la coordonnee x du monde (non bornee). */
+    public int columnAt(float worldX) {
+        return (int) Math.floor(worldX / tileWidth);
+    }
+
+    /** Ligne contenant la coordonnee y du monde (non bornee). */
+    public int rowAt(float worldY) {
+        return (int) Math.floor(worldY / tileHeight);
+    }
+
+    /** Plus haute surface solide de la colonne sous x, ou 0 si aucune. */
+    public float findGroundHeight(float worldX) {
+        int column = columnAt(worldX);
+        for (int y = height - 1; y >= 0; y--) {
+            if (has(column, y, SOLID)) return (y + 1) * tileHeight;
+        }
+        return 0;
+    }
+
+    /** Abscisse de la premiere colonne contenant le drapeau, ou -1. */
+    public float findFirstX(byte flag) {
+        for (int x = 0; x < width; x++) {
+            for (int y = 0; y < height; y++) {
+                if (has(x, y, flag)) return x * tileWidth;
+            }
+        }
+        return -1;
+    }
+
+    public int count(byte flag) {
+        int count = 0;
+        for (byte cell : cells) {
+            if ((cell & flag) != 0) count++;
+        }
+        return count;
+    }
+
+    public int getWidth() { return width; }
+    public int getHeight() { return height; }
+    public float getTileWidth() { return tileWidth; }
+    public float getTileHeight() { return tileHeight; }
+    public float getKillerOffsetX() { return killerOffsetX; }
+    public float getKillerOffsetY() { return killerOffsetY; }
+    public float getKillerWidth() { return killerWidth; }
+    public float getKillerHeight() { return killerHeight; }
+}
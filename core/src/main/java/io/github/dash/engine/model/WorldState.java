@@ -0,0 +1,56 @@
+package io.github.dash.engine.model;
+
+/**
+ * Instantane de l'etat mutable d'une partie: joueur, autres entites dynamiques et drapeaux du monde.
+ * La geometrie du niveau est immuable et n'y figure pas, ce qui rend la copie
+ * et la restauration quasi gratuites. Un meme objet peut etre reutilise.
+ */
+public final class WorldState {
+    private static final float[] NO_ENTITIES = new float[0];
+
+    float x, y;
+    float vx, vy;
+    float previousX, previousY;
+    boolean alive;
+    boolean onGround;
+    boolean levelCompleted;
+    boolean playerDead;
+    DeathCause deathCause;
+    // Origine d'une grille a origine flottante, en chunks: les positions sont relatives a celle-ci
+    int originChunk;
+    // Entites dynamiques autres que le joueur, DynamicEntity.STATE_SIZE floats chacune.
+    // Le tableau n'est alloue qu'a la premiere sauvegarde qui en a besoin, puis reutilise.
+    float[] entities = NO_ENTITIES;
+    int entityCount;
+
+    void ensureEntityCapacity(int count) {
+        int size = count * DynamicEntity.STATE_SIZE;
+        if (entities.length < size) entities = new float[size];
+    }
+
+    public void set(WorldState other) {
+        x = other.x;
+        y = other.y;
+        vx = other.vx;
+        vy = other.vy;
+        previousX = other.previousX;
+        previousY = other.previousY;
+        alive = other.alive;
+        onGround = other.onGround;
+        levelCompleted = other.levelCompleted;
+        playerDead = other.playerDead;
+        deathCause = other.deathCause;
+        originChunk = other.originChunk;
+        ensureEntityCapacity(other.entityCount);
+        System.arraycopy(other.entities, 0, entities, 0, other.entityCount * DynamicEntity.STATE_SIZE);
+        entityCount = other.entityCount;
+    }
+
+    public float getX() { return x; }
+    public float getY() { return y; }
+    public float getVy() { return vy; }
+    public boolean isOnGround() { return onGround; }
+    public boolean isLevelCompleted() { return levelCompleted; }
+    public boolean isPlayerDead() { return playerDead; }
+    public int getOriginChunk() { return originChunk; }
+}
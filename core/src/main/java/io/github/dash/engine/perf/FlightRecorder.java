@@ -0,0 +1,199 @@
+package io.github.dash.engine.perf;
+
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.utils.async.AsyncExecutor;
+import com.badlogic.gdx.utils.async.AsyncTask;
+import io.github.dash.engine.platform.GameLogger;
+
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Enregistreur toujours actif des dernieres frames: duree, tick, position du joueur, entites visitees,
+ * octets alloues et collections du GC, dans des anneaux alloues a la construction.
+ * Quand une frame depasse le seuil, l'anneau est copie dans un second jeu de tableaux
+ * et ecrit en CSV par un thread a part: le thread de rendu n'alloue rien par frame et ne fait aucune E/S.
+ * Un pic ne lui coute que la copie et la soumission de la tache d'ecriture, creee a la construction
+ * (l'AsyncExecutor alloue seulement le resultat de la soumission).
+ */
+public class FlightRecorder {
+    /** Seuil par defaut: deux periodes de rafraichissement de l'ecran. */
+    public static final float DEFAULT_SPIKE_FACTOR = 2f;
+
+    private final int capacity;
+    private final FileHandle directory;
+    private final GameLogger logger;
+    private final AsyncExecutor writer = new AsyncExecutor(1, "FlightRecorder");
+    private final AsyncTask<Void> writeTask;
+    private final JvmCounters counters = new JvmCounters();
+    private long thresholdNanos;
+    private PerfEvents perfEvents = PerfEvents.NONE;
+
+    // Anneaux, indexes par frame
+    private final long[] frameNanos;
+    private final long[] ticks;
+    private final float[] playerX;
+    private final float[] playerY;
+    private final int[] entitiesVisited;
+    private final long[] allocatedBytes;
+    private final int[] gcCounts;
+    private int head;
+    private int count;
+
+    // Copie remise au thread d'ecriture, dans l'ordre chronologique
+    private final long[] dumpFrameNanos;
+    private final long[] dumpTicks;
+    private final float[] dumpPlayerX;
+    private final float[] dumpPlayerY;
+    private final int[] dumpEntitiesVisited;
+    private final long[] dumpAllocatedBytes;
+    private final int[] dumpGcCounts;
+    private int dumpCount;
+    private long dumpThresholdNanos;
+    private volatile boolean writing;
+
+    private long lastFrameStart = -1;
+    private long lastAllocated = -1;
+    private long lastGcCount;
+    // Frames depuis le dernier dump: un nouveau dump attend que l'anneau soit renouvele
+    private int framesSinceDump;
+    private int dumps;
+
+    /**
+     * @param capacity nombre de frames gardees (quelques secondes au taux de rafraichissement)
+     * @param thresholdNanos duree de frame a partir de laquelle l'anneau est ecrit
+     * @param directory dossier des fichiers CSV
+     */
+    public FlightRecorder(int capacity, long thresholdNanos, FileHandle directory, GameLogger logger) {
+        this.capacity = capacity;
+        this.thresholdNanos = thresholdNanos;
+        this.directory = directory;
+        this.logger = logger;
+
+        frameNanos = new long[capacity];
+        ticks = new long[capacity];
+        playerX = new float[capacity];
+        playerY = new float[capacity];
+        entitiesVisited = new int[capacity];
+        allocatedBytes = new long[capacity];
+        gcCounts = new int[capacity];
+
+        dumpFrameNanos = new long[capacity];
+        dumpTicks = new long[capacity];
+        dumpPlayerX = new float[capacity];
+        dumpPlayerY = new float[capacity];
+        dumpEntitiesVisited = new int[capacity];
+        dumpAllocatedBytes = new long[capacity];
+        dumpGcCounts = new int[capacity];
+
+        framesSinceDump = capacity;
+        lastGcCount = counters.gcCount();
+        writeTask = this::writeDump;
+    }
+
+    /**
+     * Ferme la frame ecoulee depuis l'appel precedent; sa duree est mesuree ici.
+     * Le premier appel ne fait que demarrer le chronometre.
+     */
+    public void endFrame(long tick, float x, float y, int visited) {
+        long now = System.nanoTime();
+        long allocated = counters.allocatedBytes();
+        long gc = counters.gcCount();
+        if (lastFrameStart < 0) {
+            lastFrameStart = now;
+            lastAllocated = allocated;
+            lastGcCount = gc;
+            return;
+        }
+
+        long duration = now - lastFrameStart;
+        frameNanos[head] = duration;
+        ticks[head] = tick;
+        playerX[head] = x;
+        playerY[head] = y;
+        entitiesVisited[head] = visited;
+        allocatedBytes[head] = allocated >= 0 && lastAllocated >= 0 ? allocated - lastAllocated : 0;
+        gcCounts[head] = (int) (gc - lastGcCount);
+        head = (head + 1) % capacity;
+        if (count < capacity) count++;
+        framesSinceDump++;
+        lastFrameStart = now;
+        lastAllocated = allocated;
+        lastGcCount = gc;
+
+        if (duration > thresholdNanos) {
+            perfEvents.frameSpike(duration, thresholdNanos, tick);
+            if (!writing && framesSinceDump >= capacity) dump();
+        }
+    }
+
+    /**
+     * La frame suivante ne compte pas (ecran de chargement, fenetre en pause):
+     * le chronometre repart au prochain {@link #endFrame}.
+     */
+    public void skipFrame() {
+        lastFrameStart = -1;
+    }
+
+    private void dump() {
+        int first = (head - count + capacity) % capacity;
+        for (int i = 0; i < count; i++) {
+            int slot = (first + i) % capacity;
+            dumpFrameNanos[i] = frameNanos[slot];
+            dumpTicks[i] = ticks[slot];
+            dumpPlayerX[i] = playerX[slot];
+            dumpPlayerY[i] = playerY[slot];
+            dumpEntitiesVisited[i] = entitiesVisited[slot];
+            dumpAllocatedBytes[i] = allocatedBytes[slot];
+            dumpGcCounts[i] = gcCounts[slot];
+        }
+        dumpCount = count;
+        dumpThresholdNanos = thresholdNanos;
+        framesSinceDump = 0;
+        dumps++;
+
+        writing = true;
+        writer.submit(writeTask);
+    }
+
+    private Void writeDump() {
+        FileHandle file = directory.child("spike-" + System.currentTimeMillis() + ".csv");
+        try (Writer out = new OutputStreamWriter(file.write(false), StandardCharsets.UTF_8)) {
+            StringBuilder line = new StringBuilder(128);
+            line.append("# seuil ").append(dumpThresholdNanos / 1000).append(" us, ")
+                .append(dumpCount).append(" frames\n");
+            line.append("frame_us,tick,player_x,player_y,entities_visited,alloc_bytes,gc_count\n");
+            out.write(line.toString());
+            for (int i = 0; i < dumpCount; i++) {
+                line.setLength(0);
+                line.append(dumpFrameNanos[i] / 1000).append(',')
+                    .append(dumpTicks[i]).append(',')
+                    .append(dumpPlayerX[i]).append(',')
+                    .append(dumpPlayerY[i]).append(',')
+                    .append(dumpEntitiesVisited[i]).append(',')
+                    .append(dumpAllocatedBytes[i]).append(',')
+                    .append(dumpGcCounts[i]).append('\n');
+                out.write(line.toString());
+            }
+            logger.log("FlightRecorder", "Pic de frame enregistre dans " + file.path());
+        } catch (IOException | RuntimeException e) {
+            logger.error("FlightRecorder", "Ecriture de " + file.path() + " impossible: " + e.getMessage());
+        } finally {
+            writing = false;
+        }
+        return null;
+    }
+
+    public void setPerfEvents(PerfEvents perfEvents) { this.perfEvents = perfEvents; }
+    public void setThresholdNanos(long thresholdNanos) { this.thresholdNanos = thresholdNanos; }
+    public long getThresholdNanos() { return thresholdNanos; }
+    /** Fichiers demandes depuis la creation. */
+    public int getDumpCount() { return dumps; }
+    public int getCapacity() { return capacity; }
+
+    public void dispose() {
+        writer.dispose();
+    }
+}
@@ -0,0 +1,156 @@
+package io.github.dash.engine.perf;
+
+import java.util.Arrays;
+
+/**
+ * Temps de chaque phase de la frame, gardes dans des anneaux de long sur les dernieres frames.
+ * Desactive, chaque appel se resume a un test de booleen: les mesures peuvent rester dans la boucle de jeu.
+ * Active, il releve aussi par frame les octets alloues par le thread et les collections du GC (JMX).
+ * A utiliser depuis un seul thread, celui du rendu.
+ */
+public class FrameProfiler {
+    /** Phases mesurees; les phases imbriquees sont comptees aussi dans leur phase parente. */
+    public enum Phase {
+        INPUT(false),
+        UPDATE(false),
+        BROADPHASE(true),
+        NARROWPHASE(true),
+        RENDER(false),
+        HUD(false);
+
+        public final boolean nested;
+
+        Phase(boolean nested) {
+            this.nested = nested;
+        }
+    }
+
+    private static final Phase[] PHASES = Phase.values();
+
+    /** Profileur inerte par defaut des mondes de jeu; il ne peut pas etre active. */
+    public static final FrameProfiler DISABLED = new FrameProfiler(1);
+
+    private final int capacity;
+    private boolean enabled;
+
+    // Frame en cours
+    private final long[] starts = new long[PHASES.length];
+    private final long[] current = new long[PHASES.length];
+    private long frameStart;
+
+    // Anneaux: [phase][frame], puis duree totale et octets alloues par frame
+    private final long[][] phaseSamples;
+    private final long[] frameSamples;
+    private final long[] allocatedSamples;
+    private int head;
+    private int count;
+    private final long[] sortScratch;
+
+    private final JvmCounters counters = new JvmCounters();
+    private long lastAllocated = -1;
+    private long gcCountBase, gcMillisBase;
+    private long gcCount, gcMillis;
+
+    public FrameProfiler(int capacity) {
+        this.capacity = capacity;
+        this.phaseSamples = new long[PHASES.length][capacity];
+        this.frameSamples = new long[capacity];
+        this.allocatedSamples = new long[capacity];
+        this.sortScratch = new long[capacity];
+    }
+
+    /** Active ou coupe les mesures; a l'activation, l'historique et les compteurs GC repartent de zero. */
+    public void setEnabled(boolean enabled) {
+        if (enabled && this == DISABLED) throw new IllegalStateException("Profileur inerte");
+        if (enabled && !this.enabled) {
+            head = 0;
+            count = 0;
+            Arrays.fill(current, 0);
+            lastAllocated = -1;
+            gcCountBase = counters.gcCount();
+            gcMillisBase = counters.gcMillis();
+            gcCount = 0;
+            gcMillis = 0;
+            frameStart = System.nanoTime();
+        }
+        this.enabled = enabled;
+    }
+
+    public boolean isEnabled() { return enabled; }
+
+    public void begin(Phase phase) {
+        if (!enabled) return;
+        starts[phase.ordinal()] = System.nanoTime();
+    }
+
+    public void end(Phase phase) {
+        if (!enabled) return;
+        current[phase.ordinal()] += System.nanoTime() - starts[phase.ordinal()];
+    }
+
+    /** Range la frame ecoulee depuis l'appel precedent dans les anneaux. */
+    public void endFrame() {
+        if (!enabled) return;
+        long now = System.nanoTime();
+        for (int p = 0; p < PHASES.length; p++) {
+            phaseSamples[p][head] = current[p];
+            current[p] = 0;
+        }
+        frameSamples[head] = now - frameStart;
+        frameStart = now;
+
+        if (counters.isAllocationSupported()) {
+            long allocated = counters.allocatedBytes();
+            allocatedSamples[head] = lastAllocated >= 0 ? allocated - lastAllocated : 0;
+            lastAllocated = allocated;
+        }
+        gcCount = counters.gcCount() - gcCountBase;
+        gcMillis = counters.gcMillis() - gcMillisBase;
+
+        head = (head + 1) % capacity;
+        if (count < capacity) count++;
+    }
+
+    /** Quantile q (0 a 1) de la phase sur l'historique, en nanosecondes. Trie une copie, sans allocation. */
+    public long percentile(Phase phase, double q) {
+        return percentile(phaseSamples[phase.ordinal()], q);
+    }
+
+    /** Quantile q de la duree totale des frames, en nanosecondes. */
+    public long framePercentile(double q) {
+        return percentile(frameSamples, q);
+    }
+
+    private long percentile(long[] samples, double q) {
+        if (count == 0) return 0;
+        System.arraycopy(samples, 0, sortScratch, 0, count);
+        Arrays.sort(sortScratch, 0, count);
+        int index = (int) Math.ceil(q * count) - 1;
+        return sortScratch[Math.max(0, Math.min(count - 1, index))];
+    }
+
+    /** Valeur de la phase, i frames avant la derniere (0 = derniere frame). */
+    public long sample(Phase phase, int framesAgo) {
+        return phaseSamples[phase.ordinal()][slot(framesAgo)];
+    }
+
+    public long frameSample(int framesAgo) {
+        return frameSamples[slot(framesAgo)];
+    }
+
+    /** Octets alloues par le thread de rendu pendant la frame, ou 0 si la JVM ne le mesure pas. */
+    public long allocatedSample(int framesAgo) {
+        return allocatedSamples[slot(framesAgo)];
+    }
+
+    private int slot(int framesAgo) {
+        return ((head - 1 - framesAgo) % capacity + capacity) % capacity;
+    }
+
+    public boolean isAllocationSupported() { return counters.isAllocationSupported(); }
+    /** Collections et temps de pause cumules du GC depuis l'activation. */
+    public long getGcCount() { return gcCount; }
+    public long getGcMillis() { return gcMillis; }
+    public int getCount() { return count; }
+    public int getCapacity() { return capacity; }
+}
@@ -0,0 +1,48 @@
+package io.github.dash.engine.perf;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.List;
+
+/**
+ * Compteurs JMX cumules: octets alloues par le thread createur, collections et pauses du GC.
+ * Les beans sont recuperes une fois, la liste de getGarbageCollectorMXBeans etant recreee a chaque appel.
+ */
+class JvmCounters {
+    private final List<GarbageCollectorMXBean> collectors;
+    private final com.sun.management.ThreadMXBean allocationBean;
+    private final long threadId;
+
+    JvmCounters() {
+        this.collectors = ManagementFactory.getGarbageCollectorMXBeans();
+
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        com.sun.management.ThreadMXBean allocation = null;
+        if (threads instanceof com.sun.management.ThreadMXBean
+            && ((com.sun.management.ThreadMXBean) threads).isThreadAllocatedMemorySupported()) {
+            allocation = (com.sun.management.ThreadMXBean) threads;
+        }
+        this.allocationBean = allocation;
+        this.threadId = Thread.currentThread().getId();
+    }
+
+    boolean isAllocationSupported() { return allocationBean != null; }
+
+    /** Octets alloues depuis le demarrage du thread, ou -1 si la JVM ne le mesure pas. */
+    long allocatedBytes() {
+        return allocationBean != null ? allocationBean.getThreadAllocatedBytes(threadId) : -1;
+    }
+
+    long gcCount() {
+        long total = 0;
+        for (int i = 0; i < collectors.size(); i++) total += Math.max(0, collectors.get(i).getCollectionCount());
+        return total;
+    }
+
+    long gcMillis() {
+        long total = 0;
+        for (int i = 0; i < collectors.size(); i++) total += Math.max(0, collectors.get(i).getCollectionTime());
+        return total;
+    }
+}
@@ -0,0 +1,24 @@
+package io.github.dash.engine.perf;
+
+/**
+ * Evenements de performance pour un enregistreur externe (JFR sur desktop, voir le module lwjgl3).
+ * Le coeur reste en Java 8: il n'appelle que ces methodes, vides par defaut.
+ * Une implementation ne doit rien allouer tant que l'enregistrement est coupe.
+ */
+public interface PerfEvents {
+    /** Aucun enregistrement: valeur par defaut des mondes, rendus et enregistreurs. */
+    PerfEvents NONE = new PerfEvents() {};
+
+    /** Debut de {@code GameWorld.update}. */
+    default void worldUpdateBegin() {}
+
+    default void worldUpdateEnd(float playerX, float playerY) {}
+
+    /** Debut de {@code WorldRenderer.render}. */
+    default void worldRenderBegin() {}
+
+    default void worldRenderEnd(int entitiesVisited, int spritesDrawn, int drawCalls) {}
+
+    /** Frame au-dela du seuil du {@link FlightRecorder}. */
+    default void frameSpike(long frameNanos, long thresholdNanos, long tick) {}
+}
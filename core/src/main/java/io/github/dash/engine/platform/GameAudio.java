@@ -0,0 +1,10 @@
+package io.github.dash.engine.platform;
+
+/**
+ * Effets sonores du jeu.
+ */
+public interface GameAudio {
+    void playJump();
+
+    void dispose();
+}
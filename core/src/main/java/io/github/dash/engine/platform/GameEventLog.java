@@ -0,0 +1,140 @@
+package io.github.dash.engine.platform;
+
+import io.github.dash.engine.event.GameEvent;
+import io.github.dash.engine.event.GameEventListener;
+import io.github.dash.engine.model.DeathCause;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Journal des evenements de jeu: anneau d'evenements types a charge utile primitive,
+ * alimente par un seul thread (celui de la simulation, en abonne du bus d'evenements) et vide par un autre.
+ * {@link #report} n'alloue rien et ne bloque jamais: anneau plein, l'evenement est compte comme perdu.
+ * La mise en forme des messages et l'ecriture dans le {@link GameLogger} se font au vidage,
+ * par le thread de {@link #start()} ou, sans thread, par des appels a {@link #drain()}.
+ */
+public class GameEventLog implements GameEventListener {
+    private static final GameEvent.Type[] TYPES = GameEvent.Type.values();
+    private static final DeathCause[] CAUSES = DeathCause.values();
+    private static final long DRAIN_INTERVAL_NANOS = 10_000_000L;
+
+    private final GameLogger logger;
+    private final int mask;
+
+    // Anneau, indexe par numero d'evenement modulo la capacite
+    private final byte[] types;
+    private final byte[] causes;
+    private final float[] xs;
+    private final float[] ys;
+    private final long[] ticks;
+
+    // Producteur: ecrit les cases, puis publie. Consommateur: lit, puis libere.
+    private long writeIndex;
+    private final AtomicLong published = new AtomicLong();
+    private final AtomicLong consumed = new AtomicLong();
+    private volatile long dropped;
+    private long droppedReported;
+
+    private final StringBuilder message = new StringBuilder(64);
+    private Thread drainer;
+    private volatile boolean running;
+
+    /**
+     * @param capacity nombre d'evenements en attente, arrondi a la puissance de deux superieure
+     */
+    public GameEventLog(int capacity, GameLogger logger) {
+        int size = Integer.highestOneBit(Math.max(1, capacity - 1)) << 1;
+        this.logger = logger;
+        this.mask = size - 1;
+        types = new byte[size];
+        causes = new byte[size];
+        xs = new float[size];
+        ys = new float[size];
+        ticks = new long[size];
+    }
+
+    @Override
+    public void onEvent(GameEvent event) {
+        report(event.type, event.cause, event.x, event.y, event.tick);
+    }
+
+    /** Publie un evenement depuis le thread de simulation. Retourne false si l'anneau est plein. */
+    public boolean report(GameEvent.Type type, DeathCause cause, float x, float y, long tick) {
+        long index = writeIndex;
+        if (index - consumed.get() > mask) {
+            dropped++;
+            return false;
+        }
+        int slot = (int) (index & mask);
+        types[slot] = (byte) type.ordinal();
+        causes[slot] = (byte) (cause != null ? cause.ordinal() : -1);
+        xs[slot] = x;
+        ys[slot] = y;
+        ticks[slot] = tick;
+        writeIndex = index + 1;
+        published.lazySet(index + 1);
+        return true;
+    }
+
+    /** Met en forme et ecrit les evenements publies; retourne leur nombre. Un seul thread a la fois. */
+    public int drain() {
+        long start = consumed.get();
+        long end = published.get();
+        for (long index = start; index < end; index++) {
+            int slot = (int) (index & mask);
+            message.setLength(0);
+            GameEvent.Type type = TYPES[types[slot]];
+            switch (type) {
+                case JUMP: message.append("Saut"); break;
+                case LAND: message.append("Atterrissage"); break;
+                case WALL_HIT: message.append("Contact mur"); break;
+                case DEATH: message.append("Mort (").append(CAUSES[causes[slot]].name().toLowerCase()).append(')'); break;
+                case CHECKPOINT: message.append("Checkpoint"); break;
+                default: message.append("Niveau termine!"); break;
+            }
+            message.append(" tick ").append(ticks[slot])
+                .append(" x=").append(Math.round(xs[slot])).append(" y=").append(Math.round(ys[slot]));
+            logger.log("GameWorld", message.toString());
+        }
+        consumed.lazySet(end);
+
+        long lost = dropped;
+        if (lost != droppedReported) {
+            logger.error("GameEventLog", (lost - droppedReported) + " evenements perdus, anneau plein");
+            droppedReported = lost;
+        }
+        return (int) (end - start);
+    }
+
+    /** Lance le thread de vidage, qui se reveille regulierement tant que l'anneau est vide. */
+    public void start() {
+        if (drainer != null) return;
+        running = true;
+        drainer = new Thread(() -> {
+            while (running) {
+                if (drain() == 0) LockSupport.parkNanos(DRAIN_INTERVAL_NANOS);
+            }
+            drain();
+        }, "GameEventLog");
+        drainer.setDaemon(true);
+        drainer.start();
+    }
+
+    /** Evenements en attente de vidage. */
+    public int pending() { return (int) (published.get() - consumed.get()); }
+    public long getDropped() { return dropped; }
+
+    /** Arrete le thread de vidage apres un dernier vidage. */
+    public void dispose() {
+        if (drainer == null) return;
+        running = false;
+        LockSupport.unpark(drainer);
+        try {
+            drainer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        drainer = null;
+    }
+}
@@ -0,0 +1,10 @@
+package io.github.dash.engine.platform;
+
+/**
+ * Journalisation du moteur, independante du backend.
+ */
+public interface GameLogger {
+    void log(String tag, String message);
+
+    void error(String tag, String message);
+}
@@ -0,0 +1,38 @@
+package io.github.dash.engine.platform;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.audio.Sound;
+
+/**
+ * Sons charges via libGDX.
+ */
+public class GdxGameAudio implements GameAudio {
+    private final GameLogger logger;
+    private Sound jumpSound;
+
+    public GdxGameAudio(GameLogger logger) {
+        this.logger = logger;
+        loadJumpSound();
+    }
+
+    private void loadJumpSound() {
+        try {
+            jumpSound = Gdx.audio.newSound(Gdx.files.internal("sounds/jump.wav"));
+        } catch (Exception e) {
+            logger.log("GdxGameAudio", "Son de saut non charge: " + e.getMessage());
+            jumpSound = null;
+        }
+    }
+
+    @Override
+    public void playJump() {
+        if (jumpSound != null) {
+            jumpSound.play(0.5f);
+        }
+    }
+
+    @Override
+    public void dispose() {
+        if (jumpSound != null) jumpSound.dispose();
+    }
+}
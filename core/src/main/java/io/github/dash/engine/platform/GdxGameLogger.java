@@ -0,0 +1,18 @@
+package io.github.dash.engine.platform;
+
+import com.badlogic.gdx.Gdx;
+
+/**
+ * Journalisation via l'application libGDX courante.
+ */
+public class GdxGameLogger implements GameLogger {
+    @Override
+    public void log(String tag, String message) {
+        Gdx.app.log(tag, message);
+    }
+
+    @Override
+    public void error(String tag, String message) {
+        Gdx.app.error(tag, message);
+    }
+}
@@ -0,0 +1,152 @@
+package io.github.dash.engine.replay;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+/**
+ * Replay d'un essai: ticks ou le saut a ete appuye ou relache, niveau et constantes physiques,
+ * sommes de controle de l'etat a intervalle regulier.
+ *
+ * Format (big-endian): en-tete MAGIC, VERSION, hash du TMX, chemin du niveau, constantes,
+ * puis le tick de fin et l'issue. Chaque evenement est un varint (ecart de tick &lt;&lt; 1 | relache),
+ * soit un ou deux octets par appui. Les sommes de controle suivent, 4 octets chacune.
+ */
+public final class Replay {
+    public static final int MAGIC = 0x4452504C; // "DRPL"
+    public static final short VERSION = 1;
+    public static final String EXTENSION = ".dreplay";
+
+    public static final byte OUTCOME_NONE = 0;
+    public static final byte OUTCOME_DEAD = 1;
+    public static final byte OUTCOME_COMPLETED = 2;
+
+    final long levelHash;
+    final String levelPath;
+    final float tickRate;
+    final float gravity;
+    final float scrollSpeed;
+    final float jumpForce;
+    final float speedMultiplier;
+    final long endTick;
+    final byte outcome;
+    // tick << 1 | 1 si relache, dans l'ordre
+    final long[] events;
+    final int checksumInterval;
+    final int[] checksums;
+
+    Replay(long levelHash, String levelPath, float tickRate, float gravity, float scrollSpeed, float jumpForce,
+           float speedMultiplier, long endTick, byte outcome, long[] events, int checksumInterval, int[] checksums) {
+        this.levelHash = levelHash;
+        this.levelPath = levelPath;
+        this.tickRate = tickRate;
+        this.gravity = gravity;
+        this.scrollSpeed = scrollSpeed;
+        this.jumpForce = jumpForce;
+        this.speedMultiplier = speedMultiplier;
+        this.endTick = endTick;
+        this.outcome = outcome;
+        this.events = events;
+        this.checksumInterval = checksumInterval;
+        this.checksums = checksums;
+    }
+
+    public void write(OutputStream stream) throws IOException {
+        DataOutputStream data = new DataOutputStream(stream);
+        data.writeInt(MAGIC);
+        data.writeShort(VERSION);
+        data.writeLong(levelHash);
+        data.writeUTF(levelPath);
+        data.writeFloat(tickRate);
+        data.writeFloat(gravity);
+        data.writeFloat(scrollSpeed);
+        data.writeFloat(jumpForce);
+        data.writeFloat(speedMultiplier);
+        writeVarLong(data, endTick);
+        data.writeByte(outcome);
+
+        writeVarLong(data, events.length);
+        long previousTick = 0;
+        for (long event : events) {
+            long tick = event >>> 1;
+            writeVarLong(data, (tick - previousTick) << 1 | (event & 1));
+            previousTick = tick;
+        }
+
+        writeVarLong(data, checksumInterval);
+        writeVarLong(data, checksums.length);
+        for (int checksum : checksums) {
+            data.writeInt(checksum);
+        }
+        data.flush();
+    }
+
+    public static Replay read(InputStream stream) throws IOException {
+        DataInputStream data = new DataInputStream(stream);
+        if (data.readInt() != MAGIC) throw new IOException("Pas un replay");
+        short version = data.readShort();
+        if (version != VERSION) throw new IOException("Version de replay non supportee: " + version);
+
+        long levelHash = data.readLong();
+        String levelPath = data.readUTF();
+        float tickRate = data.readFloat();
+        float gravity = data.readFloat();
+        float scrollSpeed = data.readFloat();
+        float jumpForce = data.readFloat();
+        float speedMultiplier = data.readFloat();
+        long endTick = readVarLong(data);
+        byte outcome = data.readByte();
+
+        long[] events = new long[(int) readVarLong(data)];
+        long tick = 0;
+        for (int i = 0; i < events.length; i++) {
+            long value = readVarLong(data);
+            tick += value >>> 1;
+            events[i] = tick << 1 | (value & 1);
+        }
+
+        int checksumInterval = (int) readVarLong(data);
+        int[] checksums = new int[(int) readVarLong(data)];
+        for (int i = 0; i < checksums.length; i++) {
+            checksums[i] = data.readInt();
+        }
+        return new Replay(levelHash, levelPath, tickRate, gravity, scrollSpeed, jumpForce, speedMultiplier,
+            endTick, outcome, events, checksumInterval, checksums);
+    }
+
+    /** Entier positif sur 7 bits par octet, bit de poids fort pour "suite". */
+    static void writeVarLong(DataOutputStream data, long value) throws IOException {
+        while ((value & ~0x7FL) != 0) {
+            data.writeByte((int) (value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        data.writeByte((int) value);
+    }
+
+    static long readVarLong(DataInputStream data) throws IOException {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            int b = data.readUnsignedByte();
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) return value;
+        }
+        throw new IOException("Varint trop long");
+    }
+
+    public long getLevelHash() { return levelHash; }
+    public String getLevelPath() { return levelPath; }
+    public float getTickRate() { return tickRate; }
+    public float getGravity() { return gravity; }
+    public float getScrollSpeed() { return scrollSpeed; }
+    public float getJumpForce() { return jumpForce; }
+    public float getSpeedMultiplier() { return speedMultiplier; }
+    public long getEndTick() { return endTick; }
+    public byte getOutcome() { return outcome; }
+    public int getEventCount() { return events.length; }
+    public long getEventTick(int i) { return events[i] >>> 1; }
+    public boolean isRelease(int i) { return (events[i] & 1) != 0; }
+    public int getChecksumInterval() { return checksumInterval; }
+    public int getChecksumCount() { return checksums.length; }
+}
@@ -0,0 +1,73 @@
+package io.github.dash.engine.replay;
+
+import io.github.dash.engine.controller.InputSource;
+import io.github.dash.engine.controller.TickListener;
+import io.github.dash.engine.model.GameWorld;
+import io.github.dash.engine.model.Level;
+import io.github.dash.engine.model.Player;
+
+/**
+ * Rejoue un {@link Replay}: applique les sauts aux ticks enregistres et compare
+ * la somme de controle de l'etat a celle de l'enregistrement pour detecter toute divergence.
+ */
+public class ReplayPlayback implements InputSource, TickListener {
+    private final Replay replay;
+    private int nextEvent;
+    private long divergenceTick = -1;
+
+    public ReplayPlayback(Replay replay) {
+        this.replay = replay;
+    }
+
+    /**
+     * Verifie que le replay a ete enregistre sur ce niveau avec les memes constantes.
+     * Retourne la premiere difference, ou null.
+     */
+    public String checkCompatibility(long levelHash, Level level, float tickRate, float jumpForce, float speedMultiplier) {
+        if (levelHash != 0 && replay.levelHash != 0 && levelHash != replay.levelHash) return "niveau different";
+        if (tickRate != replay.tickRate) return "frequence " + replay.tickRate + " au lieu de " + tickRate;
+        if (level.getGravity() != replay.gravity) return "gravite " + replay.gravity + " au lieu de " + level.getGravity();
+        if (level.getScrollSpeed() != replay.scrollSpeed) return "vitesse " + replay.scrollSpeed + " au lieu de " + level.getScrollSpeed();
+        if (jumpForce != replay.jumpForce) return "force de saut " + replay.jumpForce + " au lieu de " + jumpForce;
+        if (speedMultiplier != replay.speedMultiplier) return "multiplicateur " + replay.speedMultiplier + " au lieu de " + speedMultiplier;
+        return null;
+    }
+
+    @Override
+    public void applyInputs(Player player, long tick) {
+        long[] events = replay.events;
+        while (nextEvent < events.length && events[nextEvent] >>> 1 <= tick) {
+            long event = events[nextEvent++];
+            // Le relachement est enregistre mais n'a pas encore d'effet sur la physique
+            if (event >>> 1 == tick && (event & 1) == 0) {
+                player.jump(replay.jumpForce);
+            }
+        }
+    }
+
+    @Override
+    public void onTick(long tick, GameWorld world) {
+        int interval = replay.checksumInterval;
+        if (divergenceTick >= 0 || interval <= 0 || (tick + 1) % interval != 0) return;
+        long index = (tick + 1) / interval - 1;
+        if (index < replay.checksums.length && replay.checksums[(int) index] != world.stateChecksum()) {
+            divergenceTick = tick;
+        }
+    }
+
+    /** Reprend la lecture au tick 0. */
+    public void rewind() {
+        nextEvent = 0;
+        divergenceTick = -1;
+    }
+
+    /** Vrai si la partie rejouee s'est terminee au meme tick et de la meme facon que l'enregistrement. */
+    public boolean matchesOutcome(long endTick, GameWorld world) {
+        return endTick == replay.endTick && ReplayRecorder.outcomeOf(world) == replay.outcome;
+    }
+
+    public boolean hasDiverged() { return divergenceTick >= 0; }
+    /** Premier tick dont la somme de controle differe (a checksumInterval ticks pres), ou -1. */
+    public long getDivergenceTick() { return divergenceTick; }
+    public Replay getReplay() { return replay; }
+}
@@ -0,0 +1,109 @@
+package io.github.dash.engine.replay;
+
+import io.github.dash.engine.controller.TickListener;
+import io.github.dash.engine.model.GameWorld;
+import io.github.dash.engine.model.Level;
+
+/**
+ * Enregistre l'essai en cours: appuis et relachements du saut au tick ou ils sont appliques,
+ * somme de controle de l'etat tous les checksumInterval ticks.
+ * Les tableaux grandissent au besoin puis sont reutilises d'un essai a l'autre.
+ */
+public class ReplayRecorder implements TickListener {
+    public static final int DEFAULT_CHECKSUM_INTERVAL = 8;
+
+    private final long levelHash;
+    private final String levelPath;
+    private final float tickRate;
+    private final float gravity;
+    private final float scrollSpeed;
+    private final float jumpForce;
+    private final float speedMultiplier;
+    private final int checksumInterval;
+
+    private long[] events = new long[64];
+    private int eventCount;
+    private int[] checksums = new int[256];
+    private int checksumCount;
+
+    public ReplayRecorder(long levelHash, String levelPath, Level level, float tickRate, float jumpForce, float speedMultiplier) {
+        this(levelHash, levelPath, level, tickRate, jumpForce, speedMultiplier, DEFAULT_CHECKSUM_INTERVAL);
+    }
+
+    public ReplayRecorder(long levelHash, String levelPath, Level level, float tickRate, float jumpForce,
+                          float speedMultiplier, int checksumInterval) {
+        this.levelHash = levelHash;
+        this.levelPath = levelPath;
+        this.tickRate = tickRate;
+        this.gravity = level.getGravity();
+        this.scrollSpeed = level.getScrollSpeed();
+        this.jumpForce = jumpForce;
+        this.speedMultiplier = speedMultiplier;
+        this.checksumInterval = checksumInterval;
+    }
+
+    public void press(long tick) {
+        add(tick << 1);
+    }
+
+    public void release(long tick) {
+        add(tick << 1 | 1);
+    }
+
+    private void add(long event) {
+        if (eventCount == events.length) {
+            long[] grown = new long[events.length * 2];
+            System.arraycopy(events, 0, grown, 0, eventCount);
+            events = grown;
+        }
+        events[eventCount++] = event;
+    }
+
+    @Override
+    public void onTick(long tick, GameWorld world) {
+        if (checksumInterval <= 0 || (tick + 1) % checksumInterval != 0) return;
+        if (checksumCount == checksums.length) {
+            int[] grown = new int[checksums.length * 2];
+            System.arraycopy(checksums, 0, grown, 0, checksumCount);
+            checksums = grown;
+        }
+        checksums[checksumCount++] = world.stateChecksum();
+    }
+
+    /** Nouvel essai depuis le tick 0. */
+    public void reset() {
+        eventCount = 0;
+        checksumCount = 0;
+    }
+
+    /**
+     * Reprise a un checkpoint au tick donne: ce qui suit est oublie. La simulation etant
+     * deterministe, l'enregistrement reste un essai complet depuis le tick 0.
+     */
+    public void rewindTo(long tick) {
+        while (eventCount > 0 && events[eventCount - 1] >>> 1 >= tick) {
+            eventCount--;
+        }
+        if (checksumInterval > 0) {
+            checksumCount = (int) Math.min(checksumCount, tick / checksumInterval);
+        }
+    }
+
+    /** Fige l'essai termine (ou interrompu) au tick endTick. */
+    public Replay finish(long endTick, GameWorld world) {
+        long[] eventCopy = new long[eventCount];
+        System.arraycopy(events, 0, eventCopy, 0, eventCount);
+        int[] checksumCopy = new int[checksumCount];
+        System.arraycopy(checksums, 0, checksumCopy, 0, checksumCount);
+        return new Replay(levelHash, levelPath, tickRate, gravity, scrollSpeed, jumpForce, speedMultiplier,
+            endTick, outcomeOf(world), eventCopy, checksumInterval, checksumCopy);
+    }
+
+    static byte outcomeOf(GameWorld world) {
+        if (world.isLevelCompleted()) return Replay.OUTCOME_COMPLETED;
+        if (world.isPlayerDead()) return Replay.OUTCOME_DEAD;
+        return Replay.OUTCOME_NONE;
+    }
+
+    public int getEventCount() { return eventCount; }
+}
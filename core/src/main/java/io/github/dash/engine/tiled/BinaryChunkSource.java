@@ -0,0 +1,47 @@
+package io.github.dash.engine.tiled;
+
+import io.github.dash.engine.model.ChunkSource;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Chunks lus directement dans la grille du niveau binaire projete en memoire.
+ * Seules les pages touchees sont chargees par le systeme, et la lecture absolue
+ * ne modifie pas le tampon: elle peut se faire depuis le thread de chargement.
+ */
+class BinaryChunkSource implements ChunkSource {
+    private final ByteBuffer cells;
+    private final int width;
+    private final int height;
+    private final int chunkColumns;
+
+    /** @param cells vue sur la grille du fichier, ligne par ligne (width x height) */
+    BinaryChunkSource(ByteBuffer cells, int width, int height, int chunkColumns) {
+        this.cells = cells;
+        this.width = width;
+        this.height = height;
+        this.chunkColumns = chunkColumns;
+    }
+
+    @Override
+    public int getChunkColumns() { return chunkColumns; }
+
+    @Override
+    public int getHeight() { return height; }
+
+    @Override
+    public void readChunk(int chunk, byte[] out) {
+        int start = chunk * chunkColumns;
+        int columns = Math.max(0, Math.min(chunkColumns, width - start));
+        for (int y = 0; y < height; y++) {
+            int row = y * width + start;
+            int offset = y * chunkColumns;
+            for (int x = 0; x < columns; x++) {
+                out[offset + x] = cells.get(row + x);
+            }
+            for (int x = columns; x < chunkColumns; x++) {
+                out[offset + x] = 0;
+            }
+        }
+    }
+}
@@ -0,0 +1,126 @@
+package io.github.dash.engine.tiled;
+
+import com.badlogic.gdx.files.FileHandle;
+
+import java.io.DataInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.zip.CRC32;
+
+/**
+ * Format binaire precompile des niveaux (.dlvl), ecrit a cote du TMX source.
+ *
+ * En-tete: magic "DLVL", version, mode de collision, empreinte des sources (TMX, TSX et images).
+ * Sections, dans l'ordre: proprietes de la carte, joueur, grille d'occupation,
+ * table de geometrie statique deja fusionnee (vide en mode grille), jeux de tuiles, couches de tuiles.
+ * Toute modification du format doit incrementer {@link #VERSION}.
+ */
+public final class BinaryLevelFormat {
+    public static final int MAGIC = 0x444C564C;
+    public static final short VERSION = 4;
+    public static final String EXTENSION = ".dlvl";
+
+    static final byte PROPERTY_STRING = 0;
+    static final byte PROPERTY_FLOAT = 1;
+    static final byte PROPERTY_INT = 2;
+    static final byte PROPERTY_BOOLEAN = 3;
+
+    private static final Pattern TILESET = Pattern.compile("<tileset\\b[^>]*>");
+    private static final Pattern IMAGE = Pattern.compile("<image\\b[^>]*>");
+    private static final Pattern SOURCE = Pattern.compile("\\bsource=\"([^\"]*)\"");
+    private static final long PNG_SIGNATURE = 0x89504E470D0A1A0AL;
+
+    private BinaryLevelFormat() {}
+
+    /** Fichier cache du TMX: maps/niveau.tmx -> maps/niveau.dlvl. */
+    public static File cacheFile(File tmxFile) {
+        return new File(tmxFile.getParentFile(), cachePath(tmxFile.getName()));
+    }
+
+    /** Meme correspondance sur un chemin d'asset, pour un cache range hors du dossier du TMX. */
+    public static String cachePath(String tmxPath) {
+        int dot = tmxPath.lastIndexOf('.');
+        String base = dot > tmxPath.lastIndexOf('/') + 1 ? tmxPath.substring(0, dot) : tmxPath;
+        return base + EXTENSION;
+    }
+
+    /**
+     * Empreinte de tout ce dont depend le cache: le TMX, chaque TSX qu'il reference et les dimensions
+     * de chaque image de jeu de tuiles. Taille cumulee des TMX et TSX sur 32 bits forts, CRC32 sur
+     * 32 bits faibles. Retoucher un TSX ou redimensionner une image invalide donc le cache.
+     */
+    public static long hash(FileHandle tmx) {
+        byte[] source = tmx.readBytes();
+        CRC32 crc = new CRC32();
+        crc.update(source, 0, source.length);
+        long length = source.length;
+
+        // Les jeux de tuiles precedent les couches: inutile de parcourir les donnees
+        String text = new String(source, StandardCharsets.UTF_8);
+        int layers = text.indexOf("<layer");
+        String header = layers >= 0 ? text.substring(0, layers) : text;
+
+        Matcher tileSets = TILESET.matcher(header);
+        while (tileSets.find()) {
+            String tsxPath = attribute(tileSets.group());
+            if (tsxPath == null) continue;
+            FileHandle tsx = tmx.parent().child(tsxPath);
+            if (!tsx.exists()) {
+                updateInt(crc, -1);
+                continue;
+            }
+            byte[] tsxSource = tsx.readBytes();
+            crc.update(tsxSource, 0, tsxSource.length);
+            length += tsxSource.length;
+            hashImages(crc, new String(tsxSource, StandardCharsets.UTF_8), tsx.parent());
+        }
+        // Jeux de tuiles internes au TMX
+        hashImages(crc, header, tmx.parent());
+        return length << 32 | crc.getValue();
+    }
+
+    private static void hashImages(CRC32 crc, String xml, FileHandle directory) {
+        Matcher images = IMAGE.matcher(xml);
+        while (images.find()) {
+            String path = attribute(images.group());
+            if (path == null) continue;
+            FileHandle image = directory.child(path);
+            if (!image.exists()) {
+                updateInt(crc, -1);
+                continue;
+            }
+            long dimensions = pngDimensions(image);
+            // Autre format que PNG: la taille du fichier tient lieu de dimensions
+            if (dimensions < 0) dimensions = image.length();
+            updateInt(crc, (int) (dimensions >>> 32));
+            updateInt(crc, (int) dimensions);
+        }
+    }
+
+    /** Largeur sur 32 bits forts et hauteur sur 32 bits faibles, lues dans l'en-tete PNG; -1 si ce n'est pas un PNG. */
+    private static long pngDimensions(FileHandle image) {
+        try (DataInputStream in = new DataInputStream(image.read())) {
+            if (in.readLong() != PNG_SIGNATURE) return -1;
+            in.readInt();
+            if (in.readInt() != 0x49484452) return -1;
+            return (long) in.readInt() << 32 | (in.readInt() & 0xFFFFFFFFL);
+        } catch (IOException e) {
+            return -1;
+        }
+    }
+
+    private static String attribute(String tag) {
+        Matcher matcher = SOURCE.matcher(tag);
+        return matcher.find() ? matcher.group(1) : null;
+    }
+
+    private static void updateInt(CRC32 crc, int value) {
+        crc.update(value >>> 24);
+        crc.update(value >>> 16);
+        crc.update(value >>> 8);
+        crc.update(value);
+    }
+}
@@ -0,0 +1,448 @@
+package io.github.dash.engine.tiled;
+
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.g2d.TextureAtlas;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.maps.MapProperties;
+import com.badlogic.gdx.maps.tiled.TiledMap;
+import com.badlogic.gdx.maps.tiled.TiledMapTile;
+import com.badlogic.gdx.maps.tiled.TiledMapTileLayer;
+import com.badlogic.gdx.maps.tiled.TiledMapTileSet;
+import com.badlogic.gdx.maps.tiled.tiles.StaticTiledMapTile;
+import com.badlogic.gdx.utils.Array;
+import io.github.dash.engine.model.Level;
+import io.github.dash.engine.model.StaticGeometry;
+import io.github.dash.engine.model.StreamingTileGrid;
+import io.github.dash.engine.model.TileGrid;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.Iterator;
+
+/**
+ * Lit un niveau binaire (voir {@link BinaryLevelFormat}) projete en memoire en lecture seule.
+ *
+ * Les couches de tuiles restent des vues sur le fichier projete, sans copie. La grille et la
+ * geometrie statique sont transferees en bloc dans les tableaux primitifs parcourus par la
+ * boucle de collision. Aucune entite n'est creee hormis le joueur.
+ */
+public class BinaryLevelReader {
+    private static final int FLIP_HORIZONTALLY = 0x80000000;
+    private static final int FLIP_VERTICALLY = 0x40000000;
+    private static final int FLIP_DIAGONALLY = 0x20000000;
+    private static final int FLIP_FLAGS_MASK = 0xF0000000;
+
+    /** Jeu de tuiles decrit dans le cache; son image n'est chargee qu'a la creation de la carte. */
+    private static final class TileSetInfo {
+        int firstGid;
+        String name;
+        String imageSource;
+        int tileWidth, tileHeight;
+        int spacing, margin;
+        int columns, tileCount;
+    }
+
+    static final class LayerInfo {
+        String name;
+        boolean visible;
+        float opacity;
+        int width, height;
+        IntBuffer gids;
+    }
+
+    /** Niveau lu depuis le cache, avec de quoi reconstruire la carte de rendu. */
+    public static class BinaryLevel {
+        public final Level level;
+        private final MapProperties properties;
+        private final TileSetInfo[] tileSets;
+        private final LayerInfo[] layers;
+
+        BinaryLevel(Level level, MapProperties properties, TileSetInfo[] tileSets, LayerInfo[] layers) {
+            this.level = level;
+            this.properties = properties;
+            this.tileSets = tileSets;
+            this.layers = layers;
+        }
+
+        /**
+         * Carte de rendu: charge l'atlas de la carte s'il a ete construit, sinon les textures des jeux
+         * de tuiles, et remplit les couches. Demande un contexte GL. Les textures appartiennent a la carte.
+         */
+        public TiledMap createMap(FileHandle mapDirectory) {
+            String atlasPath = getAtlasPath("");
+            if (atlasPath != null && resolve(mapDirectory, atlasPath).exists()) {
+                TextureAtlas atlas = new TextureAtlas(resolve(mapDirectory, atlasPath));
+                TiledMap map = createMap(atlas);
+                map.setOwnedResources(new Array<>(new TextureAtlas[] {atlas}));
+                return map;
+            }
+
+            String[] images = getImagePaths("");
+            Texture[] textures = new Texture[images.length];
+            for (int i = 0; i < images.length; i++) {
+                textures[i] = new Texture(resolve(mapDirectory, images[i]));
+            }
+            TiledMap map = createMap(textures);
+            map.setOwnedResources(new Array<>(textures));
+            return map;
+        }
+
+        /**
+         * Images des jeux de tuiles, dans l'ordre attendu par {@link #createMap(Texture[])}.
+         * Collections d'images non gerees: leurs jeux de tuiles sont ignores.
+         */
+        public String[] getImagePaths(String mapDirectory) {
+            Array<String> paths = new Array<>();
+            for (TileSetInfo info : tileSets) {
+                if (info.imageSource.isEmpty()) continue;
+                paths.add(mapDirectory.isEmpty() ? info.imageSource
+                    : BinaryLevelWriter.normalizePath(mapDirectory + "/" + info.imageSource));
+            }
+            return paths.toArray(String.class);
+        }
+
+        /**
+         * Atlas construit par la tache packTextures (propriete "atlas" de la carte), ou null
+         * si la carte n'en designe pas. Le fichier peut manquer tant que la tache n'a pas tourne.
+         */
+        public String getAtlasPath(String mapDirectory) {
+            String atlas = properties.get("atlas", null, String.class);
+            if (atlas == null || atlas.isEmpty()) return null;
+            return mapDirectory.isEmpty() ? atlas : BinaryLevelWriter.normalizePath(mapDirectory + "/" + atlas);
+        }
+
+        /**
+         * Carte de rendu avec des textures deja chargees (par exemple par un AssetManager,
+         * qui en reste proprietaire). Demande un contexte GL.
+         * Pour un niveau en chunks, seules les couches de la fenetre chargee existent
+         * (voir {@link StreamingTiledMap}).
+         */
+        public TiledMap createMap(Texture[] textures) {
+            return createMap(textures, null);
+        }
+
+        /**
+         * Carte de rendu dont toutes les tuiles viennent d'un meme atlas: une seule texture
+         * a lier pour dessiner tous les jeux de tuiles.
+         */
+        public TiledMap createMap(TextureAtlas atlas) {
+            return createMap(null, atlas);
+        }
+
+        private TiledMap createMap(Texture[] textures, TextureAtlas atlas) {
+            TiledMap map = new TiledMap();
+            for (Iterator<String> keys = properties.getKeys(); keys.hasNext(); ) {
+                String key = keys.next();
+                map.getProperties().put(key, properties.get(key));
+            }
+
+            int textureIndex = 0;
+            for (TileSetInfo info : tileSets) {
+                if (info.imageSource.isEmpty()) continue;
+                map.getTileSets().addTileSet(atlas != null ? createTileSet(info, atlas)
+                    : createTileSet(info, textures[textureIndex++]));
+            }
+
+            int tileWidth = properties.get("tilewidth", 32, Integer.class);
+            int tileHeight = properties.get("tileheight", 32, Integer.class);
+            if (level.getTileGrid() instanceof StreamingTileGrid) {
+                new StreamingTiledMap(map, layers, (StreamingTileGrid) level.getTileGrid(), tileWidth, tileHeight);
+                return map;
+            }
+            for (LayerInfo info : layers) {
+                map.getLayers().add(createLayer(info, map, tileWidth, tileHeight));
+            }
+
+            return map;
+        }
+    }
+
+    private final TiledLevelLoader.CollisionMode collisionMode;
+    private final int streamingMinColumns;
+    private final int chunkColumns;
+    private final float streamingWindowWidth;
+
+    public BinaryLevelReader(TiledLevelLoader.CollisionMode collisionMode) {
+        this(collisionMode, Integer.MAX_VALUE, 0, 0);
+    }
+
+    /**
+     * @param streamingMinColumns a partir de cette largeur, la grille est lue par chunks au lieu d'etre copiee
+     * @param chunkColumns largeur d'un chunk, en colonnes
+     * @param streamingWindowWidth etendue (unites du monde) a garder chargee autour de la camera
+     */
+    public BinaryLevelReader(TiledLevelLoader.CollisionMode collisionMode, int streamingMinColumns,
+                             int chunkColumns, float streamingWindowWidth) {
+        this.collisionMode = collisionMode;
+        this.streamingMinColumns = streamingMinColumns;
+        this.chunkColumns = chunkColumns;
+        this.streamingWindowWidth = streamingWindowWidth;
+    }
+
+    /**
+     * Lit le cache s'il correspond au TMX source (empreinte), au mode de collision et a la version
+     * du format; retourne null sinon.
+     */
+    public BinaryLevel read(File file, long sourceHash) throws IOException {
+        MappedByteBuffer buffer;
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            // La projection reste valide apres la fermeture du canal
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+        return read(buffer, sourceHash);
+    }
+
+    /** Meme lecture depuis un niveau deja en memoire; grille et couches restent des vues sur le tampon. */
+    public BinaryLevel read(ByteBuffer buffer, long sourceHash) {
+        if (buffer.remaining() < 16 || buffer.getInt() != BinaryLevelFormat.MAGIC) return null;
+        if (buffer.getShort() != BinaryLevelFormat.VERSION) return null;
+        if (buffer.get() != collisionMode.ordinal()) return null;
+        buffer.get();
+        if (buffer.getLong() != sourceHash) return null;
+
+        Level level = new Level();
+        MapProperties properties = readProperties(buffer);
+        TiledLevelLoader.applyLevelProperties(level, properties);
+        readPlayer(buffer, level);
+        level.setTileGrid(readGrid(buffer));
+        level.setStaticGeometry(readGeometry(buffer));
+        TileSetInfo[] tileSets = readTileSets(buffer);
+        LayerInfo[] layers = readTileLayers(buffer);
+
+        return new BinaryLevel(level, properties, tileSets, layers);
+    }
+
+    private static MapProperties readProperties(ByteBuffer buffer) {
+        MapProperties props = new MapProperties();
+        int count = buffer.getInt();
+        for (int i = 0; i < count; i++) {
+            String key = readString(buffer);
+            byte type = buffer.get();
+            switch (type) {
+                case BinaryLevelFormat.PROPERTY_FLOAT: props.put(key, buffer.getFloat()); break;
+                case BinaryLevelFormat.PROPERTY_INT: props.put(key, buffer.getInt()); break;
+                case BinaryLevelFormat.PROPERTY_BOOLEAN: props.put(key, buffer.get() != 0); break;
+                default: props.put(key, readString(buffer));
+            }
+        }
+        return props;
+    }
+
+    private static void readPlayer(ByteBuffer buffer, Level level) {
+        if (buffer.get() == 0) return;
+        float x = buffer.getFloat();
+        float y = buffer.getFloat();
+        float width = buffer.getFloat();
+        float height = buffer.getFloat();
+        level.addEntity(EntityFactory.createPlayer(x, y, width, height));
+    }
+
+    private TileGrid readGrid(ByteBuffer buffer) {
+        if (buffer.get() == 0) return null;
+        int width = buffer.getInt();
+        int height = buffer.getInt();
+        float tileWidth = buffer.getFloat();
+        float tileHeight = buffer.getFloat();
+        float killerOffsetX = buffer.getFloat();
+        float killerOffsetY = buffer.getFloat();
+        float killerWidth = buffer.getFloat();
+        float killerHeight = buffer.getFloat();
+
+        TileGrid grid;
+        if (width >= streamingMinColumns) {
+            ByteBuffer slice = buffer.slice();
+            slice.limit(width * height);
+            buffer.position(buffer.position() + width * height);
+            int windowChunks = StreamingTileGrid.windowChunksFor(streamingWindowWidth, chunkColumns, tileWidth);
+            grid = new StreamingTileGrid(width, tileWidth, tileHeight,
+                new BinaryChunkSource(slice, width, height, chunkColumns), windowChunks);
+        } else {
+            byte[] cells = new byte[width * height];
+            buffer.get(cells);
+            grid = new TileGrid(width, height, tileWidth, tileHeight, cells);
+        }
+        grid.setKillerHitbox(killerOffsetX, killerOffsetY, killerWidth, killerHeight);
+        return grid;
+    }
+
+    private static StaticGeometry readGeometry(ByteBuffer buffer) {
+        int size = buffer.getInt();
+        float[] x = readFloats(buffer, size);
+        float[] y = readFloats(buffer, size);
+        float[] width = readFloats(buffer, size);
+        float[] height = readFloats(buffer, size);
+        float[] cellWidth = readFloats(buffer, size);
+        float[] cellHeight = readFloats(buffer, size);
+        byte[] type = new byte[size];
+        buffer.get(type);
+        return StaticGeometry.of(x, y, width, height, type, cellWidth, cellHeight);
+    }
+
+    private static float[] readFloats(ByteBuffer buffer, int size) {
+        float[] values = new float[size];
+        buffer.asFloatBuffer().get(values);
+        buffer.position(buffer.position() + size * 4);
+        return values;
+    }
+
+    private static TileSetInfo[] readTileSets(ByteBuffer buffer) {
+        TileSetInfo[] tileSets = new TileSetInfo[buffer.getInt()];
+        for (int i = 0; i < tileSets.length; i++) {
+            TileSetInfo info = new TileSetInfo();
+            info.firstGid = buffer.getInt();
+            info.name = readString(buffer);
+            info.imageSource = readString(buffer);
+            info.tileWidth = buffer.getInt();
+            info.tileHeight = buffer.getInt();
+            info.spacing = buffer.getInt();
+            info.margin = buffer.getInt();
+            info.columns = buffer.getInt();
+            info.tileCount = buffer.getInt();
+            tileSets[i] = info;
+        }
+        return tileSets;
+    }
+
+    private static LayerInfo[] readTileLayers(ByteBuffer buffer) {
+        LayerInfo[] layers = new LayerInfo[buffer.getInt()];
+        for (int i = 0; i < layers.length; i++) {
+            LayerInfo info = new LayerInfo();
+            info.name = readString(buffer);
+            info.visible = buffer.get() != 0;
+            info.opacity = buffer.getFloat();
+            info.width = buffer.getInt();
+            info.height = buffer.getInt();
+
+            int count = info.width * info.height;
+            ByteBuffer slice = buffer.slice();
+            slice.limit(count * 4);
+            info.gids = slice.asIntBuffer();
+            buffer.position(buffer.position() + count * 4);
+            layers[i] = info;
+        }
+        return layers;
+    }
+
+    private static String readString(ByteBuffer buffer) {
+        byte[] bytes = new byte[buffer.getShort() & 0xFFFF];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /** Decoupe l'image en tuiles comme TmxMapLoader: identifiant global = firstgid + indice local. */
+    private static TiledMapTileSet createTileSet(TileSetInfo info, Texture texture) {
+        TiledMapTileSet tileSet = newTileSet(info);
+
+        int columns = info.columns > 0 ? info.columns
+            : (texture.getWidth() - 2 * info.margin + info.spacing) / (info.tileWidth + info.spacing);
+        int rows = (texture.getHeight() - 2 * info.margin + info.spacing) / (info.tileHeight + info.spacing);
+        int tileCount = info.tileCount > 0 ? info.tileCount : columns * rows;
+
+        for (int id = 0; id < tileCount; id++) {
+            int x = info.margin + (id % columns) * (info.tileWidth + info.spacing);
+            int y = info.margin + (id / columns) * (info.tileHeight + info.spacing);
+            StaticTiledMapTile tile = new StaticTiledMapTile(new TextureRegion(texture, x, y, info.tileWidth, info.tileHeight));
+            tile.setId(info.firstGid + id);
+            tileSet.putTile(tile.getId(), tile);
+        }
+        return tileSet;
+    }
+
+    /**
+     * Tuiles prises dans l'atlas, comme AtlasTmxMapLoader: region nommee comme le jeu de tuiles,
+     * d'indice egal a l'identifiant local. Les tuiles vides, ecartees a l'empaquetage, n'existent pas.
+     */
+    private static TiledMapTileSet createTileSet(TileSetInfo info, TextureAtlas atlas) {
+        TiledMapTileSet tileSet = newTileSet(info);
+        for (TextureAtlas.AtlasRegion region : atlas.findRegions(info.name)) {
+            StaticTiledMapTile tile = new StaticTiledMapTile(region);
+            tile.setId(info.firstGid + region.index);
+            tileSet.putTile(tile.getId(), tile);
+        }
+        return tileSet;
+    }
+
+    private static TiledMapTileSet newTileSet(TileSetInfo info) {
+        TiledMapTileSet tileSet = new TiledMapTileSet();
+        tileSet.setName(info.name);
+        MapProperties props = tileSet.getProperties();
+        props.put("firstgid", info.firstGid);
+        props.put("imagesource", info.imageSource);
+        props.put("tilewidth", info.tileWidth);
+        props.put("tileheight", info.tileHeight);
+        props.put("spacing", info.spacing);
+        props.put("margin", info.margin);
+        return tileSet;
+    }
+
+    private static TiledMapTileLayer createLayer(LayerInfo info, TiledMap map, int tileWidth, int tileHeight) {
+        TiledMapTileLayer layer = new TiledMapTileLayer(info.width, info.height, tileWidth, tileHeight);
+        layer.setName(info.name);
+        layer.setVisible(info.visible);
+        layer.setOpacity(info.opacity);
+
+        for (int y = 0; y < info.height; y++) {
+            for (int x = 0; x < info.width; x++) {
+                int raw = info.gids.get(y * info.width + x);
+                TiledMapTile tile = tileOf(map, raw);
+                if (tile == null) continue;
+                layer.setCell(x, info.height - 1 - y, createCell(tile, raw));
+            }
+        }
+        return layer;
+    }
+
+    private static TiledMapTileLayer.Cell createCell(TiledMapTile tile, int raw) {
+        return configureCell(new TiledMapTileLayer.Cell(), tile, raw);
+    }
+
+    /** Tuile designee par un identifiant brut, bits de retournement ignores; null si aucune. */
+    static TiledMapTile tileOf(TiledMap map, int raw) {
+        return map.getTileSets().getTile(raw & ~FLIP_FLAGS_MASK);
+    }
+
+    /** Memes conventions de retournement et de rotation que TmxMapLoader. Reinitialise une cellule reutilisee. */
+    static TiledMapTileLayer.Cell configureCell(TiledMapTileLayer.Cell cell, TiledMapTile tile, int raw) {
+        boolean flipHorizontally = (raw & FLIP_HORIZONTALLY) != 0;
+        boolean flipVertically = (raw & FLIP_VERTICALLY) != 0;
+        boolean flipDiagonally = (raw & FLIP_DIAGONALLY) != 0;
+
+        cell.setTile(tile);
+        cell.setFlipHorizontally(false);
+        cell.setFlipVertically(false);
+        cell.setRotation(TiledMapTileLayer.Cell.ROTATE_0);
+        if (flipDiagonally) {
+            if (flipHorizontally && flipVertically) {
+                cell.setFlipHorizontally(true);
+                cell.setRotation(TiledMapTileLayer.Cell.ROTATE_270);
+            } else if (flipHorizontally) {
+                cell.setRotation(TiledMapTileLayer.Cell.ROTATE_270);
+            } else if (flipVertically) {
+                cell.setRotation(TiledMapTileLayer.Cell.ROTATE_90);
+            } else {
+                cell.setFlipVertically(true);
+                cell.setRotation(TiledMapTileLayer.Cell.ROTATE_270);
+            }
+        } else {
+            cell.setFlipHorizontally(flipHorizontally);
+            cell.setFlipVertically(flipVertically);
+        }
+        return cell;
+    }
+
+    private static FileHandle resolve(FileHandle directory, String relativePath) {
+        FileHandle file = directory;
+        for (String segment : relativePath.split("/")) {
+            if (segment.isEmpty() || ".".equals(segment)) continue;
+            file = "..".equals(segment) ? file.parent() : file.child(segment);
+        }
+        return file;
+    }
+}
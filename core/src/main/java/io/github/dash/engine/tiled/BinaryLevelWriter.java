@@ -0,0 +1,209 @@
+package io.github.dash.engine.tiled;
+
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.maps.MapProperties;
+import com.badlogic.gdx.maps.tiled.TiledMap;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.XmlReader;
+import com.badlogic.gdx.utils.XmlReader.Element;
+import io.github.dash.engine.model.Level;
+import io.github.dash.engine.model.Player;
+import io.github.dash.engine.model.StaticGeometry;
+import io.github.dash.engine.model.TileGrid;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayDeque;
+import java.util.Iterator;
+
+/**
+ * Compile un TMX en niveau binaire (voir {@link BinaryLevelFormat}).
+ * Le niveau est construit une fois par {@link TiledLevelLoader#buildLevel(TiledMap)},
+ * puis sa grille et sa geometrie deja fusionnee sont ecrites telles quelles.
+ */
+public class BinaryLevelWriter {
+    private final TiledLevelLoader loader;
+
+    public BinaryLevelWriter(TiledLevelLoader loader) {
+        this.loader = loader;
+    }
+
+    /** Lit et construit le niveau depuis le TMX, puis ecrit son cache. */
+    public void compile(File tmxFile, File out) throws IOException {
+        FileHandle tmx = new FileHandle(tmxFile);
+        Element root = new XmlReader().parse(tmx);
+        TiledMap map = new TmxDataReader().read(root);
+        writeFile(encode(tmx, root, map, loader.buildLevel(map)), out);
+    }
+
+    /** Remplace le fichier d'un bloc, pour qu'il ne soit jamais lu a moitie ecrit. */
+    public static void writeFile(byte[] compiled, File out) throws IOException {
+        File directory = out.getAbsoluteFile().getParentFile();
+        if (directory != null) directory.mkdirs();
+        File temp = new File(out.getPath() + ".tmp");
+        Files.write(temp.toPath(), compiled);
+        Files.move(temp.toPath(), out.toPath(), StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    /**
+     * Niveau binaire, en memoire, d'un niveau deja construit depuis ce TMX et sa racine XML (lue une
+     * seule fois, voir {@link TmxDataReader#read(Element)}). Le TMX peut etre une ressource d'archive:
+     * il n'a pas besoin d'etre un fichier.
+     */
+    public byte[] encode(FileHandle tmx, Element root, TiledMap map, Level level) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream((int) Math.max(tmx.length(), 1024));
+        DataOutputStream data = new DataOutputStream(bytes);
+        data.writeInt(BinaryLevelFormat.MAGIC);
+        data.writeShort(BinaryLevelFormat.VERSION);
+        data.writeByte(loader.getCollisionMode().ordinal());
+        data.writeByte(0);
+        data.writeLong(BinaryLevelFormat.hash(tmx));
+
+        writeProperties(data, map.getProperties());
+        writePlayer(data, level.getPlayer());
+        writeGrid(data, level.getTileGrid());
+        writeGeometry(data, level.getStaticGeometry());
+        writeTileSets(data, root, tmx);
+        writeTileLayers(data, root);
+        data.flush();
+        return bytes.toByteArray();
+    }
+
+    private void writeProperties(DataOutputStream data, MapProperties props) throws IOException {
+        int count = 0;
+        for (Iterator<String> keys = props.getKeys(); keys.hasNext(); keys.next()) count++;
+        data.writeInt(count);
+
+        for (Iterator<String> keys = props.getKeys(); keys.hasNext(); ) {
+            String key = keys.next();
+            Object value = props.get(key);
+            writeString(data, key);
+            if (value instanceof Float) {
+                data.writeByte(BinaryLevelFormat.PROPERTY_FLOAT);
+                data.writeFloat((Float) value);
+            } else if (value instanceof Integer) {
+                data.writeByte(BinaryLevelFormat.PROPERTY_INT);
+                data.writeInt((Integer) value);
+            } else if (value instanceof Boolean) {
+                data.writeByte(BinaryLevelFormat.PROPERTY_BOOLEAN);
+                data.writeBoolean((Boolean) value);
+            } else {
+                data.writeByte(BinaryLevelFormat.PROPERTY_STRING);
+                writeString(data, String.valueOf(value));
+            }
+        }
+    }
+
+    private void writePlayer(DataOutputStream data, Player player) throws IOException {
+        data.writeBoolean(player != null);
+        if (player == null) return;
+        data.writeFloat(player.getX());
+        data.writeFloat(player.getY());
+        data.writeFloat(player.getWidth());
+        data.writeFloat(player.getHeight());
+    }
+
+    private void writeGrid(DataOutputStream data, TileGrid grid) throws IOException {
+        data.writeBoolean(grid != null);
+        if (grid == null) return;
+        data.writeInt(grid.getWidth());
+        data.writeInt(grid.getHeight());
+        data.writeFloat(grid.getTileWidth());
+        data.writeFloat(grid.getTileHeight());
+        data.writeFloat(grid.getKillerOffsetX());
+        data.writeFloat(grid.getKillerOffsetY());
+        data.writeFloat(grid.getKillerWidth());
+        data.writeFloat(grid.getKillerHeight());
+        for (int y = 0; y < grid.getHeight(); y++) {
+            for (int x = 0; x < grid.getWidth(); x++) {
+                data.writeByte(grid.get(x, y));
+            }
+        }
+    }
+
+    /** Tableaux paralleles ecrits colonne par colonne, dans l'ordre trie par x. */
+    private void writeGeometry(DataOutputStream data, StaticGeometry geometry) throws IOException {
+        int size = geometry != null ? geometry.size() : 0;
+        data.writeInt(size);
+        for (int i = 0; i < size; i++) data.writeFloat(geometry.getX(i));
+        for (int i = 0; i < size; i++) data.writeFloat(geometry.getY(i));
+        for (int i = 0; i < size; i++) data.writeFloat(geometry.getWidth(i));
+        for (int i = 0; i < size; i++) data.writeFloat(geometry.getHeight(i));
+        for (int i = 0; i < size; i++) data.writeFloat(geometry.getCellWidth(i));
+        for (int i = 0; i < size; i++) data.writeFloat(geometry.getCellHeight(i));
+        for (int i = 0; i < size; i++) data.writeByte(geometry.getType(i));
+    }
+
+    /** Jeux de tuiles (internes ou TSX); le chemin de l'image est rendu relatif au dossier de la carte. */
+    private void writeTileSets(DataOutputStream data, Element root, FileHandle tmx) throws IOException {
+        Array<Element> tileSets = root.getChildrenByName("tileset");
+        data.writeInt(tileSets.size);
+
+        for (Element element : tileSets) {
+            int firstGid = element.getIntAttribute("firstgid", 1);
+            String directory = "";
+            String source = element.getAttribute("source", null);
+            if (source != null) {
+                element = new XmlReader().parse(tmx.parent().child(source));
+                int slash = source.lastIndexOf('/');
+                directory = slash >= 0 ? source.substring(0, slash + 1) : "";
+            }
+            Element image = element.getChildByName("image");
+
+            data.writeInt(firstGid);
+            writeString(data, element.getAttribute("name", ""));
+            writeString(data, image != null ? normalizePath(directory + image.getAttribute("source", "")) : "");
+            data.writeInt(element.getIntAttribute("tilewidth", 0));
+            data.writeInt(element.getIntAttribute("tileheight", 0));
+            data.writeInt(element.getIntAttribute("spacing", 0));
+            data.writeInt(element.getIntAttribute("margin", 0));
+            data.writeInt(element.getIntAttribute("columns", 0));
+            data.writeInt(element.getIntAttribute("tilecount", 0));
+        }
+    }
+
+    /** Identifiants bruts, bits de retournement compris, dans l'ordre du fichier (premiere ligne en haut). */
+    private void writeTileLayers(DataOutputStream data, Element root) throws IOException {
+        Array<Element> layers = root.getChildrenByName("layer");
+        data.writeInt(layers.size);
+
+        for (Element element : layers) {
+            int width = element.getIntAttribute("width", 0);
+            int height = element.getIntAttribute("height", 0);
+            writeString(data, element.getAttribute("name", ""));
+            data.writeBoolean(element.getIntAttribute("visible", 1) == 1);
+            data.writeFloat(element.getFloatAttribute("opacity", 1f));
+            data.writeInt(width);
+            data.writeInt(height);
+            for (int gid : TmxDataReader.readGids(element.getChildByName("data"), width, height)) {
+                data.writeInt(gid);
+            }
+        }
+    }
+
+    /** Chaines en UTF-8 precedees de leur longueur en octets. */
+    static void writeString(DataOutputStream data, String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        data.writeShort(bytes.length);
+        data.write(bytes);
+    }
+
+    /** Resout les segments "." et ".." d'un chemin relatif. */
+    static String normalizePath(String path) {
+        ArrayDeque<String> segments = new ArrayDeque<>();
+        for (String segment : path.split("/")) {
+            if (segment.isEmpty() || ".".equals(segment)) continue;
+            if ("..".equals(segment) && !segments.isEmpty() && !"..".equals(segments.peekLast())) {
+                segments.removeLast();
+            } else {
+                segments.addLast(segment);
+            }
+        }
+        return String.join("/", segments);
+    }
+}
@@ -8,6 +8,10 @@ import io.github.dash.engine.model.Player;
  * Factory pour creer les entites du jeu.
  */
 public class EntityFactory {
+    // Hitbox reduite des spikes (forme triangulaire), en fraction de l'objet d'origine
+    public static final float SPIKE_HITBOX_WIDTH = 0.35f;
+    public static final float SPIKE_HITBOX_HEIGHT = 0.5f;
+    public static final float SPIKE_HITBOX_Y = 0.3f;
 
     public static Player createPlayer(float x, float y, float w, float h) {
         return new Player(x, y, w, h);
@@ -17,15 +21,24 @@ public class EntityFactory {
         return new Obstacle(x, y, w, h, Obstacle.ObstacleType.SOLID);
     }
 
+    /** Solide couvrant plusieurs tuiles, qui garde le pas de la grille pour la resolution. */
+    public static Obstacle createMergedSolid(float x, float y, float w, float h, float cellW, float cellH) {
+        return new Obstacle(x, y, w, h, Obstacle.ObstacleType.SOLID, cellW, cellH);
+    }
+
     public static Obstacle createSpike(float x, float y, float w, float h) {
-        // Hitbox reduite pour les spikes (forme triangulaire)
-        float hitboxWidth = w * 0.35f;
-        float hitboxHeight = h * 0.5f;
+        float hitboxWidth = w * SPIKE_HITBOX_WIDTH;
+        float hitboxHeight = h * SPIKE_HITBOX_HEIGHT;
         float hitboxX = x + (w - hitboxWidth) / 2;
-        float hitboxY = y + h * 0.3f;
+        float hitboxY = y + h * SPIKE_HITBOX_Y;
         return new Obstacle(hitboxX, hitboxY, hitboxWidth, hitboxHeight, Obstacle.ObstacleType.KILLER);
     }
 
+    /** Obstacle mortel dont la hitbox est deja reduite, telle quelle. */
+    public static Obstacle createKiller(float x, float y, float w, float h) {
+        return new Obstacle(x, y, w, h, Obstacle.ObstacleType.KILLER);
+    }
+
     public static EndFlag createEndFlag(float x, float y, float w, float h) {
         return new EndFlag(x, y, w, h);
     }
@@ -0,0 +1,71 @@
+package io.github.dash.engine.tiled;
+
+import io.github.dash.engine.model.TileGrid;
+
+import java.util.Arrays;
+
+/**
+ * Fusion gloutonne des cellules solides en rectangles maximaux.
+ * Les cellules contigues d'une ligne forment d'abord des segments, puis les segments
+ * de meme etendue sur des lignes successives sont empiles en un seul rectangle.
+ */
+public final class SolidTileMerger {
+
+    /** Recoit un rectangle fusionne, en unites de cellules. */
+    public interface RectSink {
+        void add(int x, int y, int width, int height);
+    }
+
+    private SolidTileMerger() {}
+
+    /** Fusionne les cellules portant le drapeau et retourne le nombre de rectangles emis. */
+    public static int merge(TileGrid grid, byte flag, RectSink sink) {
+        int width = grid.getWidth();
+        int height = grid.getHeight();
+
+        // Rectangle ouvert dont le segment commence en x: ligne de depart et fin (exclue)
+        int[] openRow = new int[width];
+        int[] openEnd = new int[width];
+        int[] runEnd = new int[width];
+        Arrays.fill(openRow, -1);
+        int emitted = 0;
+
+        for (int y = 0; y < height; y++) {
+            Arrays.fill(runEnd, -1);
+            for (int x = 0; x < width; ) {
+                if (!grid.has(x, y, flag)) {
+                    x++;
+                    continue;
+                }
+                int start = x;
+                while (x < width && grid.has(x, y, flag)) x++;
+                runEnd[start] = x;
+            }
+
+            for (int x = 0; x < width; x++) {
+                if (openRow[x] < 0) continue;
+                if (runEnd[x] == openEnd[x]) {
+                    // Meme segment que la ligne du dessous: le rectangle grandit
+                    runEnd[x] = -1;
+                } else {
+                    sink.add(x, openRow[x], openEnd[x] - x, y - openRow[x]);
+                    emitted++;
+                    openRow[x] = -1;
+                }
+            }
+
+            for (int x = 0; x < width; x++) {
+                if (runEnd[x] < 0) continue;
+                openRow[x] = y;
+                openEnd[x] = runEnd[x];
+            }
+        }
+
+        for (int x = 0; x < width; x++) {
+            if (openRow[x] < 0) continue;
+            sink.add(x, openRow[x], openEnd[x] - x, height - openRow[x]);
+            emitted++;
+        }
+        return emitted;
+    }
+}
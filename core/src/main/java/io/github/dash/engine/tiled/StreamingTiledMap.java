@@ -0,0 +1,79 @@
+package io.github.dash.engine.tiled;
+
+import com.badlogic.gdx.maps.tiled.TiledMap;
+import com.badlogic.gdx.maps.tiled.TiledMapTile;
+import com.badlogic.gdx.maps.tiled.TiledMapTileLayer;
+import io.github.dash.engine.model.StreamingTileGrid;
+
+/**
+ * Couches de rendu d'un niveau en chunks: chaque emplacement de la fenetre a sa propre couche
+ * par couche du TMX, large d'un chunk et decalee en x sur le chunk qu'elle affiche.
+ * Elles sont remplies a l'installation du chunk dans la grille, en reutilisant leurs cellules;
+ * le rendu les dessine comme des couches ordinaires.
+ */
+class StreamingTiledMap implements StreamingTileGrid.Listener {
+    private final TiledMap map;
+    private final BinaryLevelReader.LayerInfo[] layers;
+    private final int chunkColumns;
+    private final int tileWidth;
+    // [couche][emplacement]
+    private final TiledMapTileLayer[][] slotLayers;
+    private final TiledMapTileLayer.Cell[][][] slotCells;
+
+    StreamingTiledMap(TiledMap map, BinaryLevelReader.LayerInfo[] layers, StreamingTileGrid grid,
+                      int tileWidth, int tileHeight) {
+        this.map = map;
+        this.layers = layers;
+        this.chunkColumns = grid.getChunkColumns();
+        this.tileWidth = tileWidth;
+        int windowChunks = grid.getWindowChunks();
+        this.slotLayers = new TiledMapTileLayer[layers.length][windowChunks];
+        this.slotCells = new TiledMapTileLayer.Cell[layers.length][windowChunks][];
+
+        // Couche l de tous les emplacements, puis couche l + 1: l'ordre de dessin du TMX est conserve
+        for (int l = 0; l < layers.length; l++) {
+            for (int slot = 0; slot < windowChunks; slot++) {
+                TiledMapTileLayer layer = new TiledMapTileLayer(chunkColumns, layers[l].height, tileWidth, tileHeight);
+                layer.setName(layers[l].name);
+                layer.setOpacity(layers[l].opacity);
+                layer.setVisible(false);
+                slotLayers[l][slot] = layer;
+                slotCells[l][slot] = new TiledMapTileLayer.Cell[chunkColumns * layers[l].height];
+                map.getLayers().add(layer);
+            }
+        }
+
+        grid.setListener(this);
+        for (int slot = 0; slot < windowChunks; slot++) {
+            if (grid.getSlotChunk(slot) >= 0) onChunkInstalled(grid.getSlotChunk(slot), slot);
+        }
+    }
+
+    @Override
+    public void onChunkInstalled(int chunk, int slot) {
+        int start = chunk * chunkColumns;
+        for (int l = 0; l < layers.length; l++) {
+            BinaryLevelReader.LayerInfo info = layers[l];
+            TiledMapTileLayer layer = slotLayers[l][slot];
+            TiledMapTileLayer.Cell[] cells = slotCells[l][slot];
+            layer.setOffsetX(start * tileWidth);
+            layer.setVisible(info.visible);
+
+            for (int x = 0; x < chunkColumns; x++) {
+                int column = start + x;
+                for (int y = 0; y < info.height; y++) {
+                    // Les identifiants sont dans l'ordre du fichier: premiere ligne en haut
+                    int raw = column < info.width ? info.gids.get((info.height - 1 - y) * info.width + column) : 0;
+                    TiledMapTile tile = raw != 0 ? BinaryLevelReader.tileOf(map, raw) : null;
+                    if (tile == null) {
+                        layer.setCell(x, y, null);
+                        continue;
+                    }
+                    int index = y * chunkColumns + x;
+                    if (cells[index] == null) cells[index] = new TiledMapTileLayer.Cell();
+                    layer.setCell(x, y, BinaryLevelReader.configureCell(cells[index], tile, raw));
+                }
+            }
+        }
+    }
+}
@@ -1,62 +1,139 @@
 package io.github.dash.engine.tiled;
 
 import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.files.FileHandle;
 import com.badlogic.gdx.maps.MapLayer;
 import com.badlogic.gdx.maps.MapObject;
 import com.badlogic.gdx.maps.MapProperties;
+import com.badlogic.gdx.maps.tiled.AtlasTmxMapLoader;
 import com.badlogic.gdx.maps.tiled.TiledMap;
 import com.badlogic.gdx.maps.tiled.TiledMapTileLayer;
 import com.badlogic.gdx.maps.tiled.TmxMapLoader;
 import io.github.dash.engine.model.Entity;
 import io.github.dash.engine.model.Level;
 import io.github.dash.engine.model.Obstacle;
+import io.github.dash.engine.model.StaticGeometry;
+import io.github.dash.engine.model.TileGrid;
+import io.github.dash.engine.platform.GameLogger;
+import io.github.dash.engine.platform.GdxGameLogger;
+
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 
 /**
  * Chargeur de niveaux Tiled (TMX).
  */
 public class TiledLevelLoader {
 
+    /**
+     * Representation des couches de tuiles pour les collisions: une grille d'occupation interrogee
+     * directement (jeu, solveur, cache binaire), ou des entites, gardees comme reference pour les
+     * comparaisons et les benchmarks. En entites, les solides sont fusionnes en rectangles maximaux.
+     */
+    public enum CollisionMode { TILE_GRID, ENTITIES }
+
+    /** Taille de la hitbox d'un spike par rapport a sa tuile, centree en bas. */
+    public static final float SPIKE_SCALE = 0.6f;
+
+    // Propriete "atlas" de la carte, lue dans l'en-tete du TMX sans l'analyser
+    private static final Pattern ATLAS_PROPERTY = Pattern.compile("<property\\s+name=\"atlas\"\\s+value=\"([^\"]*)\"");
+
     public static class LoadedLevel {
         public final Level level;
         public final TiledMap map;
+        /** Textures ou atlas de la carte chargees par l'AssetManager, a decharger avec elle. */
+        public final String[] assetPaths;
 
         public LoadedLevel(Level level, TiledMap map) {
+            this(level, map, new String[0]);
+        }
+
+        public LoadedLevel(Level level, TiledMap map, String[] assetPaths) {
             this.level = level;
             this.map = map;
+            this.assetPaths = assetPaths;
         }
     }
 
+    private final CollisionMode collisionMode;
+    private final GameLogger logger;
+
+    public TiledLevelLoader() {
+        this(CollisionMode.TILE_GRID);
+    }
+
+    public TiledLevelLoader(CollisionMode collisionMode) {
+        this(collisionMode, new GdxGameLogger());
+    }
+
+    public TiledLevelLoader(CollisionMode collisionMode, GameLogger logger) {
+        this.collisionMode = collisionMode;
+        this.logger = logger;
+    }
+
+    public CollisionMode getCollisionMode() { return collisionMode; }
+
+    /**
+     * Chargement complet sur le thread GL. Les tuiles viennent de l'atlas de packTextures quand la carte
+     * en designe un qui a ete construit (une seule texture a lier), sinon des images des jeux de tuiles.
+     */
     public LoadedLevel load(String tmxPath) {
         TiledMap map = null;
         try {
-            if (Gdx.files.internal(tmxPath).exists()) {
-                map = new TmxMapLoader().load(tmxPath);
-                Gdx.app.log("TiledLevelLoader", "Map chargee: " + tmxPath);
+            FileHandle tmx = Gdx.files.internal(tmxPath);
+            if (tmx.exists()) {
+                boolean atlas = hasAtlas(tmxPath, tmx);
+                map = atlas ? new AtlasTmxMapLoader().load(tmxPath) : new TmxMapLoader().load(tmxPath);
+                logger.log("TiledLevelLoader", "Map chargee: " + tmxPath + (atlas ? " (atlas)" : ""));
             } else {
-                Gdx.app.error("TiledLevelLoader", "Fichier introuvable: " + tmxPath);
+                logger.error("TiledLevelLoader", "Fichier introuvable: " + tmxPath);
             }
         } catch (Exception e) {
-            Gdx.app.error("TiledLevelLoader", "Erreur: " + e.getMessage());
+            logger.error("TiledLevelLoader", "Erreur: " + e.getMessage());
         }
 
         if (map == null) {
             return createFallbackLevel();
         }
 
+        return new LoadedLevel(buildLevel(map), map);
+    }
+
+    /** Vrai si la propriete "atlas" de la carte designe un atlas present, chemin relatif au TMX. */
+    static boolean hasAtlas(String tmxPath, FileHandle tmx) {
+        String text = tmx.readString();
+        int layers = text.indexOf("<layer");
+        Matcher matcher = ATLAS_PROPERTY.matcher(layers >= 0 ? text.substring(0, layers) : text);
+        if (!matcher.find()) return false;
+        int slash = tmxPath.lastIndexOf('/');
+        String atlasPath = slash >= 0 ? BinaryLevelWriter.normalizePath(tmxPath.substring(0, slash) + "/" + matcher.group(1))
+            : matcher.group(1);
+        return Gdx.files.internal(atlasPath).exists();
+    }
+
+    /**
+     * Construit le niveau a partir d'une carte deja chargee. N'utilise ni GL ni les globales
+     * libGDX: la carte peut venir de TmxMapLoader ou de {@link TmxDataReader}.
+     */
+    public Level buildLevel(TiledMap map) {
         Level level = new Level();
         MapProperties props = map.getProperties();
 
-        level.setScrollSpeed(props.get("scrollSpeed", 350.0f, Float.class));
-        level.setGravity(props.get("gravity", -3500.0f, Float.class));
-        level.setLevelName(props.get("levelName", "Niveau", String.class));
+        applyLevelProperties(level, props);
 
         int tileWidth = props.get("tilewidth", 32, Integer.class);
         int tileHeight = props.get("tileheight", 32, Integer.class);
+        int mapWidth = props.get("width", 100, Integer.class);
         int mapHeight = props.get("height", 20, Integer.class);
 
-        boolean foundTileLayers = parseTileLayers(map, level, tileWidth, tileHeight, mapHeight);
+        if (collisionMode == CollisionMode.TILE_GRID) {
+            level.setTileGrid(new TileGrid(mapWidth, mapHeight, tileWidth, tileHeight));
+        }
+
+        boolean foundTileLayers = parseTileLayers(map, level, tileWidth, tileHeight, mapWidth, mapHeight);
 
         if (!foundTileLayers) {
+            level.setTileGrid(null);
             parseObjectLayers(map, level);
         }
 
@@ -68,12 +145,39 @@ public class TiledLevelLoader {
             level.addEntity(level.getPlayer());
         }
 
-        Gdx.app.log("TiledLevelLoader", "Niveau charge: " + level.getEntities().size() + " entites");
-        return new LoadedLevel(level, map);
+        level.setStaticGeometry(StaticGeometry.fromEntities(level.getEntities()));
+
+        TileGrid grid = level.getTileGrid();
+        if (grid != null) {
+            logger.log("TiledLevelLoader", "Niveau charge: " + level.getEntities().size() + " entites, grille "
+                + grid.getWidth() + "x" + grid.getHeight() + " (" + grid.count(TileGrid.SOLID) + " solides, "
+                + grid.count(TileGrid.KILLER) + " spikes)");
+        } else {
+            logger.log("TiledLevelLoader", "Niveau charge: " + level.getEntities().size() + " entites");
+        }
+        return level;
     }
 
-    private boolean parseTileLayers(TiledMap map, Level level, int tileWidth, int tileHeight, int mapHeight) {
+    /** Proprietes de jeu de la carte, avec leurs valeurs par defaut. */
+    static void applyLevelProperties(Level level, MapProperties props) {
+        level.setScrollSpeed(props.get("scrollSpeed", 350.0f, Float.class));
+        level.setGravity(props.get("gravity", -3500.0f, Float.class));
+        level.setLevelName(props.get("levelName", "Niveau", String.class));
+    }
+
+    private boolean parseTileLayers(TiledMap map, Level level, int tileWidth, int tileHeight, int mapWidth, int mapHeight) {
         boolean foundEntities = false;
+        TileGrid grid = level.getTileGrid();
+        // Hitbox des spikes relative a la cellule, commune aux deux modes: une meme carte donne
+        // exactement les memes contacts en grille et en entites
+        float scaledW = tileWidth * SPIKE_SCALE;
+        float scaledH = tileHeight * SPIKE_SCALE;
+        Obstacle spike = EntityFactory.createSpike((tileWidth - scaledW) / 2, 0, scaledW, scaledH);
+        if (grid != null) {
+            grid.setKillerHitbox(spike.getX(), spike.getY(), spike.getWidth(), spike.getHeight());
+        }
+        // En mode entites, les solides sont d'abord marques puis fusionnes en rectangles
+        TileGrid solids = grid == null ? new TileGrid(mapWidth, mapHeight, tileWidth, tileHeight) : null;
 
         for (MapLayer layer : map.getLayers()) {
             if (!(layer instanceof TiledMapTileLayer)) continue;
@@ -100,7 +204,6 @@ public class TiledLevelLoader {
 
             int layerWidth = tileLayer.getWidth();
             int layerHeight = tileLayer.getHeight();
-            float obstacleScale = 0.6f;
 
             for (int x = 0; x < layerWidth; x++) {
                 for (int y = 0; y < layerHeight; y++) {
@@ -109,14 +212,17 @@ public class TiledLevelLoader {
                         float worldX = x * tileWidth;
                         float worldY = y * tileHeight;
 
-                        if (isGround) {
-                            level.addEntity(EntityFactory.createSolid(worldX, worldY, tileWidth, tileHeight));
+                        if (grid != null) {
+                            if (isGround) grid.mark(x, y, TileGrid.SOLID);
+                            else if (isObstacle) grid.mark(x, y, TileGrid.KILLER);
+                            else if (isEndFlag) grid.mark(x, y, TileGrid.END_FLAG);
+                            foundEntities |= isGround || isObstacle || isEndFlag;
+                        } else if (isGround) {
+                            solids.mark(x, y, TileGrid.SOLID);
                             foundEntities = true;
                         } else if (isObstacle) {
-                            float scaledW = tileWidth * obstacleScale;
-                            float scaledH = tileHeight * obstacleScale;
-                            float offsetX = (tileWidth - scaledW) / 2;
-                            level.addEntity(EntityFactory.createSpike(worldX + offsetX, worldY, scaledW, scaledH));
+                            level.addEntity(EntityFactory.createKiller(worldX + spike.getX(), worldY + spike.getY(),
+                                spike.getWidth(), spike.getHeight()));
                             foundEntities = true;
                         } else if (isEndFlag) {
                             level.addEntity(EntityFactory.createEndFlag(worldX, worldY, tileWidth, tileHeight));
@@ -127,6 +233,14 @@ public class TiledLevelLoader {
             }
         }
 
+        if (solids != null) {
+            int tileCount = solids.count(TileGrid.SOLID);
+            int merged = SolidTileMerger.merge(solids, TileGrid.SOLID, (x, y, w, h) ->
+                level.addEntity(EntityFactory.createMergedSolid(x * tileWidth, y * tileHeight,
+                    w * tileWidth, h * tileHeight, tileWidth, tileHeight)));
+            logger.log("TiledLevelLoader", "Solides fusionnes: " + tileCount + " tuiles -> " + merged + " rectangles");
+        }
+
         return foundEntities;
     }
 
@@ -158,15 +272,12 @@ public class TiledLevelLoader {
     }
 
     private float findGroundHeight(Level level, float x) {
-        float maxY = 0;
+        float maxY = level.getTileGrid() != null ? level.getTileGrid().findGroundHeight(x) : 0;
         for (Entity entity : level.getEntities()) {
             if (entity instanceof Obstacle) {
                 Obstacle obs = (Obstacle) entity;
-                if (obs.getType() == Obstacle.ObstacleType.SOLID) {
-                    if (x >= obs.getX() && x < obs.getX() + obs.getWidth()) {
-                        float top = obs.getY() + obs.getHeight();
-                        if (top > maxY) maxY = top;
-                    }
+                if (obs.getType() == Obstacle.ObstacleType.SOLID && obs.containsX(x)) {
+                    maxY = Math.max(maxY, obs.getTop());
                 }
             }
         }
@@ -174,7 +285,7 @@ public class TiledLevelLoader {
     }
 
     private LoadedLevel createFallbackLevel() {
-        Gdx.app.log("TiledLevelLoader", "Creation niveau fallback");
+        logger.log("TiledLevelLoader", "Creation niveau fallback");
         Level level = new Level();
         level.setScrollSpeed(150.0f);
         level.setGravity(-1500.0f);
@@ -186,6 +297,7 @@ public class TiledLevelLoader {
         level.addEntity(EntityFactory.createSpike(500, 50, 32, 32));
         level.addEntity(EntityFactory.createSolid(700, 50, 100, 50));
         level.addEntity(EntityFactory.createEndFlag(1500, 50, 32, 100));
+        level.setStaticGeometry(StaticGeometry.fromEntities(level.getEntities()));
 
         return new LoadedLevel(level, null);
     }
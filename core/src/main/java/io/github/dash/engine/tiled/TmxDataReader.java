@@ -0,0 +1,174 @@
+package io.github.dash.engine.tiled;
+
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.maps.MapLayer;
+import com.badlogic.gdx.maps.MapObject;
+import com.badlogic.gdx.maps.MapProperties;
+import com.badlogic.gdx.maps.objects.RectangleMapObject;
+import com.badlogic.gdx.maps.tiled.TiledMap;
+import com.badlogic.gdx.maps.tiled.TiledMapTile;
+import com.badlogic.gdx.maps.tiled.TiledMapTileLayer;
+import com.badlogic.gdx.maps.tiled.tiles.StaticTiledMapTile;
+import com.badlogic.gdx.utils.Base64Coder;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+import com.badlogic.gdx.utils.XmlReader;
+import com.badlogic.gdx.utils.XmlReader.Element;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * Lit un TMX sans charger de texture ni toucher aux globales libGDX.
+ * Produit une TiledMap equivalente a celle de TmxMapLoader pour tout ce que
+ * {@link TiledLevelLoader#buildLevel(TiledMap)} consulte: proprietes, couches, objets.
+ * Les cellules non vides pointent vers une tuile sans image.
+ */
+public class TmxDataReader {
+    private static final int FLIP_FLAGS_MASK = 0xF0000000;
+
+    private final TiledMapTile placeholderTile = new StaticTiledMapTile((TextureRegion) null);
+
+    public TiledMap read(FileHandle tmxFile) {
+        return read(new XmlReader().parse(tmxFile));
+    }
+
+    /** Carte d'un TMX deja analyse: la meme racine sert a {@link BinaryLevelWriter#encode} sans relire le XML. */
+    public TiledMap read(Element root) {
+        TiledMap map = new TiledMap();
+        MapProperties mapProps = map.getProperties();
+
+        int mapWidth = root.getIntAttribute("width", 0);
+        int mapHeight = root.getIntAttribute("height", 0);
+        int tileWidth = root.getIntAttribute("tilewidth", 0);
+        int tileHeight = root.getIntAttribute("tileheight", 0);
+        mapProps.put("width", mapWidth);
+        mapProps.put("height", mapHeight);
+        mapProps.put("tilewidth", tileWidth);
+        mapProps.put("tileheight", tileHeight);
+        loadProperties(mapProps, root.getChildByName("properties"));
+
+        float heightInPixels = mapHeight * tileHeight;
+        for (int i = 0; i < root.getChildCount(); i++) {
+            Element element = root.getChild(i);
+            if ("layer".equals(element.getName())) {
+                map.getLayers().add(readTileLayer(element, tileWidth, tileHeight));
+            } else if ("objectgroup".equals(element.getName())) {
+                map.getLayers().add(readObjectLayer(element, heightInPixels));
+            }
+        }
+        return map;
+    }
+
+    private TiledMapTileLayer readTileLayer(Element element, int tileWidth, int tileHeight) {
+        int width = element.getIntAttribute("width", 0);
+        int height = element.getIntAttribute("height", 0);
+        TiledMapTileLayer layer = new TiledMapTileLayer(width, height, tileWidth, tileHeight);
+        layer.setName(element.getAttribute("name", null));
+        layer.setVisible(element.getIntAttribute("visible", 1) == 1);
+        loadProperties(layer.getProperties(), element.getChildByName("properties"));
+
+        int[] gids = readGids(element.getChildByName("data"), width, height);
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < width; x++) {
+                int gid = gids[y * width + x] & ~FLIP_FLAGS_MASK;
+                if (gid == 0) continue;
+                TiledMapTileLayer.Cell cell = new TiledMapTileLayer.Cell();
+                cell.setTile(placeholderTile);
+                // Meme convention que TmxMapLoader: la premiere ligne du fichier est en haut
+                layer.setCell(x, height - 1 - y, cell);
+            }
+        }
+        return layer;
+    }
+
+    /** Identifiants bruts (avec bits de retournement) ligne par ligne, du haut vers le bas. */
+    static int[] readGids(Element data, int width, int height) {
+        int[] gids = new int[width * height];
+        if (data == null) return gids;
+
+        String encoding = data.getAttribute("encoding", null);
+        if ("csv".equals(encoding)) {
+            String[] values = data.getText().trim().split("[,\\s]+");
+            for (int i = 0; i < values.length && i < gids.length; i++) {
+                gids[i] = (int) Long.parseLong(values[i].trim());
+            }
+        } else if ("base64".equals(encoding)) {
+            byte[] bytes = Base64Coder.decode(data.getText().trim());
+            String compression = data.getAttribute("compression", null);
+            try (InputStream in = openCompressed(new ByteArrayInputStream(bytes), compression)) {
+                byte[] buffer = new byte[4];
+                for (int i = 0; i < gids.length; i++) {
+                    int read = 0;
+                    while (read < 4) {
+                        int n = in.read(buffer, read, 4 - read);
+                        if (n < 0) throw new GdxRuntimeException("Donnees de couche tronquees");
+                        read += n;
+                    }
+                    gids[i] = (buffer[0] & 0xFF) | (buffer[1] & 0xFF) << 8 | (buffer[2] & 0xFF) << 16 | (buffer[3] & 0xFF) << 24;
+                }
+            } catch (IOException e) {
+                throw new GdxRuntimeException("Erreur de lecture de couche", e);
+            }
+        } else {
+            throw new GdxRuntimeException("Encodage de couche non supporte: " + encoding);
+        }
+        return gids;
+    }
+
+    private static InputStream openCompressed(InputStream in, String compression) throws IOException {
+        if (compression == null) return in;
+        if ("zlib".equals(compression)) return new InflaterInputStream(in);
+        if ("gzip".equals(compression)) return new GZIPInputStream(in);
+        throw new GdxRuntimeException("Compression non supportee: " + compression);
+    }
+
+    private MapLayer readObjectLayer(Element element, float heightInPixels) {
+        MapLayer layer = new MapLayer();
+        layer.setName(element.getAttribute("name", null));
+        loadProperties(layer.getProperties(), element.getChildByName("properties"));
+
+        for (Element objectElement : element.getChildrenByName("object")) {
+            float x = objectElement.getFloatAttribute("x", 0);
+            float y = heightInPixels - objectElement.getFloatAttribute("y", 0);
+            float width = objectElement.getFloatAttribute("width", 0);
+            float height = objectElement.getFloatAttribute("height", 0);
+
+            MapObject object = new RectangleMapObject(x, y - height, width, height);
+            object.setName(objectElement.getAttribute("name", null));
+            MapProperties props = object.getProperties();
+            String type = objectElement.getAttribute("type", null);
+            if (type == null) type = objectElement.getAttribute("class", null);
+            if (type != null) props.put("type", type);
+            props.put("x", x);
+            props.put("y", y - height);
+            props.put("width", width);
+            props.put("height", height);
+            loadProperties(props, objectElement.getChildByName("properties"));
+            layer.getObjects().add(object);
+        }
+        return layer;
+    }
+
+    private static void loadProperties(MapProperties props, Element properties) {
+        if (properties == null) return;
+        for (Element property : properties.getChildrenByName("property")) {
+            String name = property.getAttribute("name", null);
+            String value = property.getAttribute("value", null);
+            if (value == null) value = property.getText();
+            String type = property.getAttribute("type", "string");
+            if ("float".equals(type)) {
+                props.put(name, Float.parseFloat(value));
+            } else if ("int".equals(type)) {
+                props.put(name, Integer.parseInt(value));
+            } else if ("bool".equals(type)) {
+                props.put(name, Boolean.parseBoolean(value));
+            } else {
+                props.put(name, value);
+            }
+        }
+    }
+}
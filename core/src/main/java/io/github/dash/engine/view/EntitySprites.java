@@ -0,0 +1,66 @@
+package io.github.dash.engine.view;
+
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.g2d.TextureAtlas;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import io.github.dash.engine.model.StaticGeometry;
+import io.github.dash.engine.model.TileGrid;
+
+/**
+ * Region de texture par type d'entite, prise dans l'atlas de packTextures ou, a defaut,
+ * decoupee dans la planche du tileset main.tsx.
+ * Toutes les regions partagent la meme texture: un seul SpriteBatch les dessine sans changer d'etat.
+ */
+public class EntitySprites {
+    public static final String SHEET = "maps/spritesheet.png";
+    // Meme atlas que les cartes: entites et tuiles sur la meme page
+    public static final String ATLAS = "atlas/tiles.atlas";
+    private static final String TILESET = "main";
+
+    // Decoupage de main.tsx
+    private static final int TILE_SIZE = 256;
+    private static final int MARGIN = 2;
+    private static final int SPACING = 2;
+    private static final int COLUMNS = 7;
+
+    // Tuiles (identifiants locaux) utilisees par les cartes livrees pour chaque type
+    private static final int SOLID_TILE = 39;
+    private static final int KILLER_TILE = 16;
+    private static final int END_FLAG_TILE = 37;
+
+    // Indexees par type de StaticGeometry
+    private final TextureRegion[] regions = new TextureRegion[3];
+
+    public EntitySprites(Texture sheet) {
+        regions[StaticGeometry.SOLID] = tile(sheet, SOLID_TILE);
+        regions[StaticGeometry.KILLER] = tile(sheet, KILLER_TILE);
+        regions[StaticGeometry.END_FLAG] = tile(sheet, END_FLAG_TILE);
+    }
+
+    public EntitySprites(TextureAtlas atlas) {
+        regions[StaticGeometry.SOLID] = atlas.findRegion(TILESET, SOLID_TILE);
+        regions[StaticGeometry.KILLER] = atlas.findRegion(TILESET, KILLER_TILE);
+        regions[StaticGeometry.END_FLAG] = atlas.findRegion(TILESET, END_FLAG_TILE);
+    }
+
+    private static TextureRegion tile(Texture sheet, int id) {
+        int x = MARGIN + (id % COLUMNS) * (TILE_SIZE + SPACING);
+        int y = MARGIN + (id / COLUMNS) * (TILE_SIZE + SPACING);
+        return new TextureRegion(sheet, x, y, TILE_SIZE, TILE_SIZE);
+    }
+
+    /** Region d'un element de {@link StaticGeometry}. */
+    public TextureRegion get(byte geometryType) {
+        return regions[geometryType];
+    }
+
+    /** Region d'une cellule de {@link TileGrid}, ou null si elle est vide. */
+    public TextureRegion forCell(byte cell) {
+        if ((cell & TileGrid.END_FLAG) != 0) return regions[StaticGeometry.END_FLAG];
+        if ((cell & TileGrid.KILLER) != 0) return regions[StaticGeometry.KILLER];
+        if ((cell & TileGrid.SOLID) != 0) return regions[StaticGeometry.SOLID];
+        return null;
+    }
+
+    public Texture getTexture() { return regions[StaticGeometry.SOLID].getTexture(); }
+}
@@ -0,0 +1,184 @@
+package io.github.dash.engine.view;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.graphics.GL20;
+import com.badlogic.gdx.graphics.g2d.BitmapFont;
+import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.graphics.glutils.ShapeRenderer;
+import com.badlogic.gdx.math.Matrix4;
+import io.github.dash.engine.perf.FrameProfiler;
+import io.github.dash.engine.perf.FrameProfiler.Phase;
+
+/**
+ * Overlay de performance: graphe glissant des temps de frame, empiles par phase, et statistiques
+ * (p50, p99, max, allocations, GC, entites, appels de dessin, liaisons de texture). Coordonnees de l'ecran HUD (1280x720).
+ * Le texte n'est recalcule que quelques fois par seconde.
+ */
+public class PerfOverlay {
+    private static final float GRAPH_X = 780;
+    private static final float GRAPH_Y = 560;
+    private static final float GRAPH_WIDTH = 480;
+    private static final float GRAPH_HEIGHT = 120;
+    private static final int TEXT_REFRESH_FRAMES = 15;
+
+    // Phases de premier niveau empilees dans le graphe; le reste de la frame est en gris
+    private static final Phase[] STACKED = {Phase.INPUT, Phase.UPDATE, Phase.RENDER, Phase.HUD};
+    private static final Color[] STACKED_COLORS = {
+        new Color(0.3f, 0.6f, 1f, 0.9f),
+        new Color(0.3f, 0.9f, 0.3f, 0.9f),
+        new Color(1f, 0.6f, 0.2f, 0.9f),
+        new Color(0.9f, 0.3f, 0.9f, 0.9f)
+    };
+    private static final Color OTHER_COLOR = new Color(0.5f, 0.5f, 0.5f, 0.6f);
+
+    private final FrameProfiler profiler;
+    private final ShapeRenderer shapeRenderer = new ShapeRenderer();
+    private final StringBuilder text = new StringBuilder(512);
+    private String lines = "";
+    private int framesSinceRefresh = TEXT_REFRESH_FRAMES;
+
+    private int entitiesVisited, spritesDrawn, levelEntities, chunksDrawn, drawCalls, textureBindings;
+    private long lastInputLatency, averageInputLatency, maxInputLatency;
+
+    public PerfOverlay(FrameProfiler profiler) {
+        this.profiler = profiler;
+    }
+
+    /** Compteurs de la frame ecoulee, fournis par le rendu. */
+    public void setCounts(int entitiesVisited, int spritesDrawn, int levelEntities, int chunksDrawn, int drawCalls,
+                          int textureBindings) {
+        this.entitiesVisited = entitiesVisited;
+        this.spritesDrawn = spritesDrawn;
+        this.levelEntities = levelEntities;
+        this.chunksDrawn = chunksDrawn;
+        this.drawCalls = drawCalls;
+        this.textureBindings = textureBindings;
+    }
+
+    /** Delais entre un appui et le tick de simulation qui l'applique, en nanosecondes. */
+    public void setInputLatency(long last, long average, long max) {
+        this.lastInputLatency = last;
+        this.averageInputLatency = average;
+        this.maxInputLatency = max;
+    }
+
+    /**
+     * @param frameBudgetNanos duree d'une frame au taux de rafraichissement, tracee en ligne de reference
+     */
+    public void render(Matrix4 projection, SpriteBatch batch, BitmapFont font, long frameBudgetNanos) {
+        if (!profiler.isEnabled() || profiler.getCount() == 0) return;
+        // Deux budgets de frame en pleine hauteur: les pics restent visibles sans ecraser le reste
+        float nanosToPixels = GRAPH_HEIGHT / (2f * frameBudgetNanos);
+
+        // ShapeRenderer ne gere pas le melange: sans lui, fond et barres translucides seraient opaques
+        Gdx.gl.glEnable(GL20.GL_BLEND);
+        Gdx.gl.glBlendFunc(GL20.GL_SRC_ALPHA, GL20.GL_ONE_MINUS_SRC_ALPHA);
+        shapeRenderer.setProjectionMatrix(projection);
+        shapeRenderer.begin(ShapeRenderer.ShapeType.Filled);
+        shapeRenderer.setColor(0f, 0f, 0f, 0.6f);
+        shapeRenderer.rect(GRAPH_X, GRAPH_Y, GRAPH_WIDTH, GRAPH_HEIGHT);
+
+        int frames = profiler.getCount();
+        float barWidth = GRAPH_WIDTH / profiler.getCapacity();
+        for (int i = 0; i < frames; i++) {
+            float x = GRAPH_X + GRAPH_WIDTH - (i + 1) * barWidth;
+            float y = GRAPH_Y;
+            for (int p = 0; p < STACKED.length; p++) {
+                float h = Math.min(profiler.sample(STACKED[p], i) * nanosToPixels, GRAPH_Y + GRAPH_HEIGHT - y);
+                shapeRenderer.setColor(STACKED_COLORS[p]);
+                shapeRenderer.rect(x, y, barWidth, h);
+                y += h;
+            }
+            float total = Math.min(profiler.frameSample(i) * nanosToPixels, GRAPH_HEIGHT);
+            if (GRAPH_Y + total > y) {
+                shapeRenderer.setColor(OTHER_COLOR);
+                shapeRenderer.rect(x, y, barWidth, GRAPH_Y + total - y);
+            }
+        }
+        shapeRenderer.setColor(Color.RED);
+        shapeRenderer.rect(GRAPH_X, GRAPH_Y + frameBudgetNanos * nanosToPixels, GRAPH_WIDTH, 1);
+        shapeRenderer.end();
+        Gdx.gl.glDisable(GL20.GL_BLEND);
+
+        if (++framesSinceRefresh >= TEXT_REFRESH_FRAMES) {
+            framesSinceRefresh = 0;
+            lines = buildText();
+        }
+        batch.setProjectionMatrix(projection);
+        batch.begin();
+        // Echelle de l'appelant, rendue telle quelle apres le texte
+        float scaleX = font.getData().scaleX;
+        float scaleY = font.getData().scaleY;
+        font.getData().setScale(1f);
+        font.setColor(Color.WHITE);
+        font.draw(batch, lines, GRAPH_X, GRAPH_Y - 10);
+        font.getData().setScale(scaleX, scaleY);
+        batch.end();
+    }
+
+    private String buildText() {
+        text.setLength(0);
+        text.append("Frame");
+        appendPercentiles(profiler.framePercentile(0.5), profiler.framePercentile(0.99), profiler.framePercentile(1));
+        for (Phase phase : Phase.values()) {
+            text.append(phase.nested ? "  " : "").append(label(phase));
+            appendPercentiles(profiler.percentile(phase, 0.5), profiler.percentile(phase, 0.99), profiler.percentile(phase, 1));
+        }
+
+        if (profiler.isAllocationSupported()) {
+            long total = 0;
+            for (int i = 0; i < profiler.getCount(); i++) total += profiler.allocatedSample(i);
+            text.append("Alloc: ").append(profiler.allocatedSample(0)).append(" o/frame (moy ")
+                .append(total / profiler.getCount()).append(")\n");
+        }
+        text.append("Entree -> physique: ");
+        appendMillis(lastInputLatency);
+        text.append("  moy ");
+        appendMillis(averageInputLatency);
+        text.append("  max ");
+        appendMillis(maxInputLatency);
+        text.append(" ms\n");
+        text.append("GC: ").append(profiler.getGcCount()).append(" collections, ")
+            .append(profiler.getGcMillis()).append(" ms de pause\n");
+        text.append("Entites: ").append(entitiesVisited).append(" visitees, ").append(spritesDrawn)
+            .append(" dessinees, ").append(levelEntities).append(" au total\n");
+        text.append("Chunks: ").append(chunksDrawn).append("   Draw calls: ").append(drawCalls)
+            .append("   Textures liees: ").append(textureBindings);
+        return text.toString();
+    }
+
+    private static String label(Phase phase) {
+        switch (phase) {
+            case INPUT: return "Entrees";
+            case UPDATE: return "Simulation";
+            case BROADPHASE: return "Broad phase";
+            case NARROWPHASE: return "Narrow phase";
+            case RENDER: return "Monde";
+            default: return "HUD";
+        }
+    }
+
+    private void appendPercentiles(long p50, long p99, long max) {
+        text.append(": p50 ");
+        appendMillis(p50);
+        text.append("  p99 ");
+        appendMillis(p99);
+        text.append("  max ");
+        appendMillis(max);
+        text.append(" ms\n");
+    }
+
+    /** Millisecondes a deux decimales, sans passer par String.format. */
+    private void appendMillis(long nanos) {
+        long hundredths = nanos / 10_000;
+        text.append(hundredths / 100).append('.');
+        long decimals = hundredths % 100;
+        if (decimals < 10) text.append('0');
+        text.append(decimals);
+    }
+
+    public void dispose() {
+        shapeRenderer.dispose();
+    }
+}
@@ -0,0 +1,138 @@
+package io.github.dash.engine.view;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.graphics.GL20;
+import com.badlogic.gdx.graphics.OrthographicCamera;
+import com.badlogic.gdx.graphics.g2d.SpriteCache;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.maps.MapLayer;
+import com.badlogic.gdx.maps.tiled.TiledMap;
+import com.badlogic.gdx.maps.tiled.TiledMapImageLayer;
+import com.badlogic.gdx.maps.tiled.TiledMapTile;
+import com.badlogic.gdx.maps.tiled.TiledMapTileLayer;
+import com.badlogic.gdx.maps.tiled.tiles.AnimatedTiledMapTile;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Calques de tuiles d'une carte figee, precalcules dans un SpriteCache par tranches de colonnes.
+ * Les sommets sont envoyes une seule fois au chargement: a chaque frame, chaque chunk
+ * sous la camera coute un appel de dessin, sans aucun calcul de sommets.
+ */
+public class StaticLevelCache {
+    public static final int CHUNK_COLUMNS = 16;
+    // Au-dela, les indices 16 bits du SpriteCache ne suffisent plus
+    private static final int MAX_INDEXED_SPRITES = 8191;
+
+    private final SpriteCache cache;
+    // Identifiant de cache de chaque chunk, -1 s'il est vide
+    private final int[] chunkIds;
+    private final float chunkWidth;
+    private int chunksDrawn;
+
+    private StaticLevelCache(SpriteCache cache, int[] chunkIds, float chunkWidth) {
+        this.cache = cache;
+        this.chunkIds = chunkIds;
+        this.chunkWidth = chunkWidth;
+    }
+
+    /**
+     * Precalcule les calques de tuiles visibles de la carte.
+     * Retourne null si elle n'a pas de calque de tuiles, ou contient des tuiles animees ou des calques
+     * d'image, qui doivent rester au OrthogonalTiledMapRenderer.
+     */
+    public static StaticLevelCache bake(TiledMap map) {
+        List<TiledMapTileLayer> layers = new ArrayList<>();
+        int columns = 0;
+        int sprites = 0;
+        for (MapLayer layer : map.getLayers()) {
+            if (layer instanceof TiledMapImageLayer) return null;
+            if (!(layer instanceof TiledMapTileLayer) || !layer.isVisible()) continue;
+            TiledMapTileLayer tileLayer = (TiledMapTileLayer) layer;
+            for (int x = 0; x < tileLayer.getWidth(); x++) {
+                for (int y = 0; y < tileLayer.getHeight(); y++) {
+                    TiledMapTileLayer.Cell cell = tileLayer.getCell(x, y);
+                    if (cell == null || cell.getTile() == null) continue;
+                    if (cell.getTile() instanceof AnimatedTiledMapTile) return null;
+                    sprites++;
+                }
+            }
+            layers.add(tileLayer);
+            columns = Math.max(columns, tileLayer.getWidth());
+        }
+        if (layers.isEmpty()) return null;
+
+        SpriteCache cache = new SpriteCache(Math.max(1, sprites), sprites <= MAX_INDEXED_SPRITES);
+        int[] chunkIds = new int[(columns + CHUNK_COLUMNS - 1) / CHUNK_COLUMNS];
+        for (int chunk = 0; chunk < chunkIds.length; chunk++) {
+            int firstColumn = chunk * CHUNK_COLUMNS;
+            int added = 0;
+            cache.beginCache();
+            // Calque par calque dans chaque chunk: l'ordre de dessin du TMX est conserve
+            for (TiledMapTileLayer layer : layers) {
+                cache.setColor(1f, 1f, 1f, layer.getOpacity());
+                int lastColumn = Math.min(layer.getWidth(), firstColumn + CHUNK_COLUMNS);
+                for (int x = firstColumn; x < lastColumn; x++) {
+                    for (int y = 0; y < layer.getHeight(); y++) {
+                        TiledMapTileLayer.Cell cell = layer.getCell(x, y);
+                        if (cell == null || cell.getTile() == null) continue;
+                        add(cache, layer, cell, x, y);
+                        added++;
+                    }
+                }
+            }
+            int id = cache.endCache();
+            chunkIds[chunk] = added > 0 ? id : -1;
+        }
+
+        float chunkWidth = CHUNK_COLUMNS * layers.get(0).getTileWidth();
+        return new StaticLevelCache(cache, chunkIds, chunkWidth);
+    }
+
+    private static void add(SpriteCache cache, TiledMapTileLayer layer, TiledMapTileLayer.Cell cell, int x, int y) {
+        TiledMapTile tile = cell.getTile();
+        TextureRegion region = tile.getTextureRegion();
+        if (cell.getFlipHorizontally() || cell.getFlipVertically()) {
+            region = new TextureRegion(region);
+            region.flip(cell.getFlipHorizontally(), cell.getFlipVertically());
+        }
+        float width = region.getRegionWidth();
+        float height = region.getRegionHeight();
+        // Meme placement que OrthogonalTiledMapRenderer (decalage y du calque vers le bas)
+        float worldX = x * layer.getTileWidth() + tile.getOffsetX() + layer.getOffsetX();
+        float worldY = y * layer.getTileHeight() + tile.getOffsetY() - layer.getOffsetY();
+        cache.add(region, worldX, worldY, width / 2, height / 2, width, height, 1f, 1f,
+            cell.getRotation() * 90f);
+    }
+
+    /** Dessine les chunks qui chevauchent la camera. */
+    public void render(OrthographicCamera camera) {
+        float halfW = camera.viewportWidth * camera.zoom / 2;
+        int first = Math.max(0, (int) Math.floor((camera.position.x - halfW) / chunkWidth));
+        int last = Math.min(chunkIds.length - 1, (int) Math.floor((camera.position.x + halfW) / chunkWidth));
+
+        chunksDrawn = 0;
+        // SpriteCache ne gere pas le melange, contrairement a SpriteBatch
+        Gdx.gl.glEnable(GL20.GL_BLEND);
+        Gdx.gl.glBlendFunc(GL20.GL_SRC_ALPHA, GL20.GL_ONE_MINUS_SRC_ALPHA);
+        cache.setProjectionMatrix(camera.combined);
+        cache.begin();
+        for (int chunk = first; chunk <= last; chunk++) {
+            if (chunkIds[chunk] < 0) continue;
+            cache.draw(chunkIds[chunk]);
+            chunksDrawn++;
+        }
+        cache.end();
+        Gdx.gl.glDisable(GL20.GL_BLEND);
+    }
+
+    /** Appels de dessin du dernier rendu. */
+    public int getRenderCalls() { return cache.renderCalls; }
+    public int getChunksDrawn() { return chunksDrawn; }
+    public int getChunkCount() { return chunkIds.length; }
+
+    public void dispose() {
+        cache.dispose();
+    }
+}
@@ -4,58 +4,215 @@ import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.graphics.Color;
 import com.badlogic.gdx.graphics.OrthographicCamera;
 import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
 import com.badlogic.gdx.graphics.glutils.ShapeRenderer;
+import com.badlogic.gdx.maps.MapLayer;
 import com.badlogic.gdx.maps.tiled.TiledMap;
+import com.badlogic.gdx.maps.tiled.TiledMapTileLayer;
 import com.badlogic.gdx.maps.tiled.renderers.OrthogonalTiledMapRenderer;
-import io.github.dash.engine.model.Entity;
 import io.github.dash.engine.model.GameWorld;
+import io.github.dash.engine.model.Level;
 import io.github.dash.engine.model.Player;
+import io.github.dash.engine.model.StaticGeometry;
+import io.github.dash.engine.model.StreamingTileGrid;
+import io.github.dash.engine.model.SweepIndex;
+import io.github.dash.engine.model.TileGrid;
+import io.github.dash.engine.perf.PerfEvents;
+import io.github.dash.engine.tiled.EntityFactory;
 
 /**
  * Rendu du monde de jeu.
+ * Les tuiles des cartes Tiled sont precalculees par chunks ({@link StaticLevelCache}); seules les cartes
+ * qui changent (niveaux en chunks, tuiles animees) passent par OrthogonalTiledMapRenderer. Les niveaux sans calque
+ * de tuiles (calque d'objets, mode infini) sont dessines en sprites, en une seule passe de SpriteBatch,
+ * en ne visitant que ce qui chevauche la camera.
  */
 public class WorldRenderer {
     private final GameWorld gameWorld;
     private final OrthographicCamera camera;
     private final TiledMap tiledMap;
     private OrthogonalTiledMapRenderer tiledMapRenderer;
+    private StaticLevelCache staticCache;
+    private final SpriteBatch batch;
     private final ShapeRenderer shapeRenderer;
+    private final EntitySprites sprites;
 
-    public WorldRenderer(GameWorld gameWorld, OrthographicCamera camera, SpriteBatch batch, TiledMap tiledMap) {
+    // Index propre au rendu sur la meme geometrie que la collision: la camera a son propre curseur
+    private final SweepIndex visibleIndex;
+    // Debordement des sprites de spikes autour de leur hitbox, pour elargir la requete
+    private float spriteMarginX, spriteMarginY;
+
+    private PerfEvents perfEvents = PerfEvents.NONE;
+    private int drawCalls;
+    private int entitiesVisited;
+    private int spritesDrawn;
+
+    /**
+     * @param sprites regions des entites, ou null pour ne dessiner que la carte et le joueur
+     */
+    public WorldRenderer(GameWorld gameWorld, OrthographicCamera camera, SpriteBatch batch, TiledMap tiledMap,
+                         EntitySprites sprites) {
         this.gameWorld = gameWorld;
         this.camera = camera;
         this.tiledMap = tiledMap;
+        this.batch = batch;
         this.shapeRenderer = new ShapeRenderer();
+        this.sprites = sprites;
 
         if (tiledMap != null) {
-            this.tiledMapRenderer = new OrthogonalTiledMapRenderer(tiledMap, batch);
+            // Une carte en chunks reaffecte ses cellules pendant la partie: elle ne peut pas etre figee
+            if (!(gameWorld.getCurrentLevel().getTileGrid() instanceof StreamingTileGrid)) {
+                staticCache = StaticLevelCache.bake(tiledMap);
+            }
+            if (staticCache == null) {
+                this.tiledMapRenderer = new OrthogonalTiledMapRenderer(tiledMap, batch);
+            }
         } else {
             Gdx.app.log("WorldRenderer", "TiledMap null");
         }
+
+        // Les solides issus de calques de tuiles sont deja dessines par la carte
+        StaticGeometry geometry = gameWorld.getCurrentLevel().getStaticGeometry();
+        if (sprites != null && geometry != null && geometry.size() > 0 && !hasTileLayers(tiledMap)) {
+            visibleIndex = new SweepIndex(geometry);
+            for (int i = 0; i < geometry.size(); i++) {
+                if (geometry.getType(i) != StaticGeometry.KILLER) continue;
+                float spriteWidth = geometry.getWidth(i) / EntityFactory.SPIKE_HITBOX_WIDTH;
+                float spriteHeight = geometry.getHeight(i) / EntityFactory.SPIKE_HITBOX_HEIGHT;
+                spriteMarginX = Math.max(spriteMarginX, (spriteWidth - geometry.getWidth(i)) / 2);
+                spriteMarginY = Math.max(spriteMarginY, spriteHeight - geometry.getHeight(i));
+            }
+        } else {
+            visibleIndex = null;
+        }
+    }
+
+    private static boolean hasTileLayers(TiledMap map) {
+        if (map == null) return false;
+        for (MapLayer layer : map.getLayers()) {
+            if (layer instanceof TiledMapTileLayer) return true;
+        }
+        return false;
+    }
+
+    /**
+     * @param alpha fraction du tick de simulation ecoulee, pour interpoler le joueur
+     */
+    public void render(float alpha) {
+        perfEvents.worldRenderBegin();
+        draw(alpha);
+        perfEvents.worldRenderEnd(entitiesVisited, spritesDrawn, drawCalls);
     }
 
-    public void render() {
-        if (tiledMapRenderer != null) {
-            camera.update();
+    private void draw(float alpha) {
+        drawCalls = 0;
+        entitiesVisited = 0;
+        spritesDrawn = 0;
+        camera.update();
+
+        if (staticCache != null) {
+            staticCache.render(camera);
+            drawCalls += staticCache.getRenderCalls();
+        } else if (tiledMapRenderer != null) {
             tiledMapRenderer.setView(camera);
             tiledMapRenderer.render();
+            drawCalls += batch.renderCalls;
         }
 
-        shapeRenderer.setProjectionMatrix(camera.combined);
-        shapeRenderer.begin(ShapeRenderer.ShapeType.Filled);
+        Level level = gameWorld.getCurrentLevel();
+        TileGrid grid = level.getTileGrid();
+        boolean drawGrid = tiledMap == null && grid != null;
+        if (sprites != null && (visibleIndex != null || drawGrid)) {
+            batch.setProjectionMatrix(camera.combined);
+            batch.begin();
+            if (visibleIndex != null) renderGeometry(visibleIndex);
+            if (drawGrid) renderGrid(grid);
+            batch.end();
+            drawCalls += batch.renderCalls;
+        }
 
-        for (Entity entity : gameWorld.getCurrentLevel().getEntities()) {
-            if (entity instanceof Player) {
-                shapeRenderer.setColor(Color.YELLOW);
-                shapeRenderer.rect(entity.getX(), entity.getY(), entity.getWidth(), entity.getHeight());
+        Player player = level.getPlayer();
+        if (player != null) {
+            shapeRenderer.setProjectionMatrix(camera.combined);
+            shapeRenderer.begin(ShapeRenderer.ShapeType.Filled);
+            shapeRenderer.setColor(Color.YELLOW);
+            shapeRenderer.rect(player.getInterpolatedX(alpha), player.getInterpolatedY(alpha),
+                player.getWidth(), player.getHeight());
+            shapeRenderer.end();
+            drawCalls++;
+        }
+    }
+
+    /** Elements de la geometrie statique sous la camera, trouves par l'index de balayage. */
+    private void renderGeometry(SweepIndex index) {
+        StaticGeometry geometry = index.getGeometry();
+        float halfW = camera.viewportWidth * camera.zoom / 2;
+        float halfH = camera.viewportHeight * camera.zoom / 2;
+        float left = camera.position.x - halfW - spriteMarginX;
+        float bottom = camera.position.y - halfH - spriteMarginY;
+        float width = 2 * (halfW + spriteMarginX);
+        float height = 2 * halfH + spriteMarginY;
+
+        int count = index.query(left, left + width);
+        entitiesVisited += count;
+        for (int k = 0; k < count; k++) {
+            int i = index.get(k);
+            float x = geometry.getX(i);
+            float y = geometry.getY(i);
+            float w = geometry.getWidth(i);
+            float h = geometry.getHeight(i);
+            byte type = geometry.getType(i);
+            if (type == StaticGeometry.KILLER) {
+                // Le sprite couvre l'objet d'origine, pas la hitbox reduite
+                float spriteW = w / EntityFactory.SPIKE_HITBOX_WIDTH;
+                float spriteH = h / EntityFactory.SPIKE_HITBOX_HEIGHT;
+                x -= (spriteW - w) / 2;
+                y -= spriteH * EntityFactory.SPIKE_HITBOX_Y;
+                w = spriteW;
+                h = spriteH;
             }
+            if (y >= bottom + height || y + h <= bottom) continue;
+            batch.draw(sprites.get(type), x, y, w, h);
+            spritesDrawn++;
         }
+    }
 
-        shapeRenderer.end();
+    /** Niveau sans carte (mode infini): seules les cellules sous la camera sont lues. */
+    private void renderGrid(TileGrid grid) {
+        float tw = grid.getTileWidth();
+        float th = grid.getTileHeight();
+        float halfW = camera.viewportWidth * camera.zoom / 2;
+        float halfH = camera.viewportHeight * camera.zoom / 2;
+        int minX = grid.columnAt(camera.position.x - halfW);
+        int maxX = grid.columnAt(camera.position.x + halfW);
+        int minY = Math.max(0, grid.rowAt(camera.position.y - halfH));
+        int maxY = Math.min(grid.getHeight() - 1, grid.rowAt(camera.position.y + halfH));
+
+        for (int x = minX; x <= maxX; x++) {
+            for (int y = minY; y <= maxY; y++) {
+                entitiesVisited++;
+                TextureRegion region = sprites.forCell(grid.get(x, y));
+                if (region == null) continue;
+                batch.draw(region, x * tw, y * th, tw, th);
+                spritesDrawn++;
+            }
+        }
     }
 
+    /** Chunks precalcules dessines a la derniere frame (0 sans cache). */
+    public int getChunksDrawn() { return staticCache != null ? staticCache.getChunksDrawn() : 0; }
+
+    /** Appels de dessin de la derniere frame (carte, sprites et joueur). */
+    public int getDrawCalls() { return drawCalls; }
+    /** Elements de geometrie et cellules examines a la derniere frame. */
+    public int getEntitiesVisited() { return entitiesVisited; }
+    public int getSpritesDrawn() { return spritesDrawn; }
+
+    public void setPerfEvents(PerfEvents perfEvents) { this.perfEvents = perfEvents; }
+
     public void dispose() {
         if (tiledMapRenderer != null) tiledMapRenderer.dispose();
+        if (staticCache != null) staticCache.dispose();
         shapeRenderer.dispose();
     }
 }
@@ -3,28 +3,69 @@ package io.github.dash.game;
 import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.Input;
 import com.badlogic.gdx.ScreenAdapter;
+import com.badlogic.gdx.files.FileHandle;
 import com.badlogic.gdx.graphics.Color;
 import com.badlogic.gdx.graphics.OrthographicCamera;
+import com.badlogic.gdx.graphics.Texture;
 import com.badlogic.gdx.graphics.g2d.BitmapFont;
 import com.badlogic.gdx.graphics.g2d.GlyphLayout;
+import com.badlogic.gdx.graphics.g2d.TextureAtlas;
+import com.badlogic.gdx.graphics.profiling.GLProfiler;
+import com.badlogic.gdx.utils.Array;
 import com.badlogic.gdx.utils.ScreenUtils;
+import io.github.dash.engine.controller.CheckpointRing;
+import io.github.dash.engine.controller.ChunkStreamer;
 import io.github.dash.engine.controller.GameController;
-import io.github.dash.engine.controller.LevelManager;
+import io.github.dash.engine.controller.InputController;
+import io.github.dash.engine.endless.EndlessLevel;
+import io.github.dash.engine.event.GameEvent;
+import io.github.dash.engine.event.GameEventBus;
 import io.github.dash.engine.model.EndFlag;
 import io.github.dash.engine.model.Entity;
 import io.github.dash.engine.model.GameWorld;
+import io.github.dash.engine.model.Player;
+import io.github.dash.engine.model.StaticGeometry;
+import io.github.dash.engine.model.StreamingTileGrid;
+import io.github.dash.engine.model.TileGrid;
+import io.github.dash.engine.perf.FlightRecorder;
+import io.github.dash.engine.perf.FrameProfiler;
+import io.github.dash.engine.platform.GameAudio;
+import io.github.dash.engine.platform.GameEventLog;
+import io.github.dash.engine.platform.GdxGameAudio;
+import io.github.dash.engine.platform.GdxGameLogger;
+import io.github.dash.engine.replay.Replay;
+import io.github.dash.engine.replay.ReplayPlayback;
+import io.github.dash.engine.replay.ReplayRecorder;
+import io.github.dash.engine.tiled.BinaryLevelFormat;
 import io.github.dash.engine.tiled.TiledLevelLoader;
+import io.github.dash.engine.view.EntitySprites;
+import io.github.dash.engine.view.PerfOverlay;
 import io.github.dash.engine.view.WorldRenderer;
 
+import java.io.IOException;
+import java.io.OutputStream;
+
 /**
  * Ecran de jeu principal.
  */
 public class GameScreen extends ScreenAdapter {
     private final GeometryDashGame game;
     private final String levelPath;
+    private final TiledLevelLoader.LoadedLevel loadedLevel;
+    // Mode infini: pas de drapeau, le HUD affiche la distance parcourue
+    private final boolean endless;
+    // References prises dans l'AssetManager (textures de la carte, sprites), rendues a la fermeture
+    private final Array<String> ownedAssets = new Array<>();
 
     private GameWorld gameWorld;
+    // Evenements distribues apres chaque tick: sons et journal, ecrit par un thread a part
+    private static final int EVENTS_PER_TICK = 32;
+    private static final int EVENT_LOG_CAPACITY = 1024;
+    private GameEventBus eventBus;
+    private GameEventLog eventLog;
     private GameController gameController;
+    private InputController inputController;
+    private GameAudio gameAudio;
     private WorldRenderer worldRenderer;
     private OrthographicCamera camera;
     private OrthographicCamera hudCamera;
@@ -39,12 +80,46 @@ public class GameScreen extends ScreenAdapter {
     private static final float DEATH_DELAY = 1.0f;
     private static final float VICTORY_DELAY = 2.0f;
 
+    // Mode entrainement: reprise au dernier checkpoint au lieu du debut
+    private static final int PRACTICE_CHECKPOINTS = 64;
+    private static final float AUTO_CHECKPOINT_SECONDS = 3.0f;
+    private CheckpointRing checkpoints;
+    private boolean practiceMode = false;
+
+    private long lastRespawnNanos = 0;
+
+    // Chaque essai est enregistre; F6 rejoue le dernier
+    private static final String LAST_REPLAY = "replays/last" + Replay.EXTENSION;
+    private ReplayRecorder recorder;
+    private ReplayPlayback playback;
+    private Replay lastReplay;
+    private long levelHash;
+
     private float startX = 0;
     private float endX = 5000;
 
-    public GameScreen(GeometryDashGame game, String levelPath) {
+    // F3: temps par phase sur les dernieres frames, coupe par defaut
+    private static final int PROFILED_FRAMES = 240;
+    private FrameProfiler profiler;
+    private PerfOverlay perfOverlay;
+    // Liaisons de texture par frame (une seule avec l'atlas), comptees seulement quand l'overlay est affiche
+    private GLProfiler glProfiler;
+    private int levelEntityCount;
+
+    // Toujours actif: les dernieres secondes sont ecrites dans spikes/ a chaque frame trop longue
+    private static final int RECORDED_SECONDS = 5;
+    private static final String SPIKE_DIRECTORY = "spikes";
+    private FlightRecorder flightRecorder;
+
+    /**
+     * @param loadedLevel niveau deja charge, par {@link LoadingScreen}
+     */
+    public GameScreen(GeometryDashGame game, String levelPath, TiledLevelLoader.LoadedLevel loadedLevel) {
         this.game = game;
         this.levelPath = levelPath;
+        this.loadedLevel = loadedLevel;
+        this.endless = EndlessLevel.isEndless(levelPath);
+        ownedAssets.addAll(loadedLevel.assetPaths);
     }
 
     @Override
@@ -59,16 +134,35 @@ public class GameScreen extends ScreenAdapter {
         font.getData().setScale(2f);
         glyphLayout = new GlyphLayout();
 
-        LevelManager levelManager = new LevelManager();
-        TiledLevelLoader.LoadedLevel loadedLevel = levelManager.loadLevel(levelPath);
-
-        gameWorld = new GameWorld(loadedLevel.level);
+        eventBus = new GameEventBus(EVENTS_PER_TICK);
+        eventLog = new GameEventLog(EVENT_LOG_CAPACITY, new GdxGameLogger());
+        eventLog.start();
+        eventBus.subscribe(eventLog);
+        gameWorld = new GameWorld(loadedLevel.level, eventBus);
+        profiler = new FrameProfiler(PROFILED_FRAMES);
+        gameWorld.setProfiler(profiler);
+        gameWorld.setPerfEvents(game.perfEvents);
+        perfOverlay = new PerfOverlay(profiler);
+        glProfiler = new GLProfiler(Gdx.graphics);
+        int refreshRate = Math.max(1, Gdx.graphics.getDisplayMode().refreshRate);
+        long framePeriod = 1_000_000_000L / refreshRate;
+        flightRecorder = new FlightRecorder(refreshRate * RECORDED_SECONDS,
+            (long) (framePeriod * FlightRecorder.DEFAULT_SPIKE_FACTOR), Gdx.files.local(SPIKE_DIRECTORY), new GdxGameLogger());
+        flightRecorder.setPerfEvents(game.perfEvents);
 
         if (gameWorld.getCurrentLevel().getPlayer() != null) {
             startX = gameWorld.getCurrentLevel().getPlayer().getX();
         }
 
         endX = startX + 5000;
+        TileGrid grid = gameWorld.getCurrentLevel().getTileGrid();
+        // Une grille en chunks ne voit que sa fenetre: la fin est alors le bord du niveau
+        float gridEndX = grid instanceof StreamingTileGrid ? grid.getWidth() * grid.getTileWidth()
+            : grid != null ? grid.findFirstX(TileGrid.END_FLAG) : -1;
+        if (gridEndX >= 0) endX = gridEndX;
+        StaticGeometry geometry = gameWorld.getCurrentLevel().getStaticGeometry();
+        float geometryEndX = geometry != null ? geometry.findFirstX(StaticGeometry.END_FLAG) : -1;
+        if (geometryEndX >= 0) endX = geometryEndX;
         for (Entity entity : gameWorld.getCurrentLevel().getEntities()) {
             if (entity instanceof EndFlag) {
                 endX = entity.getX();
@@ -76,24 +170,83 @@ public class GameScreen extends ScreenAdapter {
             }
         }
 
-        gameController = new GameController(gameWorld, camera);
-        worldRenderer = new WorldRenderer(gameWorld, camera, game.batch, loadedLevel.map);
+        inputController = new InputController();
+        Gdx.input.setInputProcessor(inputController);
+        gameAudio = new GdxGameAudio(new GdxGameLogger());
+        eventBus.subscribe(event -> {
+            if (event.type == GameEvent.Type.JUMP) gameAudio.playJump();
+        });
+
+        gameController = new GameController(gameWorld, camera, inputController);
+        if (grid instanceof StreamingTileGrid) {
+            ChunkStreamer chunkStreamer = new ChunkStreamer((StreamingTileGrid) grid, game.loadExecutor, new GdxGameLogger());
+            chunkStreamer.preload(camera.position.x - camera.viewportWidth / 2, camera.position.x + camera.viewportWidth / 2);
+            gameController.setChunkStreamer(chunkStreamer);
+        }
+        checkpoints = new CheckpointRing(PRACTICE_CHECKPOINTS, AUTO_CHECKPOINT_SECONDS, gameController.getTickDuration());
+
+        // Le niveau infini n'a pas de fichier: la graine, dans le chemin, suffit a le reconstruire
+        FileHandle levelFile = endless ? null : Gdx.files.internal(levelPath);
+        levelHash = levelFile != null && levelFile.exists() ? BinaryLevelFormat.hash(levelFile) : 0;
+        recorder = new ReplayRecorder(levelHash, levelPath, gameWorld.getCurrentLevel(), GameController.DEFAULT_TICK_RATE,
+            Player.JUMP_FORCE, GameWorld.SPEED_MULTIPLIER);
+        inputController.setRecorder(recorder);
+        gameController.setTickListener(recorder);
+        // Atlas (ou planche) partage avec les cartes Tiled dans l'AssetManager, garde entre les essais
+        EntitySprites sprites;
+        if (Gdx.files.internal(EntitySprites.ATLAS).exists()) {
+            sprites = new EntitySprites(loadAsset(EntitySprites.ATLAS, TextureAtlas.class));
+        } else {
+            sprites = new EntitySprites(loadAsset(EntitySprites.SHEET, Texture.class));
+        }
+        worldRenderer = new WorldRenderer(gameWorld, camera, game.batch, loadedLevel.map, sprites);
+        worldRenderer.setPerfEvents(game.perfEvents);
+        levelEntityCount = gameWorld.getCurrentLevel().getEntities().size() + (geometry != null ? geometry.size() : 0);
+    }
+
+    /** Prend une reference de plus, meme si l'asset est deja charge (par exemple l'atlas de la carte). */
+    private <T> T loadAsset(String path, Class<T> type) {
+        game.assets.load(path, type);
+        game.assets.finishLoadingAsset(path);
+        ownedAssets.add(path);
+        return game.assets.get(path, type);
     }
 
     @Override
     public void render(float delta) {
+        profiler.begin(FrameProfiler.Phase.INPUT);
         if (Gdx.input.isKeyJustPressed(Input.Keys.ESCAPE)) {
             game.setScreen(new MainMenuScreen(game));
             return;
         }
 
+        if (Gdx.input.isKeyJustPressed(Input.Keys.P)) {
+            practiceMode = !practiceMode;
+            checkpoints.clear();
+        }
+
+        if (Gdx.input.isKeyJustPressed(Input.Keys.F6) && !showingDeath && !showingVictory) {
+            startPlayback();
+        }
+
+        if (Gdx.input.isKeyJustPressed(Input.Keys.H)) {
+            inputController.setHoldToJump(!inputController.isHoldToJump());
+        }
+
+        if (Gdx.input.isKeyJustPressed(Input.Keys.F3)) {
+            profiler.setEnabled(!profiler.isEnabled());
+            if (profiler.isEnabled()) glProfiler.enable(); else glProfiler.disable();
+        }
+        profiler.end(FrameProfiler.Phase.INPUT);
+
         if (showingDeath) {
             deathTimer += delta;
             if (deathTimer >= DEATH_DELAY) {
-                game.setScreen(new GameScreen(game, levelPath));
+                respawn();
                 return;
             }
             renderDeathScreen();
+            endFrame();
             return;
         }
 
@@ -104,36 +257,163 @@ public class GameScreen extends ScreenAdapter {
                 return;
             }
             renderVictoryScreen();
+            endFrame();
             return;
         }
 
+        profiler.begin(FrameProfiler.Phase.UPDATE);
         gameController.update(delta);
+        profiler.end(FrameProfiler.Phase.UPDATE);
+
+        if (practiceMode && playback == null) {
+            if (Gdx.input.isKeyJustPressed(Input.Keys.C) && !gameWorld.isPlayerDead()) checkpoints.place(gameController);
+            if (Gdx.input.isKeyJustPressed(Input.Keys.X)) checkpoints.removeLast();
+            checkpoints.update(gameController);
+        }
 
         if (gameWorld.isPlayerDead()) {
             showingDeath = true;
             deathTimer = 0;
+            endAttempt();
         }
 
         if (gameWorld.isLevelCompleted()) {
             showingVictory = true;
             victoryTimer = 0;
+            endAttempt();
         }
 
         ScreenUtils.clear(0.1f, 0.1f, 0.15f, 1);
-        worldRenderer.render();
+        profiler.begin(FrameProfiler.Phase.RENDER);
+        worldRenderer.render(gameController.getAlpha());
+        profiler.end(FrameProfiler.Phase.RENDER);
+        profiler.begin(FrameProfiler.Phase.HUD);
         renderHUD();
+        profiler.end(FrameProfiler.Phase.HUD);
+        endFrame();
+    }
+
+    /** Clot la frame de l'enregistreur et du profileur puis, s'il est actif, dessine l'overlay par-dessus le HUD. */
+    private void endFrame() {
+        Player player = gameWorld.getCurrentLevel().getPlayer();
+        flightRecorder.endFrame(gameController.getTickCount(), player != null ? player.getX() : 0,
+            player != null ? player.getY() : 0, worldRenderer.getEntitiesVisited());
+
+        if (!profiler.isEnabled()) return;
+        int hudCalls = game.batch.renderCalls;
+        profiler.endFrame();
+        perfOverlay.setCounts(worldRenderer.getEntitiesVisited(), worldRenderer.getSpritesDrawn(), levelEntityCount,
+            worldRenderer.getChunksDrawn(), worldRenderer.getDrawCalls() + hudCalls, glProfiler.getTextureBindings());
+        perfOverlay.setInputLatency(inputController.getLastLatencyNanos(), inputController.getAverageLatencyNanos(),
+            inputController.getMaxLatencyNanos());
+        long frameNanos = 1_000_000_000L / Math.max(1, Gdx.graphics.getDisplayMode().refreshRate);
+        perfOverlay.render(hudCamera.combined, game.batch, font, frameNanos);
+        glProfiler.reset();
+    }
+
+    /**
+     * Nouvel essai sans quitter l'ecran: le monde, le controleur et l'entree sont remis a zero
+     * (ou au dernier checkpoint en entrainement), la police, le rendu de la carte et les sons restent charges.
+     */
+    private void respawn() {
+        long start = System.nanoTime();
+        stopPlayback();
+        if (practiceMode && checkpoints.restoreLast(gameController)) {
+            recorder.rewindTo(gameController.getTickCount());
+        } else {
+            gameWorld.reset();
+            gameController.reset();
+            recorder.reset();
+        }
+        inputController.clear();
+        showingDeath = false;
+        deathTimer = 0;
+        lastRespawnNanos = System.nanoTime() - start;
+
+        long frameNanos = 1_000_000_000L / Math.max(1, Gdx.graphics.getDisplayMode().refreshRate);
+        if (lastRespawnNanos > frameNanos) {
+            Gdx.app.error("GameScreen", "Respawn plus long qu'une frame: " + lastRespawnNanos / 1000 + " us");
+        } else {
+            Gdx.app.log("GameScreen", "Respawn en " + lastRespawnNanos / 1000 + " us");
+        }
+    }
+
+    /** Fin d'un essai: l'enregistrement est sauvegarde, ou le replay en cours est verifie. */
+    private void endAttempt() {
+        long endTick = gameController.getTickCount();
+        if (playback != null) {
+            if (playback.hasDiverged()) {
+                Gdx.app.error("GameScreen", "Replay divergent a partir du tick " + playback.getDivergenceTick());
+            } else if (!playback.matchesOutcome(endTick, gameWorld)) {
+                Gdx.app.error("GameScreen", "Replay termine au tick " + endTick + " au lieu de " + playback.getReplay().getEndTick());
+            } else {
+                Gdx.app.log("GameScreen", "Replay identique jusqu'au tick " + endTick);
+            }
+            return;
+        }
+
+        lastReplay = recorder.finish(endTick, gameWorld);
+        // Encodage et ecriture sur le thread de chargement: le replay est immuable, le rendu ne touche pas
+        // au disque. Le thread est unique, les sauvegardes restent donc dans l'ordre des essais
+        Replay replay = lastReplay;
+        game.loadExecutor.submit(() -> {
+            saveReplay(replay);
+            return null;
+        });
+    }
+
+    private static void saveReplay(Replay replay) {
+        try (OutputStream out = Gdx.files.local(LAST_REPLAY).write(false)) {
+            replay.write(out);
+        } catch (IOException | RuntimeException e) {
+            Gdx.app.error("GameScreen", "Sauvegarde du replay impossible: " + e.getMessage());
+        }
+    }
+
+    /** Rejoue le dernier essai depuis le debut, a la place des entrees du joueur. */
+    private void startPlayback() {
+        if (lastReplay == null) return;
+        ReplayPlayback replayPlayback = new ReplayPlayback(lastReplay);
+        String mismatch = replayPlayback.checkCompatibility(levelHash, gameWorld.getCurrentLevel(),
+            GameController.DEFAULT_TICK_RATE, Player.JUMP_FORCE, GameWorld.SPEED_MULTIPLIER);
+        if (mismatch != null) {
+            Gdx.app.error("GameScreen", "Replay incompatible: " + mismatch);
+            return;
+        }
+
+        playback = replayPlayback;
+        gameWorld.reset();
+        gameController.reset();
+        gameController.setInputSource(playback);
+        gameController.setTickListener(playback);
     }
 
+    private void stopPlayback() {
+        if (playback == null) return;
+        playback = null;
+        gameController.setInputSource(inputController);
+        gameController.setTickListener(recorder);
+    }
+
+    /** Duree du dernier respawn, en nanosecondes. */
+    public long getLastRespawnNanos() { return lastRespawnNanos; }
+
     private void renderHUD() {
         game.batch.setProjectionMatrix(hudCamera.combined);
         game.batch.begin();
 
         float playerX = gameWorld.getCurrentLevel().getPlayer() != null ?
             gameWorld.getCurrentLevel().getPlayer().getX() : startX;
-        float progress = Math.min(100, Math.max(0, (playerX - startX) / (endX - startX) * 100));
-
         font.setColor(Color.WHITE);
-        font.draw(game.batch, String.format("Progression: %.0f%%", progress), 20, 700);
+        if (endless) {
+            // Positions relatives a l'origine flottante: la distance repart de la colonne absolue
+            int originColumn = ((StreamingTileGrid) gameWorld.getCurrentLevel().getTileGrid()).getOriginColumn();
+            font.draw(game.batch, String.format("Distance: %.0f",
+                Math.max(0, originColumn + (playerX - startX) / EndlessLevel.TILE_SIZE)), 20, 700);
+        } else {
+            float progress = Math.min(100, Math.max(0, (playerX - startX) / (endX - startX) * 100));
+            font.draw(game.batch, String.format("Progression: %.0f%%", progress), 20, 700);
+        }
 
         font.setColor(0.7f, 0.7f, 0.7f, 1f);
         String levelName = gameWorld.getCurrentLevel().getLevelName();
@@ -141,9 +421,19 @@ public class GameScreen extends ScreenAdapter {
             font.draw(game.batch, levelName, 20, 660);
         }
 
+        if (playback != null) {
+            font.setColor(0.4f, 0.8f, 1f, 1f);
+            font.draw(game.batch, "REPLAY", 20, 620);
+        } else if (practiceMode) {
+            font.setColor(0.4f, 1f, 0.4f, 1f);
+            font.draw(game.batch, "ENTRAINEMENT - checkpoints: " + checkpoints.size(), 20, 620);
+        }
+
         font.getData().setScale(1f);
         font.setColor(0.5f, 0.5f, 0.5f, 1f);
-        font.draw(game.batch, "ESPACE pour sauter | ESC pour quitter", 20, 30);
+        font.draw(game.batch, practiceMode
+            ? "ESPACE pour sauter | C: checkpoint | X: retirer | P: quitter l'entrainement | ESC pour quitter"
+            : "ESPACE pour sauter | P: entrainement | H: saut maintenu | F6: revoir l'essai | F3: perfs | ESC pour quitter", 20, 30);
         font.getData().setScale(2f);
 
         game.batch.end();
@@ -151,7 +441,7 @@ public class GameScreen extends ScreenAdapter {
 
     private void renderDeathScreen() {
         ScreenUtils.clear(0.15f, 0.05f, 0.05f, 1);
-        worldRenderer.render();
+        worldRenderer.render(gameController.getAlpha());
 
         game.batch.setProjectionMatrix(hudCamera.combined);
         game.batch.begin();
@@ -176,7 +466,7 @@ public class GameScreen extends ScreenAdapter {
 
     private void renderVictoryScreen() {
         ScreenUtils.clear(0.05f, 0.15f, 0.05f, 1);
-        worldRenderer.render();
+        worldRenderer.render(gameController.getAlpha());
 
         game.batch.setProjectionMatrix(hudCamera.combined);
         game.batch.begin();
@@ -205,10 +495,29 @@ public class GameScreen extends ScreenAdapter {
         game.batch.end();
     }
 
+    @Override
+    public void resume() {
+        // Le temps passe en pause n'est pas un pic de frame
+        if (flightRecorder != null) flightRecorder.skipFrame();
+    }
+
+    @Override
+    public void hide() {
+        dispose();
+    }
+
     @Override
     public void dispose() {
-        if (gameController != null) gameController.dispose();
+        if (gameAudio != null) gameAudio.dispose();
         if (worldRenderer != null) worldRenderer.dispose();
+        if (perfOverlay != null) perfOverlay.dispose();
+        // Rend Gdx.gl intercepte par le profileur
+        if (glProfiler != null) glProfiler.disable();
+        if (flightRecorder != null) flightRecorder.dispose();
+        if (eventLog != null) eventLog.dispose();
         if (font != null) font.dispose();
+        // Apres le rendu de la carte: l'AssetManager libere les textures dont plus personne n'a de reference
+        for (String path : ownedAssets) game.assets.unload(path);
+        ownedAssets.clear();
     }
 }
@@ -1,17 +1,35 @@
 package io.github.dash.game;
 
 import com.badlogic.gdx.Game;
+import com.badlogic.gdx.assets.AssetManager;
 import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.utils.async.AsyncExecutor;
+import io.github.dash.engine.perf.PerfEvents;
 
 /**
  * Classe principale du jeu.
  */
 public class GeometryDashGame extends Game {
     public SpriteBatch batch;
+    // Textures et cartes partagees entre les essais; thread de travail du chargement des niveaux
+    public AssetManager assets;
+    public AsyncExecutor loadExecutor;
+    // Evenements JFR fournis par le lanceur desktop; rien par defaut
+    public final PerfEvents perfEvents;
+
+    public GeometryDashGame() {
+        this(PerfEvents.NONE);
+    }
+
+    public GeometryDashGame(PerfEvents perfEvents) {
+        this.perfEvents = perfEvents;
+    }
 
     @Override
     public void create() {
         batch = new SpriteBatch();
+        assets = new AssetManager();
+        loadExecutor = new AsyncExecutor(1, "LevelLoader");
         setScreen(new MainMenuScreen(this));
     }
 
@@ -22,7 +40,10 @@ public class GeometryDashGame extends Game {
 
     @Override
     public void dispose() {
-        if (batch != null) batch.dispose();
+        // L'ecran courant rend d'abord ses references a l'AssetManager
         super.dispose();
+        if (batch != null) batch.dispose();
+        if (assets != null) assets.dispose();
+        if (loadExecutor != null) loadExecutor.dispose();
     }
 }
@@ -9,6 +9,8 @@ import com.badlogic.gdx.graphics.OrthographicCamera;
 import com.badlogic.gdx.graphics.g2d.BitmapFont;
 import com.badlogic.gdx.graphics.g2d.GlyphLayout;
 import com.badlogic.gdx.graphics.glutils.ShapeRenderer;
+import io.github.dash.engine.endless.EndlessLevel;
+import io.github.dash.engine.tiled.TiledLevelLoader;
 
 /**
  * Ecran de selection de niveau.
@@ -28,7 +30,8 @@ public class LevelSelectScreen extends ScreenAdapter {
     private static final String[][] LEVELS = {
         {"Niveau 1", "maps/mapRaf.tmx", "Niveau assez facile"},
         {"Niveau 2", "maps/mapMel.tmx", "Niveau avec sauts techniques"},
-        {"Niveau 3", "maps/mapRoy.tmx", "Niveau difficile"}
+        {"Niveau 3", "maps/mapRoy.tmx", "Niveau difficile"},
+        {"Infini", EndlessLevel.PATH_PREFIX, "Obstacles generes sans fin"}
     };
 
     // Couleurs de fond
@@ -75,8 +78,8 @@ public class LevelSelectScreen extends ScreenAdapter {
         titleFont.draw(game.batch, title, (1280 - glyphLayout.width) / 2, 650);
 
         // Cartes de niveau
-        float cardWidth = 350;
-        float cardSpacing = 100;
+        float cardWidth = 280;
+        float cardSpacing = 40;
         float totalWidth = LEVELS.length * cardWidth + (LEVELS.length - 1) * cardSpacing;
         float startX = (1280 - totalWidth) / 2;
 
@@ -123,7 +126,15 @@ public class LevelSelectScreen extends ScreenAdapter {
             selectedLevel = (selectedLevel + 1) % LEVELS.length;
         }
         if (Gdx.input.isKeyJustPressed(Input.Keys.ENTER) || Gdx.input.isKeyJustPressed(Input.Keys.SPACE)) {
-            game.setScreen(new GameScreen(game, LEVELS[selectedLevel][1]));
+            String path = LEVELS[selectedLevel][1];
+            if (EndlessLevel.isEndless(path)) {
+                // Rien a charger: les chunks sont generes pendant la partie, une nouvelle graine a chaque fois
+                long seed = System.nanoTime();
+                game.setScreen(new GameScreen(game, EndlessLevel.path(seed),
+                    new TiledLevelLoader.LoadedLevel(EndlessLevel.create(seed), null)));
+            } else {
+                game.setScreen(new LoadingScreen(game, path));
+            }
         }
         if (Gdx.input.isKeyJustPressed(Input.Keys.ESCAPE)) {
             game.setScreen(new MainMenuScreen(game));
@@ -153,9 +164,9 @@ public class LevelSelectScreen extends ScreenAdapter {
         shapeRenderer.setProjectionMatrix(camera.combined);
         shapeRenderer.begin(ShapeRenderer.ShapeType.Filled);
 
-        float cardWidth = 350;
+        float cardWidth = 280;
         float cardHeight = 250;
-        float cardSpacing = 100;
+        float cardSpacing = 40;
         float totalWidth = LEVELS.length * cardWidth + (LEVELS.length - 1) * cardSpacing;
         float startX = (1280 - totalWidth) / 2;
         float cardY = 250;
@@ -206,7 +217,7 @@ public class LevelSelectScreen extends ScreenAdapter {
             // Mini obstacles
             shapeRenderer.setColor(i == selectedLevel ? Color.RED : new Color(0.4f, 0.2f, 0.2f, 1f));
             for (int j = 0; j < 5; j++) {
-                float obstX = previewX + 30 + j * 50;
+                float obstX = previewX + 30 + j * 40;
                 shapeRenderer.triangle(obstX, previewY + 15, obstX + 10, previewY + 35, obstX + 20, previewY + 15);
             }
 
@@ -0,0 +1,103 @@
+package io.github.dash.game;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.ScreenAdapter;
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.graphics.OrthographicCamera;
+import com.badlogic.gdx.graphics.g2d.BitmapFont;
+import com.badlogic.gdx.graphics.g2d.GlyphLayout;
+import com.badlogic.gdx.graphics.glutils.ShapeRenderer;
+import com.badlogic.gdx.utils.ScreenUtils;
+import io.github.dash.engine.controller.LevelLoadTask;
+import io.github.dash.engine.controller.LevelManager;
+
+/**
+ * Ecran de chargement: le niveau se charge en arriere-plan pendant que l'ecran
+ * continue d'etre rendu et affiche la progression.
+ */
+public class LoadingScreen extends ScreenAdapter {
+    // Temps accorde aux textures a chaque frame: le reste de la frame reste au rendu
+    private static final int UPLOAD_BUDGET_MILLIS = 8;
+
+    private final GeometryDashGame game;
+    private final String levelPath;
+
+    private LevelLoadTask task;
+    private OrthographicCamera camera;
+    private ShapeRenderer shapeRenderer;
+    private BitmapFont font;
+    private GlyphLayout glyphLayout;
+    private float animationTime = 0;
+
+    public LoadingScreen(GeometryDashGame game, String levelPath) {
+        this.game = game;
+        this.levelPath = levelPath;
+    }
+
+    @Override
+    public void show() {
+        camera = new OrthographicCamera();
+        camera.setToOrtho(false, 1280, 720);
+        shapeRenderer = new ShapeRenderer();
+        font = new BitmapFont();
+        font.getData().setScale(2f);
+        glyphLayout = new GlyphLayout();
+
+        task = new LevelLoadTask(new LevelManager(), game.loadExecutor, game.assets, levelPath);
+    }
+
+    @Override
+    public void render(float delta) {
+        animationTime += delta;
+
+        boolean done;
+        try {
+            done = task.update(UPLOAD_BUDGET_MILLIS);
+        } catch (Exception e) {
+            Gdx.app.error("LoadingScreen", "Chargement impossible: " + levelPath, e);
+            game.setScreen(new LevelSelectScreen(game));
+            return;
+        }
+        if (done) {
+            game.setScreen(new GameScreen(game, levelPath, task.getResult()));
+            return;
+        }
+
+        ScreenUtils.clear(0.02f, 0.05f, 0.1f, 1);
+        float progress = task.getProgress();
+        float barWidth = 600;
+        float barX = (1280 - barWidth) / 2;
+        float barY = 320;
+
+        shapeRenderer.setProjectionMatrix(camera.combined);
+        shapeRenderer.begin(ShapeRenderer.ShapeType.Filled);
+        shapeRenderer.setColor(0.1f, 0.1f, 0.2f, 1f);
+        shapeRenderer.rect(barX, barY, barWidth, 24);
+        shapeRenderer.setColor(0.3f, 0.6f, 1f, 1f);
+        shapeRenderer.rect(barX, barY, barWidth * progress, 24);
+
+        // Carre qui tourne: montre que le rendu continue pendant le chargement
+        shapeRenderer.setColor(Color.YELLOW);
+        shapeRenderer.rect(620, 400, 20, 20, 40, 40, 1, 1, animationTime * 180);
+        shapeRenderer.end();
+
+        game.batch.setProjectionMatrix(camera.combined);
+        game.batch.begin();
+        font.setColor(0.8f, 0.8f, 0.8f, 1f);
+        String text = String.format("Chargement... %.0f%%", progress * 100);
+        glyphLayout.setText(font, text);
+        font.draw(game.batch, text, (1280 - glyphLayout.width) / 2, 300);
+        game.batch.end();
+    }
+
+    @Override
+    public void hide() {
+        dispose();
+    }
+
+    @Override
+    public void dispose() {
+        if (shapeRenderer != null) shapeRenderer.dispose();
+        if (font != null) font.dispose();
+    }
+}
@@ -0,0 +1,157 @@
+package io.github.dash.headless;
+
+import io.github.dash.engine.controller.InputSource;
+import io.github.dash.engine.event.GameEventBus;
+import io.github.dash.engine.model.GameWorld;
+import io.github.dash.engine.model.Level;
+import io.github.dash.engine.model.Obstacle;
+import io.github.dash.engine.model.Player;
+import io.github.dash.engine.model.StaticGeometry;
+import io.github.dash.engine.model.TileGrid;
+import io.github.dash.engine.tiled.EntityFactory;
+import io.github.dash.engine.tiled.SolidTileMerger;
+import io.github.dash.engine.tiled.TiledLevelLoader;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+
+/**
+ * Verifie que la boucle de simulation n'alloue rien. Sur un long niveau synthetique (sol, blocs et spikes
+ * a sauter), les ticks de GameWorld qui suivent l'echauffement ne doivent pas faire varier d'un octet
+ * le compteur d'allocations du thread. Les deux representations des collisions sont testees.
+ *
+ * Usage: AllocationCheck [--ticks 100000] [--warmup 20000]
+ * Le code de sortie vaut 1 si un tick alloue, ou si le joueur meurt avant la fin de la mesure.
+ */
+public class AllocationCheck {
+    private static final int TILE_SIZE = 256;
+    private static final int MAP_HEIGHT = 12;
+    private static final float TICK_RATE = 120f;
+    // Un obstacle toutes les OBSTACLE_SPACING colonnes, alternativement bloc et spike
+    private static final int OBSTACLE_SPACING = 10;
+
+    public static void main(String[] args) {
+        int ticks = 100_000;
+        int warmup = 20_000;
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--ticks": ticks = Integer.parseInt(args[++i]); break;
+                case "--warmup": warmup = Integer.parseInt(args[++i]); break;
+                default: throw new IllegalArgumentException("Argument inconnu: " + args[i]);
+            }
+        }
+
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        if (!(threads instanceof com.sun.management.ThreadMXBean)
+            || !((com.sun.management.ThreadMXBean) threads).isThreadAllocatedMemorySupported()) {
+            System.out.println("Allocations par thread non mesurables sur cette JVM: verification ignoree");
+            return;
+        }
+        com.sun.management.ThreadMXBean allocations = (com.sun.management.ThreadMXBean) threads;
+
+        // Assez de colonnes pour ne jamais atteindre le bout pendant la mesure
+        float speed = 350f * GameWorld.SPEED_MULTIPLIER;
+        int columns = (int) ((warmup + ticks) / TICK_RATE * speed / TILE_SIZE) + 2 * OBSTACLE_SPACING;
+
+        boolean allClean = true;
+        for (TiledLevelLoader.CollisionMode mode : TiledLevelLoader.CollisionMode.values()) {
+            allClean &= run(mode, columns, warmup, ticks, allocations);
+        }
+        if (!allClean) System.exit(1);
+    }
+
+    private static boolean run(TiledLevelLoader.CollisionMode mode, int columns, int warmup, int ticks,
+                               com.sun.management.ThreadMXBean allocations) {
+        Level level = buildLevel(mode, columns);
+        GameEventBus events = new GameEventBus(64);
+        GameWorld world = new GameWorld(level, events);
+        Autopilot autopilot = new Autopilot();
+        Player player = level.getPlayer();
+        float tickDuration = 1f / TICK_RATE;
+
+        long tick = 0;
+        for (; tick < warmup && !world.isPlayerDead(); tick++) {
+            autopilot.applyInputs(player, tick);
+            world.tick(tickDuration);
+            events.dispatch(tick);
+        }
+
+        long threadId = Thread.currentThread().getId();
+        // Cout propre de la mesure, retranche du resultat
+        long calibration = allocations.getThreadAllocatedBytes(threadId);
+        long before = allocations.getThreadAllocatedBytes(threadId);
+        calibration = before - calibration;
+        for (long end = tick + ticks; tick < end && !world.isPlayerDead(); tick++) {
+            autopilot.applyInputs(player, tick);
+            world.tick(tickDuration);
+            events.dispatch(tick);
+        }
+        long allocated = allocations.getThreadAllocatedBytes(threadId) - before - calibration;
+
+        boolean survived = !world.isPlayerDead() && !world.isLevelCompleted();
+        String outcome = !survived ? "MORT" : allocated > 0 ? "ALLOUE" : "OK";
+        System.out.printf("%-10s %-7s ticks=%-7d x=%-11.1f sauts=%-5d alloue=%d octets%n", mode, outcome,
+            tick - warmup, player.getX(), autopilot.jumps, allocated);
+        if (!survived) System.out.println("    mort au tick " + tick + " (" + world.getDeathCause() + "): mesure incomplete");
+        return survived && allocated <= 0;
+    }
+
+    /**
+     * Sol sur deux rangees; un obstacle d'une tuile toutes les OBSTACLE_SPACING colonnes, bloc puis spike.
+     * En mode entites, les solides sont fusionnes comme par le chargeur.
+     */
+    static Level buildLevel(TiledLevelLoader.CollisionMode mode, int columns) {
+        Level level = new Level();
+        level.setScrollSpeed(350f);
+        level.setGravity(-3500f);
+        level.setLevelName("allocation");
+
+        // Hitbox des spikes relative a la cellule, comme le chargeur
+        float spikeSize = TILE_SIZE * TiledLevelLoader.SPIKE_SCALE;
+        Obstacle spike = EntityFactory.createSpike((TILE_SIZE - spikeSize) / 2, 0, spikeSize, spikeSize);
+        TileGrid solids = new TileGrid(columns, MAP_HEIGHT, TILE_SIZE, TILE_SIZE);
+        TileGrid grid = mode == TiledLevelLoader.CollisionMode.TILE_GRID ? solids : null;
+        if (grid != null) {
+            grid.setKillerHitbox(spike.getX(), spike.getY(), spike.getWidth(), spike.getHeight());
+            level.setTileGrid(grid);
+        }
+
+        for (int x = 0; x < columns; x++) {
+            solids.mark(x, 0, TileGrid.SOLID);
+            solids.mark(x, 1, TileGrid.SOLID);
+            if (x == 0 || x % OBSTACLE_SPACING != 0) continue;
+            if ((x / OBSTACLE_SPACING) % 2 == 0) {
+                solids.mark(x, 2, TileGrid.SOLID);
+            } else if (grid != null) {
+                grid.mark(x, 2, TileGrid.KILLER);
+            } else {
+                level.addEntity(EntityFactory.createKiller(x * TILE_SIZE + spike.getX(), 2 * TILE_SIZE + spike.getY(),
+                    spike.getWidth(), spike.getHeight()));
+            }
+        }
+
+        if (grid == null) {
+            SolidTileMerger.merge(solids, TileGrid.SOLID, (x, y, w, h) ->
+                level.addEntity(EntityFactory.createMergedSolid(x * TILE_SIZE, y * TILE_SIZE, w * TILE_SIZE,
+                    h * TILE_SIZE, TILE_SIZE, TILE_SIZE)));
+        }
+
+        level.addEntity(EntityFactory.createPlayer(TILE_SIZE, 2 * TILE_SIZE, 180, 180));
+        level.setStaticGeometry(StaticGeometry.fromEntities(level.getEntities()));
+        return level;
+    }
+
+    /** Saute a distance fixe devant chaque obstacle; sans allocation. */
+    private static final class Autopilot implements InputSource {
+        private static final float JUMP_DISTANCE = 380f;
+        int jumps;
+
+        @Override
+        public void applyInputs(Player player, long tick) {
+            float spacing = OBSTACLE_SPACING * TILE_SIZE;
+            float next = (float) Math.ceil(player.getRight() / spacing) * spacing;
+            float gap = next - player.getRight();
+            if (gap > 0 && gap <= JUMP_DISTANCE && player.jump(Player.JUMP_FORCE)) jumps++;
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package io.github.dash.headless;
+
+import io.github.dash.engine.platform.GameLogger;
+
+/**
+ * Journalisation sur la console; les messages ordinaires ne sont affiches qu'en mode verbeux.
+ */
+public class ConsoleGameLogger implements GameLogger {
+    private final boolean verbose;
+
+    public ConsoleGameLogger(boolean verbose) {
+        this.verbose = verbose;
+    }
+
+    @Override
+    public void log(String tag, String message) {
+        if (verbose) System.out.println("[" + tag + "] " + message);
+    }
+
+    @Override
+    public void error(String tag, String message) {
+        System.err.println("[" + tag + "] " + message);
+    }
+}
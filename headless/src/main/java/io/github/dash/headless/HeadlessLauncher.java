@@ -0,0 +1,101 @@
+package io.github.dash.headless;
+
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.maps.tiled.TiledMap;
+import io.github.dash.engine.controller.InputSource;
+import io.github.dash.engine.model.GameWorld;
+import io.github.dash.engine.model.Player;
+import io.github.dash.engine.tiled.TiledLevelLoader;
+import io.github.dash.engine.tiled.TmxDataReader;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Lance des niveaux en simulation sans fenetre, avec des entrees scriptees.
+ *
+ * Usage: HeadlessLauncher [--rate 120] [--max-ticks 200000] [--repeat 1]
+ *        [--jumps t1,t2,... | --jump-every N] [--entities] [--verbose] [carte.tmx ...]
+ * Sans carte, toutes les cartes de maps/ sont simulees (repertoire de travail: assets/).
+ */
+public class HeadlessLauncher {
+
+    public static void main(String[] args) {
+        float tickRate = 120f;
+        long maxTicks = 200_000;
+        int repeat = 1;
+        long[] jumpTicks = null;
+        int jumpEvery = 0;
+        boolean verbose = false;
+        TiledLevelLoader.CollisionMode mode = TiledLevelLoader.CollisionMode.TILE_GRID;
+        List<File> maps = new ArrayList<>();
+
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--rate": tickRate = Float.parseFloat(args[++i]); break;
+                case "--max-ticks": maxTicks = Long.parseLong(args[++i]); break;
+                case "--repeat": repeat = Integer.parseInt(args[++i]); break;
+                case "--jumps": jumpTicks = parseTicks(args[++i]); break;
+                case "--jump-every": jumpEvery = Integer.parseInt(args[++i]); break;
+                case "--entities": mode = TiledLevelLoader.CollisionMode.ENTITIES; break;
+                case "--verbose": verbose = true; break;
+                default: maps.add(new File(args[i]));
+            }
+        }
+        if (maps.isEmpty()) maps.addAll(listMaps(new File("maps")));
+
+        ConsoleGameLogger logger = new ConsoleGameLogger(verbose);
+        TiledLevelLoader loader = new TiledLevelLoader(mode, logger);
+
+        for (File file : maps) {
+            TiledMap map = loadMap(file);
+            long totalTicks = 0;
+            long totalNanos = 0;
+            HeadlessSimulation last = null;
+
+            for (int r = 0; r < repeat; r++) {
+                InputSource input = jumpEvery > 0 ? ScriptedInput.every(jumpEvery)
+                    : new ScriptedInput(jumpTicks != null ? jumpTicks : new long[0]);
+                HeadlessSimulation simulation = new HeadlessSimulation(loader.buildLevel(map), input, tickRate, logger);
+
+                long start = System.nanoTime();
+                totalTicks += simulation.run(maxTicks);
+                totalNanos += System.nanoTime() - start;
+                last = simulation;
+            }
+
+            report(file, last, totalTicks, totalNanos);
+        }
+    }
+
+    /** Lit une carte TMX sans texture, utilisable sans contexte GL. */
+    public static TiledMap loadMap(File file) {
+        return new TmxDataReader().read(new FileHandle(file));
+    }
+
+    public static List<File> listMaps(File directory) {
+        File[] files = directory.listFiles((dir, name) -> name.endsWith(".tmx"));
+        if (files == null) return new ArrayList<>();
+        Arrays.sort(files);
+        return new ArrayList<>(Arrays.asList(files));
+    }
+
+    private static long[] parseTicks(String list) {
+        String[] parts = list.split(",");
+        long[] ticks = new long[parts.length];
+        for (int i = 0; i < parts.length; i++) ticks[i] = Long.parseLong(parts[i].trim());
+        return ticks;
+    }
+
+    private static void report(File file, HeadlessSimulation simulation, long totalTicks, long totalNanos) {
+        GameWorld world = simulation.getWorld();
+        Player player = world.getCurrentLevel().getPlayer();
+        String outcome = world.isLevelCompleted() ? "TERMINE" : world.isPlayerDead() ? "MORT" : "EN COURS";
+        double ticksPerMs = totalNanos > 0 ? totalTicks / (totalNanos / 1_000_000.0) : 0;
+
+        System.out.printf("%-20s %-8s tick=%-7d x=%-10.1f %.0f ticks/ms%n", file.getName(), outcome,
+            simulation.getTick(), player != null ? player.getX() : 0f, ticksPerMs);
+    }
+}
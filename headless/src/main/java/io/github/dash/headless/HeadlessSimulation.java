@@ -0,0 +1,90 @@
+package io.github.dash.headless;
+
+import io.github.dash.engine.controller.ChunkStreamer;
+import io.github.dash.engine.controller.InputSource;
+import io.github.dash.engine.controller.TickListener;
+import io.github.dash.engine.event.GameEventBus;
+import io.github.dash.engine.model.GameWorld;
+import io.github.dash.engine.model.Level;
+import io.github.dash.engine.model.Player;
+import io.github.dash.engine.model.StreamingTileGrid;
+import io.github.dash.engine.platform.GameEventLog;
+import io.github.dash.engine.platform.GameLogger;
+
+/**
+ * Boucle de simulation a pas fixe sans rendu: meme enchainement que GameController
+ * (entrees puis GameWorld.tick), sans camera ni interpolation.
+ */
+public class HeadlessSimulation {
+    private static final int EVENT_CAPACITY = 256;
+
+    private final GameWorld world;
+    private final GameEventBus events;
+    // Sans thread de vidage: le journal est ecrit a la fin de chaque tick
+    private final GameEventLog eventLog;
+    private final InputSource input;
+    private final float tickDuration;
+    private long tick;
+    private TickListener tickListener;
+    private ChunkStreamer chunkStreamer;
+
+    public HeadlessSimulation(Level level, InputSource input, float tickRate, GameLogger logger) {
+        this.events = new GameEventBus(EVENT_CAPACITY);
+        this.eventLog = new GameEventLog(EVENT_CAPACITY, logger);
+        events.subscribe(eventLog);
+        this.world = new GameWorld(level, events);
+        this.input = input;
+        this.tickDuration = 1f / tickRate;
+        if (level.getTileGrid() instanceof StreamingTileGrid) {
+            // Sans thread de chargement: les chunks sont lus a la demande, devant le joueur
+            this.chunkStreamer = new ChunkStreamer((StreamingTileGrid) level.getTileGrid(), null, logger);
+        }
+    }
+
+    /** Avance d'un tick. Retourne false une fois la partie terminee (mort ou victoire). */
+    public boolean step() {
+        if (isFinished()) return false;
+        Player player = world.getCurrentLevel().getPlayer();
+        if (player != null) {
+            if (chunkStreamer != null) {
+                float tileWidth = chunkStreamer.getGrid().getTileWidth();
+                chunkStreamer.update(player.getX() - tileWidth);
+                chunkStreamer.ensureLoaded(player.getX() - tileWidth, player.getX() + player.getWidth() + tileWidth);
+            }
+            input.applyInputs(player, tick);
+        }
+        world.tick(tickDuration);
+        events.dispatch(tick);
+        if (tickListener != null) {
+            tickListener.onTick(tick, world);
+        }
+        eventLog.drain();
+        tick++;
+        return !isFinished();
+    }
+
+    /** Avance jusqu'a la fin de la partie ou au plus maxTicks ticks; retourne le nombre de ticks joues. */
+    public long run(long maxTicks) {
+        long start = tick;
+        while (tick - start < maxTicks && !isFinished()) {
+            step();
+        }
+        return tick - start;
+    }
+
+    /** Recommence la partie au tick 0 sur le meme niveau (l'entree scriptee se rembobine a part). */
+    public void reset() {
+        world.reset();
+        tick = 0;
+    }
+
+    public boolean isFinished() {
+        return world.isPlayerDead() || world.isLevelCompleted();
+    }
+
+    public void setTickListener(TickListener tickListener) { this.tickListener = tickListener; }
+
+    public GameWorld getWorld() { return world; }
+    public long getTick() { return tick; }
+    public float getTickDuration() { return tickDuration; }
+}
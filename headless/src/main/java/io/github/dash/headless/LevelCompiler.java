@@ -0,0 +1,37 @@
+package io.github.dash.headless;
+
+import io.github.dash.engine.controller.LevelManager;
+import io.github.dash.engine.tiled.BinaryLevelFormat;
+import io.github.dash.engine.tiled.BinaryLevelWriter;
+import io.github.dash.engine.tiled.TiledLevelLoader;
+
+import java.io.File;
+import java.io.IOException;
+
+/**
+ * Compile les cartes de maps/ en niveaux binaires, au meme chemin relatif dans le dossier de sortie.
+ * Lance a la construction (headless:compileLevels): le jeu distribue embarque ses niveaux compiles
+ * et ne lit jamais un TMX complet, meme au premier lancement.
+ *
+ * Usage: LevelCompiler dossier-des-assets dossier-de-sortie
+ */
+public class LevelCompiler {
+
+    public static void main(String[] args) throws IOException {
+        if (args.length != 2) {
+            System.err.println("Usage: LevelCompiler dossier-des-assets dossier-de-sortie");
+            System.exit(2);
+        }
+        File assets = new File(args[0]);
+        File output = new File(args[1]);
+
+        ConsoleGameLogger logger = new ConsoleGameLogger(false);
+        BinaryLevelWriter writer = new BinaryLevelWriter(new TiledLevelLoader(LevelManager.COLLISION_MODE, logger));
+        for (File tmx : HeadlessLauncher.listMaps(new File(assets, "maps"))) {
+            File out = new File(output, BinaryLevelFormat.cachePath("maps/" + tmx.getName()));
+            out.getParentFile().mkdirs();
+            writer.compile(tmx, out);
+            System.out.println(tmx.getName() + " -> " + out.getPath() + " (" + out.length() / 1024 + " Ko)");
+        }
+    }
+}
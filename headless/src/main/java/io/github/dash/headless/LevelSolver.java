@@ -0,0 +1,247 @@
+package io.github.dash.headless;
+
+import io.github.dash.engine.controller.ChunkStreamer;
+import io.github.dash.engine.model.GameWorld;
+import io.github.dash.engine.model.Level;
+import io.github.dash.engine.model.Player;
+import io.github.dash.engine.model.StreamingTileGrid;
+import io.github.dash.engine.model.TileGrid;
+import io.github.dash.engine.model.WorldState;
+import io.github.dash.engine.platform.GameLogger;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Solveur par force brute: explore les decisions saut / pas de saut tick par tick.
+ *
+ * Seuls les ticks ou le joueur est au sol sont des points de decision. La recherche avance
+ * par couches de nombre de sauts: la couche k rejoue chaque branche sans sauter jusqu'a la
+ * mort, et chaque point de decision rencontre ouvre une branche de la couche k + 1.
+ * Un point de decision deja vu (tick, position quantifiee) n'est pas reexplore: il a ete
+ * atteint avec au plus autant de sauts. La premiere couche gagnante donne donc la sequence
+ * la plus courte en nombre de sauts. Les branches d'une couche sont reparties en fork/join,
+ * chaque thread simulant sur sa propre copie du niveau (et sa propre fenetre de chunks
+ * pour un niveau en streaming).
+ */
+public class LevelSolver {
+    private static final int SPLIT_THRESHOLD = 8;
+
+    /** Resultat de la recherche: sequence gagnante, ou celle qui va le plus loin. */
+    public static class Result {
+        public final boolean solved;
+        public final boolean verified;
+        public final long[] jumpTicks;
+        public final long endTick;
+        public final float furthestX;
+        public final int statesExplored;
+
+        Result(boolean solved, boolean verified, long[] jumpTicks, long endTick, float furthestX, int statesExplored) {
+            this.solved = solved;
+            this.verified = verified;
+            this.jumpTicks = jumpTicks;
+            this.endTick = endTick;
+            this.furthestX = furthestX;
+            this.statesExplored = statesExplored;
+        }
+    }
+
+    /** Branche: etat avant les entrees du tick ou elle saute, et chainage vers ses sauts precedents. */
+    private static final class Node {
+        final Node parent;
+        final long tick;
+        final WorldState state;
+
+        Node(Node parent, long tick, WorldState state) {
+            this.parent = parent;
+            this.tick = tick;
+            this.state = state;
+        }
+    }
+
+    private final Level level;
+    private final float tickRate;
+    private final float tickDuration;
+    private final long maxTicks;
+    private final float quantum;
+    private final GameLogger logger;
+    private final ForkJoinPool pool;
+
+    private final ThreadLocal<Worker> workers;
+    private final Set<Long> visited = ConcurrentHashMap.newKeySet();
+    private final ConcurrentLinkedQueue<Node> nextLayer = new ConcurrentLinkedQueue<>();
+
+    private Node bestWin;
+    private long bestWinTick;
+    private Node furthestNode;
+    private long furthestTick;
+    private float furthestX = Float.NEGATIVE_INFINITY;
+
+    /**
+     * @param quantum pas de quantification des positions pour la memoisation, en pixels
+     */
+    public LevelSolver(Level level, float tickRate, long maxTicks, float quantum, GameLogger logger, ForkJoinPool pool) {
+        this.level = level;
+        this.tickRate = tickRate;
+        this.tickDuration = 1f / tickRate;
+        this.maxTicks = maxTicks;
+        this.quantum = quantum;
+        this.logger = logger;
+        this.pool = pool;
+        // Mondes explores en parallele: aucun evenement n'est rapporte
+        this.workers = ThreadLocal.withInitial(Worker::new);
+    }
+
+    public Result solve() {
+        GameWorld start = new GameWorld(level.copy());
+        WorldState initial = new WorldState();
+        start.saveState(initial);
+
+        Node[] layer = { new Node(null, 0, initial) };
+        while (layer.length > 0 && bestWin == null) {
+            nextLayer.clear();
+            pool.invoke(new Expand(layer, 0, layer.length));
+            layer = nextLayer.toArray(new Node[0]);
+        }
+
+        if (bestWin != null) {
+            long[] jumps = jumpTicks(bestWin);
+            return new Result(true, replay(jumps), jumps, bestWinTick, furthestX, visited.size());
+        }
+        return new Result(false, false, jumpTicks(furthestNode), furthestTick, furthestX, visited.size());
+    }
+
+    private final class Expand extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final Node[] nodes;
+        private final int from;
+        private final int to;
+
+        Expand(Node[] nodes, int from, int to) {
+            this.nodes = nodes;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= SPLIT_THRESHOLD) {
+                for (int i = from; i < to; i++) expand(nodes[i]);
+                return;
+            }
+            int mid = (from + to) >>> 1;
+            invokeAll(new Expand(nodes, from, mid), new Expand(nodes, mid, to));
+        }
+    }
+
+    /** Monde d'un thread, avec sa fenetre de chunks lue sur place si la grille est en streaming. */
+    private final class Worker {
+        final GameWorld world;
+        final ChunkStreamer chunkStreamer;
+
+        Worker() {
+            Level copy = level.copy();
+            world = new GameWorld(copy);
+            chunkStreamer = copy.getTileGrid() instanceof StreamingTileGrid
+                ? new ChunkStreamer((StreamingTileGrid) copy.getTileGrid(), null, logger) : null;
+        }
+
+        /** Les branches sautent d'une position a l'autre: la fenetre est recentree sous le joueur a chaque tick. */
+        void tick(Player player) {
+            if (chunkStreamer != null) {
+                float tileWidth = chunkStreamer.getGrid().getTileWidth();
+                chunkStreamer.preload(player.getX() - tileWidth, player.getX() + player.getWidth() + tileWidth);
+            }
+            world.tick(tickDuration);
+        }
+    }
+
+    /** Joue la branche: saut a son tick de depart (sauf a la racine), puis plus aucun saut. */
+    private void expand(Node node) {
+        Worker worker = workers.get();
+        GameWorld world = worker.world;
+        Player player = world.getCurrentLevel().getPlayer();
+        world.restoreState(node.state);
+
+        long tick = node.tick;
+        if (node.parent != null) {
+            player.jump(Player.JUMP_FORCE);
+            worker.tick(player);
+            tick++;
+        }
+
+        float maxX = progressX(world, player);
+        while (tick < maxTicks && !world.isPlayerDead()) {
+            if (world.isLevelCompleted()) {
+                recordWin(node, tick);
+                return;
+            }
+            if (player.isOnGround()) {
+                if (!visited.add(key(tick, player))) break;
+                WorldState branch = new WorldState();
+                world.saveState(branch);
+                nextLayer.add(new Node(node, tick, branch));
+            }
+            worker.tick(player);
+            tick++;
+            maxX = Math.max(maxX, progressX(world, player));
+        }
+        recordFurthest(node, tick, maxX);
+    }
+
+    /** Abscisse depuis le debut du niveau: sur une grille a origine flottante, x est relatif a l'origine. */
+    private static float progressX(GameWorld world, Player player) {
+        TileGrid grid = world.getCurrentLevel().getTileGrid();
+        if (!(grid instanceof StreamingTileGrid)) return player.getX();
+        return ((StreamingTileGrid) grid).getOriginColumn() * grid.getTileWidth() + player.getX();
+    }
+
+    /** Cle de memoisation: tick et position quantifiee. Au sol la vitesse verticale est nulle. */
+    private long key(long tick, Player player) {
+        long qx = Math.round(player.getX() / quantum) & 0xFFFFFFL;
+        long qy = (Math.round(player.getY() / quantum) + 0x8000) & 0xFFFFL;
+        return (tick & 0xFFFFFFL) << 40 | qx << 16 | qy;
+    }
+
+    private synchronized void recordWin(Node node, long tick) {
+        if (bestWin == null || tick < bestWinTick) {
+            bestWin = node;
+            bestWinTick = tick;
+        }
+    }
+
+    private synchronized void recordFurthest(Node node, long tick, float x) {
+        if (x > furthestX) {
+            furthestX = x;
+            furthestNode = node;
+            furthestTick = tick;
+        }
+    }
+
+    private static long[] jumpTicks(Node node) {
+        List<Long> ticks = new ArrayList<>();
+        for (Node n = node; n != null && n.parent != null; n = n.parent) ticks.add(n.tick);
+        long[] result = new long[ticks.size()];
+        for (int i = 0; i < result.length; i++) result[i] = ticks.get(result.length - 1 - i);
+        return result;
+    }
+
+    /** Rejoue la sequence sur une copie neuve: la quantification ne doit pas avoir fausse le resultat. */
+    private boolean replay(long[] jumps) {
+        HeadlessSimulation simulation = new HeadlessSimulation(level.copy(), new ScriptedInput(jumps), tickRate, logger);
+        simulation.run(maxTicks);
+        return simulation.getWorld().isLevelCompleted();
+    }
+
+    public static String format(long[] ticks) {
+        String list = Arrays.toString(ticks);
+        return list.substring(1, list.length() - 1).replace(" ", "");
+    }
+}
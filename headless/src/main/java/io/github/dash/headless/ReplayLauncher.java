@@ -0,0 +1,105 @@
+package io.github.dash.headless;
+
+import com.badlogic.gdx.files.FileHandle;
+import io.github.dash.engine.endless.EndlessLevel;
+import io.github.dash.engine.model.GameWorld;
+import io.github.dash.engine.model.Level;
+import io.github.dash.engine.model.Player;
+import io.github.dash.engine.replay.Replay;
+import io.github.dash.engine.replay.ReplayPlayback;
+import io.github.dash.engine.tiled.BinaryLevelFormat;
+import io.github.dash.engine.tiled.TiledLevelLoader;
+
+import java.io.BufferedInputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Rejoue des replays sans fenetre et verifie qu'ils donnent le meme resultat, tick pour tick.
+ *
+ * Usage: ReplayLauncher [--entities] [--verbose] [replay.dreplay | dossier ...]
+ * Sans argument, tous les replays de replays/ sont rejoues (repertoire de travail: assets/).
+ * Le niveau est relu depuis le chemin enregistre dans le replay (ou regenere pour le mode infini).
+ * Le code de sortie vaut 1 si un replay diverge ou ne peut pas etre rejoue.
+ */
+public class ReplayLauncher {
+
+    public static void main(String[] args) {
+        boolean verbose = false;
+        TiledLevelLoader.CollisionMode mode = TiledLevelLoader.CollisionMode.TILE_GRID;
+        List<File> files = new ArrayList<>();
+
+        for (String arg : args) {
+            switch (arg) {
+                case "--entities": mode = TiledLevelLoader.CollisionMode.ENTITIES; break;
+                case "--verbose": verbose = true; break;
+                default: files.addAll(listReplays(new File(arg)));
+            }
+        }
+        if (args.length == 0 || files.isEmpty()) files.addAll(listReplays(new File("replays")));
+
+        ConsoleGameLogger logger = new ConsoleGameLogger(verbose);
+        TiledLevelLoader loader = new TiledLevelLoader(mode, logger);
+        boolean allMatch = true;
+
+        for (File file : files) {
+            try {
+                allMatch &= play(file, loader, logger);
+            } catch (IOException | RuntimeException e) {
+                System.out.printf("%-24s ERREUR   %s%n", file.getName(), e.getMessage());
+                allMatch = false;
+            }
+        }
+
+        if (!allMatch) System.exit(1);
+    }
+
+    private static boolean play(File file, TiledLevelLoader loader, ConsoleGameLogger logger) throws IOException {
+        Replay replay;
+        try (InputStream in = new BufferedInputStream(new FileInputStream(file))) {
+            replay = Replay.read(in);
+        }
+
+        Level level;
+        long levelHash;
+        if (EndlessLevel.isEndless(replay.getLevelPath())) {
+            level = EndlessLevel.create(EndlessLevel.seedOf(replay.getLevelPath()));
+            levelHash = 0;
+        } else {
+            File levelFile = new File(replay.getLevelPath());
+            level = loader.buildLevel(HeadlessLauncher.loadMap(levelFile));
+            levelHash = BinaryLevelFormat.hash(new FileHandle(levelFile));
+        }
+        ReplayPlayback playback = new ReplayPlayback(replay);
+        String mismatch = playback.checkCompatibility(levelHash, level, replay.getTickRate(), Player.JUMP_FORCE,
+            GameWorld.SPEED_MULTIPLIER);
+        if (mismatch != null) {
+            System.out.printf("%-24s INCOMPATIBLE %s%n", file.getName(), mismatch);
+            return false;
+        }
+
+        HeadlessSimulation simulation = new HeadlessSimulation(level, playback, replay.getTickRate(), logger);
+        simulation.setTickListener(playback);
+        simulation.run(replay.getEndTick() + 1);
+
+        boolean match = !playback.hasDiverged() && playback.matchesOutcome(simulation.getTick(), simulation.getWorld());
+        String status = match ? "IDENTIQUE" : playback.hasDiverged() ? "DIVERGE" : "FIN DIFFERENTE";
+        System.out.printf("%-24s %-14s tick=%-7d attendu=%-7d sauts=%-4d%s%n", file.getName(), status,
+            simulation.getTick(), replay.getEndTick(), replay.getEventCount(),
+            playback.hasDiverged() ? " divergence au tick " + playback.getDivergenceTick() : "");
+        return match;
+    }
+
+    private static List<File> listReplays(File path) {
+        if (path.isFile()) return new ArrayList<>(Arrays.asList(path));
+        File[] files = path.listFiles((dir, name) -> name.endsWith(Replay.EXTENSION));
+        if (files == null) return new ArrayList<>();
+        Arrays.sort(files);
+        return new ArrayList<>(Arrays.asList(files));
+    }
+}
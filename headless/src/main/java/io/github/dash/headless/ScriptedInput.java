@@ -0,0 +1,39 @@
+package io.github.dash.headless;
+
+import io.github.dash.engine.controller.InputSource;
+import io.github.dash.engine.model.Player;
+
+import java.util.Arrays;
+
+/**
+ * Entrees scriptees: un saut est demande a chacun des ticks donnes.
+ */
+public class ScriptedInput implements InputSource {
+    private final long[] jumpTicks;
+    private int cursor;
+
+    public ScriptedInput(long... jumpTicks) {
+        this.jumpTicks = jumpTicks.clone();
+        Arrays.sort(this.jumpTicks);
+    }
+
+    /** Demande un saut tous les period ticks. */
+    public static InputSource every(final int period) {
+        return (player, tick) -> {
+            if (tick % period == 0) player.jump(Player.JUMP_FORCE);
+        };
+    }
+
+    @Override
+    public void applyInputs(Player player, long tick) {
+        while (cursor < jumpTicks.length && jumpTicks[cursor] < tick) cursor++;
+        if (cursor < jumpTicks.length && jumpTicks[cursor] == tick) {
+            player.jump(Player.JUMP_FORCE);
+            cursor++;
+        }
+    }
+
+    public void rewind() {
+        cursor = 0;
+    }
+}
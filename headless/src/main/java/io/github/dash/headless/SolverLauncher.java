@@ -0,0 +1,111 @@
+package io.github.dash.headless;
+
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.maps.tiled.TiledMap;
+import io.github.dash.engine.model.GameWorld;
+import io.github.dash.engine.model.Level;
+import io.github.dash.engine.model.Player;
+import io.github.dash.engine.replay.Replay;
+import io.github.dash.engine.replay.ReplayRecorder;
+import io.github.dash.engine.tiled.BinaryLevelFormat;
+import io.github.dash.engine.tiled.TiledLevelLoader;
+
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Verifie que chaque carte peut etre terminee avec {@link LevelSolver}.
+ *
+ * Usage: SolverLauncher [--rate 120] [--max-ticks 200000] [--quantum 1] [--threads N]
+ *        [--entities] [--verbose] [--replays dossier] [carte.tmx ...]
+ * Sans carte, toutes les cartes de maps/ sont resolues (repertoire de travail: assets/).
+ * Avec --replays, chaque solution est ecrite comme replay, rejouable par {@link ReplayLauncher}.
+ * Le code de sortie vaut 1 si une carte n'a pas de solution verifiee.
+ */
+public class SolverLauncher {
+
+    public static void main(String[] args) {
+        float tickRate = 120f;
+        long maxTicks = 200_000;
+        float quantum = 1f;
+        int threads = Runtime.getRuntime().availableProcessors();
+        boolean verbose = false;
+        File replayDirectory = null;
+        TiledLevelLoader.CollisionMode mode = TiledLevelLoader.CollisionMode.TILE_GRID;
+        List<File> maps = new ArrayList<>();
+
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--rate": tickRate = Float.parseFloat(args[++i]); break;
+                case "--max-ticks": maxTicks = Long.parseLong(args[++i]); break;
+                case "--quantum": quantum = Float.parseFloat(args[++i]); break;
+                case "--threads": threads = Integer.parseInt(args[++i]); break;
+                case "--entities": mode = TiledLevelLoader.CollisionMode.ENTITIES; break;
+                case "--verbose": verbose = true; break;
+                case "--replays": replayDirectory = new File(args[++i]); break;
+                default: maps.add(new File(args[i]));
+            }
+        }
+        if (maps.isEmpty()) maps.addAll(HeadlessLauncher.listMaps(new File("maps")));
+
+        ConsoleGameLogger logger = new ConsoleGameLogger(verbose);
+        TiledLevelLoader loader = new TiledLevelLoader(mode, logger);
+        ForkJoinPool pool = new ForkJoinPool(threads);
+        boolean allSolved = true;
+
+        try {
+            for (File file : maps) {
+                TiledMap map = HeadlessLauncher.loadMap(file);
+                Level level = loader.buildLevel(map);
+
+                long start = System.nanoTime();
+                LevelSolver.Result result = new LevelSolver(level, tickRate, maxTicks, quantum, logger, pool).solve();
+                long millis = (System.nanoTime() - start) / 1_000_000;
+
+                String outcome = !result.solved ? "BLOQUE" : result.verified ? "RESOLU" : "NON VERIFIE";
+                System.out.printf("%-20s %-11s sauts=%-4d tick=%-7d x=%-10.1f etats=%-8d %d ms%n", file.getName(),
+                    outcome, result.jumpTicks.length, result.endTick, result.furthestX, result.statesExplored, millis);
+                System.out.println("    --jumps " + LevelSolver.format(result.jumpTicks));
+                allSolved &= result.solved && result.verified;
+
+                if (replayDirectory != null && result.solved) {
+                    writeReplay(file, loader.buildLevel(map), result, tickRate, replayDirectory, logger);
+                }
+            }
+        } finally {
+            pool.shutdown();
+        }
+
+        if (!allSolved) System.exit(1);
+    }
+
+    /** Rejoue la solution avec un {@link ReplayRecorder} pour obtenir sommes de controle et tick de fin. */
+    private static void writeReplay(File mapFile, Level level, LevelSolver.Result result, float tickRate,
+                                    File directory, ConsoleGameLogger logger) {
+        try {
+            ReplayRecorder recorder = new ReplayRecorder(BinaryLevelFormat.hash(new FileHandle(mapFile)),
+                mapFile.getPath().replace(File.separatorChar, '/'), level, tickRate, Player.JUMP_FORCE, GameWorld.SPEED_MULTIPLIER);
+            for (long tick : result.jumpTicks) {
+                recorder.press(tick);
+            }
+            HeadlessSimulation simulation = new HeadlessSimulation(level, new ScriptedInput(result.jumpTicks), tickRate, logger);
+            simulation.setTickListener(recorder);
+            simulation.run(result.endTick + 1);
+
+            Files.createDirectories(directory.toPath());
+            String name = mapFile.getName().replaceFirst("\\.tmx$", "") + Replay.EXTENSION;
+            try (OutputStream out = new BufferedOutputStream(new FileOutputStream(new File(directory, name)))) {
+                recorder.finish(simulation.getTick(), simulation.getWorld()).write(out);
+            }
+        } catch (IOException e) {
+            System.out.println("    replay non ecrit: " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,212 @@
+package io.github.dash.headless;
+
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.maps.MapProperties;
+import com.badlogic.gdx.maps.tiled.TiledMap;
+import com.badlogic.gdx.maps.tiled.TiledMapTileLayer;
+import com.badlogic.gdx.maps.tiled.tiles.StaticTiledMapTile;
+import io.github.dash.engine.event.GameEvent;
+import io.github.dash.engine.event.GameEventBus;
+import io.github.dash.engine.model.GameWorld;
+import io.github.dash.engine.model.Level;
+import io.github.dash.engine.model.Player;
+import io.github.dash.engine.tiled.TiledLevelLoader;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Verifie que les contacts ne dependent ni de la duree du tick ni de la representation des collisions.
+ * Chaque carte (chute d'un rebord, saut vers une marche, plafond, spike, mur, arrivee, coin de bloc
+ * dans la tolerance d'atterrissage, mur de tuiles empilees heurte juste sous un joint) passe par
+ * {@link TiledLevelLoader}; les atterrissages, chocs et morts a la cadence grossiere doivent tomber aux
+ * memes coordonnees qu'a la cadence fine, en grille comme en entites (solides fusionnes).
+ *
+ * Usage: TickRateCheck [--coarse 2] [--fine 240] [--tolerance 0.05]
+ * Les sauts tombent sur des multiples du tick grossier. Le code de sortie vaut 1 a la moindre divergence.
+ */
+public class TickRateCheck {
+    private static final int TILE_SIZE = 256;
+    private static final float MAX_SECONDS = 10f;
+    private static final float DEFAULT_SCROLL_SPEED = 350f;
+    // Vitesse ou le saut a 0.5 s touche la face de la colonne 6 environ 4 px sous le haut de la rangee 2
+    private static final float CORNER_SCROLL_SPEED = 354f;
+
+    /** Carte en texte, rangee du haut en premier: '#' solide, '^' spike, 'F' arrivee. */
+    private static final class Scenario {
+        final String name;
+        final String[] rows;
+        final float[] jumpSeconds;
+        final float scrollSpeed;
+
+        Scenario(String name, float[] jumpSeconds, String... rows) {
+            this(name, DEFAULT_SCROLL_SPEED, jumpSeconds, rows);
+        }
+
+        Scenario(String name, float scrollSpeed, float[] jumpSeconds, String... rows) {
+            this.name = name;
+            this.rows = rows;
+            this.jumpSeconds = jumpSeconds;
+            this.scrollSpeed = scrollSpeed;
+        }
+    }
+
+    private static final Scenario[] SCENARIOS = {
+        new Scenario("rebord", new float[0],
+            "##########....................^.........",
+            "########################################"),
+        new Scenario("marche", new float[] {1f},
+            "....................#...................",
+            "....................#...................",
+            "....................#...................",
+            "............############################",
+            "########################################"),
+        new Scenario("plafond", new float[] {0.5f},
+            "...######...............................",
+            "...............F........................",
+            "...............F........................",
+            "########################################"),
+        new Scenario("coin", CORNER_SCROLL_SPEED, new float[] {0.5f},
+            "....................F...................",
+            "......####..........F...................",
+            "########################################",
+            "########################################"),
+        new Scenario("couture", CORNER_SCROLL_SPEED, new float[] {0.5f},
+            "......#.................................",
+            "......#.................................",
+            "########################################",
+            "########################################"),
+    };
+
+    /** Evenement de jeu retenu pour la comparaison. */
+    private static final class Contact {
+        final GameEvent.Type type;
+        final String cause;
+        final float x, y;
+
+        Contact(GameEvent event) {
+            type = event.type;
+            cause = event.cause != null ? event.cause.name() : "";
+            x = event.x;
+            y = event.y;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%s%s(%.3f, %.3f)", type, cause.isEmpty() ? "" : " " + cause, x, y);
+        }
+    }
+
+    public static void main(String[] args) {
+        float coarse = 2f;
+        float fine = 240f;
+        float tolerance = 0.05f;
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--coarse": coarse = Float.parseFloat(args[++i]); break;
+                case "--fine": fine = Float.parseFloat(args[++i]); break;
+                case "--tolerance": tolerance = Float.parseFloat(args[++i]); break;
+                default: throw new IllegalArgumentException("Argument inconnu: " + args[i]);
+            }
+        }
+
+        ConsoleGameLogger logger = new ConsoleGameLogger(false);
+        TiledLevelLoader.CollisionMode[] modes = TiledLevelLoader.CollisionMode.values();
+        float[] rates = {fine, coarse};
+        boolean allMatch = true;
+
+        for (Scenario scenario : SCENARIOS) {
+            TiledMap map = buildMap(scenario);
+            List<Contact> reference = null;
+            for (TiledLevelLoader.CollisionMode mode : modes) {
+                Level level = new TiledLevelLoader(mode, logger).buildLevel(map);
+                for (float rate : rates) {
+                    level.getPlayer().reset();
+                    List<Contact> contacts = run(level, scenario, rate);
+                    if (reference == null) reference = contacts;
+                    float gap = divergence(reference, contacts);
+                    boolean match = gap <= tolerance;
+                    allMatch &= match;
+                    System.out.printf("%-8s %-10s %5.0f Hz %-10s ecart=%.4f %s%n", scenario.name, mode, rate,
+                        match ? "OK" : "DIVERGE", gap, contacts);
+                    if (!match) System.out.println("    reference: " + reference);
+                }
+            }
+        }
+        if (!allMatch) System.exit(1);
+    }
+
+    private static List<Contact> run(Level level, Scenario scenario, float rate) {
+        GameEventBus events = new GameEventBus(64);
+        List<Contact> contacts = new ArrayList<>();
+        events.subscribe(event -> contacts.add(new Contact(event)));
+        GameWorld world = new GameWorld(level, events);
+        Player player = level.getPlayer();
+        float tickDuration = 1f / rate;
+        long maxTicks = (long) (MAX_SECONDS * rate);
+
+        for (long tick = 0; tick < maxTicks && !world.isPlayerDead() && !world.isLevelCompleted(); tick++) {
+            for (float seconds : scenario.jumpSeconds) {
+                if (tick == Math.round(seconds * rate)) player.jump(Player.JUMP_FORCE);
+            }
+            world.tick(tickDuration);
+            events.dispatch(tick);
+        }
+        return contacts;
+    }
+
+    /** Plus grand ecart de coordonnees entre deux suites d'evenements, infini si elles different. */
+    private static float divergence(List<Contact> expected, List<Contact> actual) {
+        if (expected.size() != actual.size()) return Float.POSITIVE_INFINITY;
+        float gap = 0;
+        for (int i = 0; i < expected.size(); i++) {
+            Contact a = expected.get(i), b = actual.get(i);
+            if (a.type != b.type || !a.cause.equals(b.cause)) return Float.POSITIVE_INFINITY;
+            gap = Math.max(gap, Math.max(Math.abs(a.x - b.x), Math.abs(a.y - b.y)));
+        }
+        return gap;
+    }
+
+    private static TiledMap buildMap(Scenario scenario) {
+        int width = scenario.rows[0].length();
+        int height = scenario.rows.length;
+        TiledMap map = new TiledMap();
+        MapProperties props = map.getProperties();
+        props.put("width", width);
+        props.put("height", height);
+        props.put("tilewidth", TILE_SIZE);
+        props.put("tileheight", TILE_SIZE);
+        props.put("scrollSpeed", scenario.scrollSpeed);
+
+        StaticTiledMapTile tile = new StaticTiledMapTile((TextureRegion) null);
+        TiledMapTileLayer ground = layer("ground", width, height);
+        TiledMapTileLayer spikes = layer("spikes", width, height);
+        TiledMapTileLayer end = layer("endflag", width, height);
+        for (int row = 0; row < height; row++) {
+            String line = scenario.rows[row];
+            int y = height - 1 - row;
+            for (int x = 0; x < width; x++) {
+                TiledMapTileLayer target;
+                switch (line.charAt(x)) {
+                    case '#': target = ground; break;
+                    case '^': target = spikes; break;
+                    case 'F': target = end; break;
+                    default: continue;
+                }
+                TiledMapTileLayer.Cell cell = new TiledMapTileLayer.Cell();
+                cell.setTile(tile);
+                target.setCell(x, y, cell);
+            }
+        }
+        map.getLayers().add(ground);
+        map.getLayers().add(spikes);
+        map.getLayers().add(end);
+        return map;
+    }
+
+    private static TiledMapTileLayer layer(String name, int width, int height) {
+        TiledMapTileLayer layer = new TiledMapTileLayer(width, height, TILE_SIZE, TILE_SIZE);
+        layer.setName(name);
+        return layer;
+    }
+}
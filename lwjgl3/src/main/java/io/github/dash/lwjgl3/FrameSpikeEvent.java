@@ -0,0 +1,29 @@
+package io.github.dash.lwjgl3;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * Frame au-dela du seuil du {@code FlightRecorder}, pour la retrouver sur la chronologie GC et JIT de JFR.
+ */
+@Name("dash.FrameSpike")
+@Label("Frame Spike")
+@Category({"Dash", "Frame"})
+@Description("Frame plus longue que le seuil de l'enregistreur")
+@StackTrace(false)
+public class FrameSpikeEvent extends jdk.jfr.Event {
+    @Label("Frame Duration")
+    @Timespan(Timespan.NANOSECONDS)
+    public long frameNanos;
+
+    @Label("Threshold")
+    @Timespan(Timespan.NANOSECONDS)
+    public long thresholdNanos;
+
+    @Label("Tick")
+    public long tick;
+}
@@ -0,0 +1,67 @@
+package io.github.dash.lwjgl3;
+
+import io.github.dash.engine.perf.PerfEvents;
+import jdk.jfr.EventType;
+
+/**
+ * Evenements JFR du jeu. Un evenement n'est cree que si un enregistrement en cours l'active:
+ * sans enregistrement, la boucle de jeu n'alloue rien, meme interpretee ou compilee par C1.
+ * Un evenement en vol par point de mesure: update et render ne sont pas reentrants.
+ */
+public class JfrPerfEvents implements PerfEvents {
+    private static final EventType UPDATE = EventType.getEventType(WorldUpdateEvent.class);
+    private static final EventType RENDER = EventType.getEventType(WorldRenderEvent.class);
+    private static final EventType SPIKE = EventType.getEventType(FrameSpikeEvent.class);
+
+    private WorldUpdateEvent update;
+    private WorldRenderEvent render;
+
+    @Override
+    public void worldUpdateBegin() {
+        update = null;
+        if (UPDATE.isEnabled()) {
+            update = new WorldUpdateEvent();
+            update.begin();
+        }
+    }
+
+    @Override
+    public void worldUpdateEnd(float playerX, float playerY) {
+        if (update != null && update.shouldCommit()) {
+            update.playerX = playerX;
+            update.playerY = playerY;
+            update.commit();
+        }
+        update = null;
+    }
+
+    @Override
+    public void worldRenderBegin() {
+        render = null;
+        if (RENDER.isEnabled()) {
+            render = new WorldRenderEvent();
+            render.begin();
+        }
+    }
+
+    @Override
+    public void worldRenderEnd(int entitiesVisited, int spritesDrawn, int drawCalls) {
+        if (render != null && render.shouldCommit()) {
+            render.entitiesVisited = entitiesVisited;
+            render.spritesDrawn = spritesDrawn;
+            render.drawCalls = drawCalls;
+            render.commit();
+        }
+        render = null;
+    }
+
+    @Override
+    public void frameSpike(long frameNanos, long thresholdNanos, long tick) {
+        if (!SPIKE.isEnabled()) return;
+        FrameSpikeEvent event = new FrameSpikeEvent();
+        event.frameNanos = frameNanos;
+        event.thresholdNanos = thresholdNanos;
+        event.tick = tick;
+        event.commit();
+    }
+}
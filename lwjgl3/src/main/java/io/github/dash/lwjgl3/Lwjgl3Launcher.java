@@ -12,7 +12,7 @@ public class Lwjgl3Launcher {
     }
 
     private static Lwjgl3Application createApplication() {
-        return new Lwjgl3Application(new GeometryDashGame(), getDefaultConfiguration());
+        return new Lwjgl3Application(new GeometryDashGame(new JfrPerfEvents()), getDefaultConfiguration());
     }
 
     private static Lwjgl3ApplicationConfiguration getDefaultConfiguration() {
@@ -0,0 +1,26 @@
+package io.github.dash.lwjgl3;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Evenement JFR autour de {@code WorldRenderer.render}, avec les compteurs de la frame.
+ */
+@Name("dash.WorldRender")
+@Label("World Render")
+@Category({"Dash", "Rendering"})
+@Description("Rendu de la carte, des entites et du joueur")
+@StackTrace(false)
+public class WorldRenderEvent extends jdk.jfr.Event {
+    @Label("Entities Visited")
+    public int entitiesVisited;
+
+    @Label("Sprites Drawn")
+    public int spritesDrawn;
+
+    @Label("Draw Calls")
+    public int drawCalls;
+}
@@ -0,0 +1,24 @@
+package io.github.dash.lwjgl3;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Evenement JFR autour de {@code GameWorld.update}: physique et collisions d'un tick.
+ * Cree seulement pendant un enregistrement qui l'active, voir {@link JfrPerfEvents}.
+ */
+@Name("dash.WorldUpdate")
+@Label("World Update")
+@Category({"Dash", "Simulation"})
+@Description("Physique et collisions d'un tick de simulation")
+@StackTrace(false)
+public class WorldUpdateEvent extends jdk.jfr.Event {
+    @Label("Player X")
+    public float playerX;
+
+    @Label("Player Y")
+    public float playerY;
+}